@@ -1,3 +1,21 @@
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.channels.Channels;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.LongSummaryStatistics;
+import java.util.stream.LongStream;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
 /**
  * Загальний клас BasicDataOperation координує роботу різних структур даних.
  * 
@@ -20,27 +38,169 @@
  * java BasicDataOperation "2024-03-16T00:12:38Z" queue  
  * java BasicDataOperation "2024-03-16T00:12:38Z" set
  * java BasicDataOperation "2024-03-16T00:12:38Z" all
+ * java BasicDataOperation 8123456789123456789 --stream
+ * java BasicDataOperation 8123456789123456789 --top=10
+ * java BasicDataOperation 8123456789123456789 --external-sort=256
+ * java BasicDataOperation 8123456789123456789 --metrics=100
+ * java BasicDataOperation 8123456789123456789 --jfr=list/long.data.jfr
+ * java BasicDataOperation 8123456789123456789 --metrics=100 --report=current.json
+ * java BasicDataOperation 8123456789123456789 --layout=s-tree
+ * java BasicDataOperation 8123456789123456789 --layout=learned
+ * java BasicDataOperation 8123456789123456789 --load=parallel
+ * java BasicDataOperation 8123456789123456789 --source=binary
+ * java BasicDataOperation --compare baseline.json current.json --threshold=5 --metric=p99
+ * java BasicDataOperation --batch queries.txt --output=results.tsv
  * }
  * </pre>
  */
 public class BasicDataOperation {
     static final String PATH_TO_DATA_FILE = "list/long.data";
+    static final String PATH_TO_SORTED_FILE = PATH_TO_DATA_FILE + ".sorted";
+    static final String PATH_TO_SORTED_BINARY_FILE = PATH_TO_DATA_FILE + ".sorted.bin";
+    static final String PATH_TO_SORTED_COMPRESSED_FILE = PATH_TO_DATA_FILE + ".sorted.dlt";
+    static final String PATH_TO_CACHE_FILE = PATH_TO_DATA_FILE + ".cache";
+    static final String PATH_TO_RECORDING_FILE = PATH_TO_DATA_FILE + ".jfr";
 
     long longValueToSearch;
     Long[] longArray;
+    SortedDataCache sortedData;
+    int metricsRounds;
+    String reportPath;
+    SortedLongIndex.Layout searchLayout = SortedLongIndex.Layout.BINARY;
+    DataFileHandler.LoadMode loadMode = DataFileHandler.LoadMode.BUFFERED;
+    DataSource dataSource = DataSource.TEXT;
+
+    /**
+     * Джерело впорядкованих даних; обробники завжди отримують дані з текстового файлу.
+     */
+    enum DataSource {
+        /** Кеш, побудований сортуванням текстового файлу даних, див. {@link SortedDataCache}. */
+        TEXT,
+        /** Впорядкований двійковий файл, збережений попереднім запуском, див. {@link BinaryLongFile}. */
+        BINARY,
+        /** Впорядкований стиснений файл, збережений попереднім запуском, див. {@link SortedLongCodec}. */
+        DELTA
+    }
 
     private static final String SEPARATOR = "\n" + "=".repeat(80) + "\n";
-    private static final String USAGE_MESSAGE = "Використання: java BasicDataOperation <пошукове-значення> \n" +
+    private static final String USAGE_MESSAGE = "Використання: java BasicDataOperation <пошукове-значення> [параметри]\n" +
+"Параметри:\n" +
+"  --stream   потоковий аналіз файлу без завантаження всіх даних у пам'ять\n" +
+"  --top=K   потоковий відбір K найменших і K найбільших значень файлу з пам'яттю O(K)\n" +
+"  --external-sort[=МіБ]   зовнішнє сортування файлу з обмеженим бюджетом пам'яті\n" +
+"  --metrics[=N]   виконати операції N разів і вивести процентилі тривалості\n" +
+"  --jfr[=ФАЙЛ]   записати події JDK Flight Recorder у файл .jfr\n" +
+"  --report=ФАЙЛ   зберегти результати вимірювань у файл .json або .csv\n" +
+"  --layout=binary|eytzinger|s-tree|interpolation|learned   спосіб пошуку у впорядкованих даних\n" +
+"  --load=buffered|mapped|parallel   спосіб читання файлу даних: блоками через потік (за замовчуванням),\n" +
+"                                    відображенням у пам'ять або паралельним розбором частин файлу\n" +
+"  --source=text|binary|delta   брати впорядковані дані з кешу (за замовчуванням) або з впорядкованого\n" +
+"                               двійкового (.sorted.bin) чи стисненого (.sorted.dlt) файлу попереднього запуску\n" +
+"Порівняння з базовим звітом (код завершення 1 у разі регресії):\n" +
+"  java BasicDataOperation --compare <базовий-звіт> <поточний-звіт> [--threshold=ВІДСОТОК] [--metric=p50]\n" +
+"Пакетний пошук значень з файлу або стандартного введення (-):\n" +
+"  java BasicDataOperation --batch <файл-запитів|-> [--output=ФАЙЛ] [--load=buffered|mapped|parallel]\n" +
+"                            [--source=text|binary|delta]   delta шукає у стисненому файлі без розпакування\n" +
 "Приклад:\n" +
 "  java BasicDataOperation \"2025-01-02T20:42:25Z\"";
 
     public static void main(String[] args) {
-        if (args.length != 1) {
+        if (args.length < 1) {
             System.out.println(USAGE_MESSAGE);
             return;
         }
 
+        if ("--compare".equals(args[0])) {
+            System.exit(compareReports(args));
+            return;
+        }
+
+        if ("--batch".equals(args[0])) {
+            System.exit(new BasicDataOperation().executeBatchLookup(args));
+            return;
+        }
+
         String searchValue = args[0];
+        boolean streamingMode = false;
+        int topCount = 0;
+        long externalSortBudget = 0;
+        int metricsRounds = 0;
+        String recordingPath = null;
+        String reportPath = null;
+        SortedLongIndex.Layout searchLayout = SortedLongIndex.Layout.BINARY;
+        DataFileHandler.LoadMode loadMode = DataFileHandler.LoadMode.BUFFERED;
+        DataSource dataSource = DataSource.TEXT;
+
+        for (int index = 1; index < args.length; index++) {
+            String option = args[index];
+            if ("--stream".equals(option)) {
+                streamingMode = true;
+            } else if (option.startsWith("--top=")) {
+                try {
+                    topCount = Integer.parseInt(option.substring("--top=".length()));
+                } catch (NumberFormatException e) {
+                    topCount = 0;
+                }
+                if (topCount < 1) {
+                    System.out.println(USAGE_MESSAGE);
+                    return;
+                }
+            } else if ("--external-sort".equals(option)) {
+                externalSortBudget = ExternalLongSorter.DEFAULT_MEMORY_BUDGET;
+            } else if (option.startsWith("--external-sort=")) {
+                long budgetMegabytes;
+                try {
+                    budgetMegabytes = Long.parseLong(option.substring("--external-sort=".length()));
+                } catch (NumberFormatException e) {
+                    budgetMegabytes = 0;
+                }
+                if (budgetMegabytes < 1 || budgetMegabytes > Long.MAX_VALUE >> 20) {
+                    System.out.println(USAGE_MESSAGE);
+                    return;
+                }
+                externalSortBudget = budgetMegabytes << 20;
+            } else if ("--metrics".equals(option)) {
+                metricsRounds = 1;
+            } else if (option.startsWith("--metrics=")) {
+                try {
+                    metricsRounds = Integer.parseInt(option.substring("--metrics=".length()));
+                } catch (NumberFormatException e) {
+                    metricsRounds = 0;
+                }
+                if (metricsRounds < 1) {
+                    System.out.println(USAGE_MESSAGE);
+                    return;
+                }
+            } else if ("--jfr".equals(option)) {
+                recordingPath = PATH_TO_RECORDING_FILE;
+            } else if (option.startsWith("--jfr=") && option.length() > "--jfr=".length()) {
+                recordingPath = option.substring("--jfr=".length());
+            } else if (option.startsWith("--report=") && option.length() > "--report=".length()) {
+                reportPath = option.substring("--report=".length());
+            } else if (option.startsWith("--layout=")) {
+                try {
+                    searchLayout = SortedLongIndex.Layout.parse(option.substring("--layout=".length()));
+                } catch (IllegalArgumentException e) {
+                    System.out.println(USAGE_MESSAGE);
+                    return;
+                }
+            } else if (option.startsWith("--load=")) {
+                loadMode = parseLoadMode(option.substring("--load=".length()));
+                if (loadMode == null) {
+                    System.out.println(USAGE_MESSAGE);
+                    return;
+                }
+            } else if (option.startsWith("--source=")) {
+                dataSource = parseDataSource(option.substring("--source=".length()));
+                if (dataSource == null) {
+                    System.out.println(USAGE_MESSAGE);
+                    return;
+                }
+            } else {
+                System.out.println(USAGE_MESSAGE);
+                return;
+            }
+        }
 
         // Валідація введеного значення дати
         try {
@@ -51,7 +211,255 @@ public class BasicDataOperation {
         }
 
         BasicDataOperation coordinator = new BasicDataOperation();
-        coordinator.executeOperations(args);
+        coordinator.metricsRounds = metricsRounds;
+        coordinator.reportPath = reportPath;
+        coordinator.searchLayout = searchLayout;
+        coordinator.loadMode = loadMode;
+        coordinator.dataSource = dataSource;
+
+        Recording recording = recordingPath != null ? startRecording() : null;
+        try {
+            if (externalSortBudget > 0) {
+                coordinator.executeExternalSort(externalSortBudget);
+            } else if (topCount > 0) {
+                coordinator.executeTopSelection(topCount);
+            } else if (streamingMode) {
+                coordinator.executeStreamingAnalysis(args);
+            } else {
+                coordinator.executeOperations(args);
+            }
+        } finally {
+            if (recording != null) {
+                stopRecording(recording, recordingPath);
+            }
+        }
+    }
+
+    /**
+     * Порівнює поточний звіт з базовим.
+     *
+     * @param args Аргументи командного рядка, що починаються з --compare
+     * @return Код завершення: 0 - без регресій, 1 - є регресії, 2 - помилка параметрів або читання
+     */
+    private static int compareReports(String[] args) {
+        List<String> paths = new ArrayList<>();
+        double thresholdPercent = BenchmarkReport.DEFAULT_THRESHOLD_PERCENT;
+        String metric = BenchmarkReport.DEFAULT_METRIC;
+
+        for (int index = 1; index < args.length; index++) {
+            String option = args[index];
+            if (option.startsWith("--threshold=")) {
+                try {
+                    thresholdPercent = Double.parseDouble(option.substring("--threshold=".length()));
+                } catch (NumberFormatException e) {
+                    thresholdPercent = -1;
+                }
+                if (thresholdPercent < 0) {
+                    System.out.println(USAGE_MESSAGE);
+                    return 2;
+                }
+            } else if (option.startsWith("--metric=")) {
+                metric = option.substring("--metric=".length());
+                if (!Arrays.asList(BenchmarkReport.COLUMNS).subList(5, BenchmarkReport.COLUMNS.length).contains(metric)) {
+                    System.out.println(USAGE_MESSAGE);
+                    return 2;
+                }
+            } else if (!option.startsWith("--")) {
+                paths.add(option);
+            } else {
+                System.out.println(USAGE_MESSAGE);
+                return 2;
+            }
+        }
+
+        if (paths.size() != 2) {
+            System.out.println(USAGE_MESSAGE);
+            return 2;
+        }
+
+        BenchmarkReport baseline;
+        BenchmarkReport current;
+        try {
+            baseline = BenchmarkReport.read(paths.get(0));
+            current = BenchmarkReport.read(paths.get(1));
+        } catch (IOException ioException) {
+            System.out.println("❌ Помилка при читанні звіту: " + ioException.getMessage());
+            return 2;
+        }
+
+        int regressions = BenchmarkReport.compare(baseline, current, metric, thresholdPercent, System.out);
+        if (regressions > 0) {
+            System.out.println("❌ Регресій понад " + thresholdPercent + "%: " + regressions);
+            return 1;
+        }
+        System.out.println("✅ Регресій понад " + thresholdPercent + "% не виявлено.");
+        return 0;
+    }
+
+    /**
+     * Шукає пакет значень у впорядкованих даних за один запуск: дані та кеш
+     * завантажуються один раз, а всі запити обробляє {@link BatchLookup}.
+     *
+     * <p>З параметром --source=delta запити шукаються безпосередньо у стисненому файлі
+     * попереднього запуску: декодуються лише блоки, в які потрапляють запити. Якщо файл
+     * відсутній або застарів, пошук виконується у впорядкованих даних кешу.</p>
+     *
+     * <p>Результати записуються в порядку запитів у файл --output або, якщо його
+     * не задано, у стандартне виведення. В останньому випадку повідомлення
+     * виводяться в потік помилок, щоб не змішуватися з результатами.</p>
+     *
+     * @param args Аргументи командного рядка, що починаються з --batch
+     * @return Код завершення: 0 - успіх, 2 - помилка параметрів, читання або запису
+     */
+    private int executeBatchLookup(String[] args) {
+        String queriesPath = null;
+        String outputPath = null;
+        for (int index = 1; index < args.length; index++) {
+            String option = args[index];
+            if (option.startsWith("--output=") && option.length() > "--output=".length()) {
+                outputPath = option.substring("--output=".length());
+            } else if (option.startsWith("--load=") && parseLoadMode(option.substring("--load=".length())) != null) {
+                loadMode = parseLoadMode(option.substring("--load=".length()));
+            } else if (option.startsWith("--source=") && parseDataSource(option.substring("--source=".length())) != null) {
+                dataSource = parseDataSource(option.substring("--source=".length()));
+            } else if (queriesPath == null && ("-".equals(option) || !option.startsWith("--"))) {
+                queriesPath = option;
+            } else {
+                System.out.println(USAGE_MESSAGE);
+                return 2;
+            }
+        }
+        if (queriesPath == null) {
+            System.out.println(USAGE_MESSAGE);
+            return 2;
+        }
+
+        PrintStream console = outputPath != null ? System.out : System.err;
+        PerformanceTracker.setConsoleOutput(outputPath != null);
+
+        long[] queries;
+        long timeStart = PerformanceTracker.startOperation();
+        try {
+            if ("-".equals(queriesPath)) {
+                queries = DataFileHandler.readLongs(System.in);
+            } else {
+                try (InputStream inputStream = new FileInputStream(queriesPath)) {
+                    queries = DataFileHandler.readLongs(inputStream);
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            console.println("❌ Помилка при читанні запитів: " + e.getMessage());
+            return 2;
+        }
+        PerformanceTracker.finishOperation(timeStart);
+        PerformanceTracker.displayOperationTime(timeStart, "читання пакету запитів", "long[]", queries.length, null);
+
+        SortedLongCodec codec = dataSource == DataSource.DELTA ? openCompressedFile(console) : null;
+        if (codec == null) {
+            if (dataSource == DataSource.DELTA) {
+                dataSource = DataSource.TEXT;
+            }
+            SortedDataCache.Fingerprint fingerprint = loadCachedSortedData(console);
+            if (sortedData == null) {
+                buildSortedData(loadSourceData(), fingerprint, console);
+            }
+        }
+
+        timeStart = PerformanceTracker.startOperation();
+
+        BatchLookup.Result result = codec != null
+                ? BatchLookup.lookup(codec, queries)
+                : BatchLookup.lookup(sortedData.getSortedValues(), queries);
+
+        PerformanceTracker.finishOperation(timeStart);
+        if (codec != null) {
+            PerformanceTracker.displayOperationTime(timeStart, "пакетний пошук значень у стисненому файлі",
+                    "SortedLongCodec", codec.size(), result.getFoundCount());
+        } else {
+            PerformanceTracker.displayOperationTime(timeStart, "пакетний пошук значень у впорядкованих даних",
+                    "long[]", sortedData.getSortedValues().length, result.getFoundCount());
+        }
+
+        try {
+            if (outputPath != null) {
+                DataFileHandler.writeFileAtomically(outputPath, result::writeTo);
+            } else {
+                result.writeTo(Channels.newChannel(System.out));
+                System.out.flush();
+            }
+        } catch (IOException ioException) {
+            console.println("❌ Помилка при записі результатів: " + ioException.getMessage());
+            return 2;
+        }
+
+        console.println("Запитів: " + result.size() + ", знайдено: " + result.getFoundCount()
+                + ", стратегія: " + result.getStrategy());
+        if (outputPath != null) {
+            console.println("Результати пакетного пошуку збережено у файл '" + outputPath + "'.");
+        }
+        return 0;
+    }
+
+    /**
+     * Зберігає результати вимірювань у файл звіту, якщо його задано параметром --report.
+     */
+    private void writeReport() {
+        if (reportPath == null) {
+            return;
+        }
+
+        BenchmarkReport report = BenchmarkReport.fromRegistry(PerformanceTracker.getRegistry(),
+                PATH_TO_DATA_FILE, sortedData.getSortedValues().length);
+        report.getMetadata().put("metricsRounds", String.valueOf(Math.max(1, metricsRounds)));
+        report.getMetadata().put("searchLayout", searchLayout.toString());
+        report.getMetadata().put("loadMode", loadMode.name().toLowerCase(Locale.ROOT));
+        report.getMetadata().put("dataSource", dataSource.name().toLowerCase(Locale.ROOT));
+        try {
+            report.write(reportPath);
+            System.out.println("Звіт вимірювань збережено у файл '" + reportPath + "'.");
+        } catch (IOException ioException) {
+            System.out.println("❌ Помилка при збереженні звіту: " + ioException.getMessage());
+        }
+    }
+
+    /**
+     * Розпочинає запис JDK Flight Recorder з налаштуваннями "profile" та подіями
+     * {@link DataOperationEvent}. Тривалість кожної операції потрапляє до запису,
+     * тому виведення окремих вимірювань у консоль вимикається.
+     *
+     * @return Активний запис або null, якщо його не вдалося розпочати
+     */
+    private static Recording startRecording() {
+        try {
+            Recording recording = new Recording(Configuration.getConfiguration("profile"));
+            recording.setName("BasicDataOperation");
+            recording.enable(DataOperationEvent.class);
+            recording.start();
+            PerformanceTracker.setConsoleOutput(false);
+            return recording;
+        } catch (IOException | ParseException | IllegalStateException | SecurityException e) {
+            System.out.println("❌ Не вдалося розпочати запис JFR: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Зупиняє запис JDK Flight Recorder і зберігає його у файл.
+     *
+     * @param recording Активний запис
+     * @param recordingPath Шлях до файлу .jfr
+     */
+    private static void stopRecording(Recording recording, String recordingPath) {
+        PerformanceTracker.setConsoleOutput(true);
+        try {
+            recording.stop();
+            recording.dump(Paths.get(recordingPath));
+            System.out.println("Запис JFR збережено у файл '" + recordingPath + "'.");
+        } catch (IOException | IllegalStateException e) {
+            System.out.println("❌ Помилка при збереженні запису JFR: " + e.getMessage());
+        } finally {
+            recording.close();
+        }
     }
 
     /**
@@ -67,15 +475,435 @@ public class BasicDataOperation {
         
         // Підготовка даних та перевірка формату
         longValueToSearch = Long.parseLong(args[0]);
-        longArray = DataFileHandler.loadArrayFromFile(PATH_TO_DATA_FILE);
+        LongScanKernels.warmUp();
+        prepareData();
         
-        runAllOperations();
+        if (metricsRounds > 0) {
+            runMeasuredOperations();
+        } else {
+            runAllOperations();
+        }
+        saveSortedOutput();
+        writeReport();
+
+        System.out.println(SEPARATOR);
+        System.out.println("✅ АНАЛІЗ ЗАВЕРШЕНО ✅");
+        System.out.println(SEPARATOR);
+    }
+
+    /**
+     * Виконує операції з усіма колекціями задану кількість разів без виведення
+     * окремих вимірювань і виводить процентилі тривалості кожної операції.
+     * 
+     * <p>Обробники впорядковують переданий масив на місці, тому кожен прохід
+     * отримує копію вихідних даних.</p>
+     */
+    private void runMeasuredOperations() {
+        Long[] sourceArray = longArray;
+        PerformanceTracker.setConsoleOutput(false);
+        try {
+            for (int round = 0; round < metricsRounds; round++) {
+                longArray = sourceArray.clone();
+                runAllOperations();
+            }
+        } finally {
+            longArray = sourceArray;
+            PerformanceTracker.setConsoleOutput(true);
+        }
+        PerformanceTracker.printReport();
+    }
+
+    /**
+     * Завантажує вихідні дані та впорядковані дані з кешу.
+     * 
+     * <p>Відбиток файлу обчислюється до читання даних. Якщо кеш відповідає відбитку,
+     * впорядкований масив, мінімум, максимум та унікальні значення беруться з нього,
+     * інакше кеш будується заново та зберігається для наступних запусків.</p>
+     */
+    private void prepareData() {
+        SortedDataCache.Fingerprint fingerprint = loadCachedSortedData(System.out);
+
+        long[] sourceArray = loadSourceData();
+        longArray = new Long[sourceArray.length];
+        for (int index = 0; index < sourceArray.length; index++) {
+            longArray[index] = sourceArray[index];
+        }
+
+        if (sortedData != null) {
+            System.out.println("Впорядковані дані актуальні, повторне сортування пропущено.");
+        } else {
+            buildSortedData(sourceArray, fingerprint, System.out);
+        }
+
+        System.out.println("Кiлькiсть елементiв: " + sortedData.getSortedValues().length
+                + ", унікальних: " + sortedData.getDistinctValues().length);
+        System.out.println("Найменше значення: " + sortedData.getMin());
+        System.out.println("Найбільше значення: " + sortedData.getMax());
+    }
+
+    /**
+     * Повертає джерело впорядкованих даних за назвою без урахування регістру або null,
+     * якщо назва невідома.
+     * 
+     * @param name Назва джерела: text, binary або delta
+     */
+    private static DataSource parseDataSource(String name) {
+        try {
+            return DataSource.valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Повертає режим читання файлу даних за назвою без урахування регістру або null,
+     * якщо назва невідома.
+     * 
+     * @param name Назва режиму: buffered, mapped або parallel
+     */
+    private static DataFileHandler.LoadMode parseLoadMode(String name) {
+        try {
+            return DataFileHandler.LoadMode.valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Завантажує вихідні дані з текстового файлу в режимі, обраному параметром --load.
+     * Обробники отримують дані саме в порядку цього файлу, незалежно від --source.
+     * 
+     * @return Масив значень у порядку файлу
+     */
+    private long[] loadSourceData() {
+        long timeStart = PerformanceTracker.startOperation();
+
+        long[] sourceArray = DataFileHandler.loadLongArrayFromFile(PATH_TO_DATA_FILE, loadMode);
+
+        PerformanceTracker.finishOperation(timeStart);
+        PerformanceTracker.displayOperationTime(timeStart,
+                "завантаження файлу даних (" + loadMode.name().toLowerCase(Locale.ROOT) + ")",
+                "long[]", sourceArray.length, null);
+        return sourceArray;
+    }
+
+    /**
+     * Обчислює відбиток файлу даних і завантажує впорядковані дані з джерела, обраного
+     * параметром --source: з кешу, якщо кеш відповідає відбитку, або з двійкового чи
+     * стисненого файлу попереднього запуску.
+     * 
+     * @param console Потік для повідомлень про помилки
+     * @return Відбиток файлу або null, якщо його не вдалося обчислити
+     */
+    private SortedDataCache.Fingerprint loadCachedSortedData(PrintStream console) {
+        SortedDataCache.Fingerprint fingerprint = null;
+        try {
+            fingerprint = SortedDataCache.Fingerprint.of(PATH_TO_DATA_FILE);
+            if (dataSource == DataSource.TEXT) {
+                sortedData = SortedDataCache.load(PATH_TO_CACHE_FILE, fingerprint);
+            } else {
+                sortedData = loadSortedFile(fingerprint, console);
+            }
+        } catch (IOException ioException) {
+            console.println("❌ Помилка при читанні кешу: " + ioException.getMessage());
+        }
+        return fingerprint;
+    }
+
+    /**
+     * Завантажує впорядковані дані з двійкового або стисненого файлу попереднього запуску.
+     * 
+     * <p>Файл використовується, лише якщо відбиток вихідного файлу в його заголовку
+     * збігається з поточним відбитком текстового файлу даних.</p>
+     * 
+     * @param fingerprint Відбиток файлу даних
+     * @param console Потік для повідомлень
+     * @return Впорядковані дані або null, якщо файл відсутній, застарілий чи пошкоджений
+     */
+    private SortedDataCache loadSortedFile(SortedDataCache.Fingerprint fingerprint, PrintStream console) {
+        boolean binary = dataSource == DataSource.BINARY;
+        String sortedPath = binary ? PATH_TO_SORTED_BINARY_FILE : PATH_TO_SORTED_COMPRESSED_FILE;
+        long timeStart = PerformanceTracker.startOperation();
+        try {
+            SortedLongCodec codec = binary ? null : SortedLongCodec.open(sortedPath);
+            SortedDataCache.Fingerprint sourceFingerprint = binary
+                    ? BinaryLongFile.readHeader(sortedPath).getSourceFingerprint()
+                    : codec.getSourceFingerprint();
+            if (!sourceFingerprint.matches(fingerprint)) {
+                console.println("Файл '" + sortedPath + "' отримано з іншої версії файлу даних, "
+                        + "дані буде впорядковано заново.");
+                return null;
+            }
+
+            long[] sortedValues = binary ? BinaryLongFile.loadArrayFromFile(sortedPath) : codec.decodeAll();
+            SortedDataCache loadedData = SortedDataCache.fromSorted(sortedValues, fingerprint);
+
+            PerformanceTracker.finishOperation(timeStart);
+            PerformanceTracker.displayOperationTime(timeStart,
+                    binary ? "завантаження впорядкованих даних з двійкового файлу"
+                            : "завантаження впорядкованих даних зі стисненого файлу",
+                    "long[]", sortedValues.length, null);
+            return loadedData;
+        } catch (NoSuchFileException missingFile) {
+            console.println("Файл '" + sortedPath + "' відсутній, дані буде впорядковано заново.");
+            return null;
+        } catch (IOException | IllegalArgumentException e) {
+            console.println("❌ Помилка при читанні файлу '" + sortedPath + "': " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Відкриває стиснений файл попереднього запуску для пошуку без повного розпакування.
+     * 
+     * @param console Потік для повідомлень
+     * @return Відкритий файл або null, якщо він відсутній, застарілий чи пошкоджений
+     */
+    private static SortedLongCodec openCompressedFile(PrintStream console) {
+        long timeStart = PerformanceTracker.startOperation();
+        try {
+            SortedLongCodec codec = SortedLongCodec.open(PATH_TO_SORTED_COMPRESSED_FILE);
+            if (!codec.getSourceFingerprint().matches(SortedDataCache.Fingerprint.of(PATH_TO_DATA_FILE))) {
+                console.println("Файл '" + PATH_TO_SORTED_COMPRESSED_FILE + "' отримано з іншої версії файлу даних, "
+                        + "пошук виконується у впорядкованих даних кешу.");
+                return null;
+            }
+
+            PerformanceTracker.finishOperation(timeStart);
+            PerformanceTracker.displayOperationTime(timeStart, "відкриття стисненого файлу даних",
+                    "SortedLongCodec", codec.size(), null);
+            return codec;
+        } catch (NoSuchFileException missingFile) {
+            console.println("Файл '" + PATH_TO_SORTED_COMPRESSED_FILE + "' відсутній, "
+                    + "пошук виконується у впорядкованих даних кешу.");
+            return null;
+        } catch (IOException ioException) {
+            console.println("❌ Помилка при читанні файлу '" + PATH_TO_SORTED_COMPRESSED_FILE + "': "
+                    + ioException.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Будує впорядковані дані з вихідного масиву та зберігає кеш для наступних запусків.
+     * 
+     * @param sourceArray Вихідні дані
+     * @param fingerprint Відбиток файлу даних або null, якщо кеш не зберігається
+     * @param console Потік для повідомлень про помилки
+     */
+    private void buildSortedData(long[] sourceArray, SortedDataCache.Fingerprint fingerprint, PrintStream console) {
+        long timeStart = PerformanceTracker.startOperation();
+
+        sortedData = SortedDataCache.build(sourceArray, fingerprint);
+
+        PerformanceTracker.finishOperation(timeStart);
+        PerformanceTracker.displayOperationTime(timeStart, "побудова кешу впорядкованих даних");
+
+        if (fingerprint != null) {
+            try {
+                sortedData.save(PATH_TO_CACHE_FILE);
+            } catch (IOException ioException) {
+                console.println("❌ Помилка при збереженні кешу: " + ioException.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Виконує потоковий аналіз файлу за один прохід: пошук значення, визначення
+     * мінімуму, максимуму та статистики без завантаження всіх даних у пам'ять.
+     * 
+     * @param args Аргументи командного рядка
+     */
+    private void executeStreamingAnalysis(String[] args) {
+        System.out.println(SEPARATOR);
+        System.out.println("🌊 ПОТОКОВИЙ АНАЛІЗ ДАНИХ long 🌊");
+        System.out.println("Пошуковий параметр: " + args[0]);
+        System.out.println(SEPARATOR);
+
+        longValueToSearch = Long.parseLong(args[0]);
+        SearchingStatistics statistics = new SearchingStatistics(longValueToSearch);
+
+        long timeStart = PerformanceTracker.startOperation();
+
+        try (LongStream longStream = DataFileHandler.streamLongsFromFile(PATH_TO_DATA_FILE)) {
+            longStream.forEach(statistics);
+        } catch (IOException ioException) {
+            System.out.println("❌ Помилка при читанні файлу: " + ioException.getMessage());
+            return;
+        }
+
+        PerformanceTracker.finishOperation(timeStart);
+        PerformanceTracker.displayOperationTime(timeStart, "потоковий аналіз файлу");
+
+        if (statistics.getFirstPosition() >= 0) {
+            System.out.println("Елемент '" + longValueToSearch + "' знайдено у файлі за позицією: " + statistics.getFirstPosition());
+        } else {
+            System.out.println("Елемент '" + longValueToSearch + "' відсутній у файлі.");
+        }
+
+        if (statistics.getCount() > 0) {
+            System.out.println("Кiлькiсть елементiв у файлі: " + statistics.getCount());
+            System.out.println("Найменше значення у файлі: " + statistics.getMin());
+            System.out.println("Найбільше значення у файлі: " + statistics.getMax());
+            System.out.println("Середнє значення у файлі: " + statistics.getAverage());
+        } else {
+            System.out.println("Файл не містить значень.");
+        }
 
         System.out.println(SEPARATOR);
         System.out.println("✅ АНАЛІЗ ЗАВЕРШЕНО ✅");
         System.out.println(SEPARATOR);
     }
 
+    /**
+     * Відбирає K найменших і K найбільших значень файлу, не завантажуючи його в пам'ять:
+     * спершу одним послідовним проходом, потім паралельним потоком, де кожен підпотік
+     * заповнює власні обмежені купи, а купи зливаються.
+     * 
+     * @param k Кількість значень у кожному відборі
+     */
+    private void executeTopSelection(int k) {
+        System.out.println(SEPARATOR);
+        System.out.println("🏆 ПОТОКОВИЙ ВІДБІР " + k + " НАЙМЕНШИХ І НАЙБІЛЬШИХ ЗНАЧЕНЬ long 🏆");
+        System.out.println(SEPARATOR);
+
+        LongTopK smallest = new LongTopK(k, LongTopK.Order.SMALLEST);
+        LongTopK largest = new LongTopK(k, LongTopK.Order.LARGEST);
+
+        long timeStart = PerformanceTracker.startOperation();
+
+        try (LongStream longStream = DataFileHandler.streamLongsFromFile(PATH_TO_DATA_FILE)) {
+            longStream.forEach(value -> {
+                smallest.accept(value);
+                largest.accept(value);
+            });
+        } catch (IOException ioException) {
+            System.out.println("❌ Помилка при читанні файлу: " + ioException.getMessage());
+            return;
+        }
+
+        PerformanceTracker.finishOperation(timeStart);
+        PerformanceTracker.displayOperationTime(timeStart, "потоковий відбір " + k + " найменших i найбільших значень",
+                "LongTopK", smallest.getCount(), smallest.size() + largest.size());
+
+        timeStart = PerformanceTracker.startOperation();
+
+        LongTopK parallelSmallest;
+        LongTopK parallelLargest;
+        try {
+            parallelSmallest = LongTopK.collect(DataFileHandler.streamLongsFromFile(PATH_TO_DATA_FILE).parallel(),
+                    k, LongTopK.Order.SMALLEST);
+            parallelLargest = LongTopK.collect(DataFileHandler.streamLongsFromFile(PATH_TO_DATA_FILE).parallel(),
+                    k, LongTopK.Order.LARGEST);
+        } catch (IOException ioException) {
+            System.out.println("❌ Помилка при читанні файлу: " + ioException.getMessage());
+            return;
+        }
+
+        PerformanceTracker.finishOperation(timeStart);
+        PerformanceTracker.displayOperationTime(timeStart, "паралельний відбір " + k + " найменших i найбільших значень",
+                "LongTopK", parallelSmallest.getCount(), parallelSmallest.size() + parallelLargest.size());
+
+        if (smallest.getCount() == 0) {
+            System.out.println("Файл не містить значень.");
+        } else {
+            System.out.println("Кiлькiсть елементiв у файлі: " + smallest.getCount());
+            System.out.println(k + " найменших значень: " + Arrays.toString(smallest.toArray()));
+            System.out.println(k + " найбільших значень: " + Arrays.toString(largest.toArray()));
+        }
+
+        System.out.println(SEPARATOR);
+        System.out.println("✅ ВІДБІР ЗАВЕРШЕНО ✅");
+        System.out.println(SEPARATOR);
+    }
+
+    /**
+     * Впорядковує файл даних зовнішнім злиттям, не завантажуючи його повністю в пам'ять.
+     * 
+     * @param memoryBudget Бюджет пам'яті для однієї серії в байтах
+     */
+    private void executeExternalSort(long memoryBudget) {
+        System.out.println(SEPARATOR);
+        System.out.println("🗂️ ЗОВНІШНЄ СОРТУВАННЯ ДАНИХ long 🗂️");
+        System.out.println("Бюджет пам'яті: " + (memoryBudget >> 20) + " МіБ");
+        System.out.println(SEPARATOR);
+
+        ExternalLongSorter sorter = new ExternalLongSorter(memoryBudget, Paths.get(System.getProperty("java.io.tmpdir")));
+
+        long timeStart = PerformanceTracker.startOperation();
+
+        try {
+            long sortedCount = sorter.sortFile(PATH_TO_DATA_FILE, PATH_TO_SORTED_FILE);
+            PerformanceTracker.finishOperation(timeStart);
+            PerformanceTracker.displayOperationTime(timeStart, "зовнішнє сортування файлу");
+            System.out.println("Упорядковано елементів: " + sortedCount);
+        } catch (IOException ioException) {
+            System.out.println("❌ Помилка при зовнішньому сортуванні: " + ioException.getMessage());
+        }
+
+        System.out.println(SEPARATOR);
+        System.out.println("✅ СОРТУВАННЯ ЗАВЕРШЕНО ✅");
+        System.out.println(SEPARATOR);
+    }
+
+    /**
+     * Статистика потоку значень, що додатково фіксує першу позицію шуканого значення.
+     */
+    private static final class SearchingStatistics extends LongSummaryStatistics {
+        private final long valueToSearch;
+        private long firstPosition = -1;
+
+        SearchingStatistics(long valueToSearch) {
+            this.valueToSearch = valueToSearch;
+        }
+
+        @Override
+        public void accept(long value) {
+            if (firstPosition < 0 && value == valueToSearch) {
+                firstPosition = getCount();
+            }
+            super.accept(value);
+        }
+
+        long getFirstPosition() {
+            return firstPosition;
+        }
+    }
+
+    /**
+     * Єдиний етап збереження результатів: записує впорядковані дані з кешу
+     * у текстовий, двійковий та стиснений файли. Кожен файл замінюється атомарно
+     * і лише тоді, коли його вміст на диску відрізняється від нового.
+     */
+    private void saveSortedOutput() {
+        long[] sortedArray = sortedData.getSortedValues();
+        SortedDataCache.Fingerprint sourceFingerprint = sortedData.getFingerprint();
+
+        long timeStart = PerformanceTracker.startOperation();
+
+        try {
+            reportOutput(PATH_TO_SORTED_FILE, DataFileHandler.writeLongArrayToFile(sortedArray, PATH_TO_SORTED_FILE));
+            reportOutput(PATH_TO_SORTED_BINARY_FILE, DataFileHandler.replaceFileIfChanged(PATH_TO_SORTED_BINARY_FILE,
+                    channel -> BinaryLongFile.writeArray(sortedArray, true, sourceFingerprint, channel)));
+            reportOutput(PATH_TO_SORTED_COMPRESSED_FILE, DataFileHandler.replaceFileIfChanged(PATH_TO_SORTED_COMPRESSED_FILE,
+                    channel -> SortedLongCodec.writeArray(sortedArray, SortedLongCodec.DEFAULT_BLOCK_SIZE,
+                            sourceFingerprint, channel)));
+        } catch (IOException ioException) {
+            System.out.println("❌ Помилка при збереженні результатів: " + ioException.getMessage());
+        }
+
+        PerformanceTracker.finishOperation(timeStart);
+        PerformanceTracker.displayOperationTime(timeStart, "збереження впорядкованих даних");
+    }
+
+    private static void reportOutput(String filePath, boolean written) {
+        if (written) {
+            System.out.println("Файл '" + filePath + "' оновлено.");
+        } else {
+            System.out.println("Файл '" + filePath + "' не змінився, запис пропущено.");
+        }
+    }
+
     /**
      * Запускає операції з колекцією List.
      * 
@@ -88,6 +916,7 @@ public class BasicDataOperation {
         try {
             // Створення екземпляру класу з передаванням даних
             BasicDataOperationUsingList listProcessor = new BasicDataOperationUsingList(longValueToSearch, longArray);
+            listProcessor.setSearchLayout(searchLayout);
             listProcessor.executeDataOperations();
         } catch (Exception e) {
             System.out.println("❌ Помилка при роботі з List: " + e.getMessage());
@@ -107,6 +936,7 @@ public class BasicDataOperation {
         try {
             // Створення екземпляру класу з передаванням даних
             BasicDataOperationUsingQueue queueProcessor = new BasicDataOperationUsingQueue(longValueToSearch, longArray);
+            queueProcessor.setSearchLayout(searchLayout);
             queueProcessor.runDataProcessing();
         } catch (Exception e) {
             System.out.println("❌ Помилка при роботі з Queue: " + e.getMessage());
@@ -126,6 +956,7 @@ public class BasicDataOperation {
         try {
             // Створення екземпляру класу з передаванням даних           
             BasicDataOperationUsingSet setProcessor = new BasicDataOperationUsingSet(longValueToSearch, longArray);
+            setProcessor.setSearchLayout(searchLayout);
             setProcessor.executeDataAnalysis();
         } catch (Exception e) {
             System.out.println("❌ Помилка при роботі з Set: " + e.getMessage());
@@ -1,10 +1,13 @@
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.List;
-
 /**
- * Клас BasicDataOperationUsingList реалізує операції з колекціями типу ArrayList для даних long.
+ * Клас BasicDataOperationUsingList реалізує операції зі списком для даних long.
+ * 
+ * <p>Список зберігається в {@link LongArrayList} на основі примітивного масиву long,
+ * тому сортування, пошук і визначення граничних значень не розпаковують об'єкти Long.</p>
+ * 
+ * <p>Пошук у впорядкованих масиві та списку може виконуватися через статичний індекс
+ * обраного розташування {@link SortedLongIndex.Layout} (див. {@link #setSearchLayout}).
+ * Індекс будується одразу після сортування як окрема вимірювана операція, а його
+ * статистика (для інтерполяційного пошуку та навченого індексу) виводиться після пошуку.</p>
  * 
  * <p>Методи класу:</p>
  * <ul>
@@ -12,15 +15,17 @@ import java.util.List;
  *   <li>{@link #performArraySorting()} - Упорядковує масив елементів long.</li>
  *   <li>{@link #findInArray()} - Здійснює пошук елемента в масиві long.</li>
  *   <li>{@link #locateMinMaxInArray()} - Визначає найменше і найбільше значення в масиві.</li>
- *   <li>{@link #sortList()} - Сортує колекцію List з long.</li>
+ *   <li>{@link #sortList()} - Сортує список long.</li>
  *   <li>{@link #findInList()} - Пошук конкретного значення в списку.</li>
  *   <li>{@link #locateMinMaxInList()} - Пошук мінімального і максимального значення в списку.</li>
  * </ul>
  */
 public class BasicDataOperationUsingList {
     private long longValueToSearch;
-    private Long[] longArray;
-    private List<Long> longList;
+    private long[] longArray;
+    private LongArrayList longList;
+    private LongSearchIndex arrayIndex;
+    private SortedLongIndex.Layout searchLayout = SortedLongIndex.Layout.BINARY;
 
     /**
      * Конструктор, який iнiцiалiзує об'єкт з готовими даними.
@@ -30,10 +35,29 @@ public class BasicDataOperationUsingList {
      */
     BasicDataOperationUsingList(long longValueToSearch, Long[] longArray) {
         this.longValueToSearch = longValueToSearch;
-        this.longArray = longArray;
-        this.longList = new ArrayList<Long>(Arrays.asList(longArray));
+        this.longArray = LongArrayList.unbox(longArray);
+        this.arrayIndex = new LongSearchIndex(this.longArray);
+
+        long timeStart = PerformanceTracker.startOperation();
+
+        this.longList = new LongArrayList(this.longArray);
+
+        PerformanceTracker.finishOperation(timeStart);
+        PerformanceTracker.displayOperationTime(timeStart, "створення LongArrayList з масиву дати i часу",
+                "LongArrayList", longList.size(), null);
     }
     
+    /**
+     * Задає розташування статичного індексу для пошуку у впорядкованих масиві та списку.
+     * 
+     * @param searchLayout Розташування елементів індексу
+     */
+    void setSearchLayout(SortedLongIndex.Layout searchLayout) {
+        this.searchLayout = searchLayout;
+        this.arrayIndex.setSortedLayout(searchLayout);
+        this.longList.setSearchLayout(searchLayout);
+    }
+
     /**
      * Виконує комплексні операції з структурами даних.
      * 
@@ -58,9 +82,6 @@ public class BasicDataOperationUsingList {
         
         findInArray();
         locateMinMaxInArray();
-
-        // зберігаємо відсортований масив до окремого файлу
-        DataFileHandler.writeArrayToFile(longArray, BasicDataOperation.PATH_TO_DATA_FILE + ".sorted");
     }
 
     /**
@@ -68,28 +89,48 @@ public class BasicDataOperationUsingList {
      * Фіксує та виводить тривалість операції сортування в наносекундах.
      */
     void performArraySorting() {
-        long timeStart = System.nanoTime();
+        long timeStart = PerformanceTracker.startOperation();
+
+        LongSorter.sort(longArray);
+        arrayIndex.dataChanged(true);
 
-        Arrays.sort(longArray);
+        PerformanceTracker.finishOperation(timeStart);
+        PerformanceTracker.displayOperationTime(timeStart, "упорядкування масиву дати i часу",
+                "long[]", longArray.length, null);
 
-        PerformanceTracker.displayOperationTime(timeStart, "упорядкування масиву дати i часу");
+        if (searchLayout != SortedLongIndex.Layout.BINARY) {
+            timeStart = PerformanceTracker.startOperation();
+
+            arrayIndex.buildSortedLayout();
+
+            PerformanceTracker.finishOperation(timeStart);
+            PerformanceTracker.displayOperationTime(timeStart, "побудова індексу " + searchLayout + " для масиву дати i часу",
+                    "long[]", longArray.length, null);
+        }
     }
 
     /**
      * Здійснює пошук конкретного значення в масиві дати та часу.
      */
     void findInArray() {
-        long timeStart = System.nanoTime();
+        long timeStart = PerformanceTracker.startOperation();
 
-        int position = Arrays.binarySearch(this.longArray, longValueToSearch);
+        int position = arrayIndex.indexOf(longValueToSearch);
 
-        PerformanceTracker.displayOperationTime(timeStart, "пошук елемента в масивi дати i часу");
+        PerformanceTracker.finishOperation(timeStart);
+        PerformanceTracker.displayOperationTime(timeStart, "пошук елемента в масивi дати i часу",
+                "long[]", longArray.length, position);
 
         if (position >= 0) {
             System.out.println("Елемент '" + longValueToSearch + "' знайдено в масивi за позицією: " + position);
         } else {
             System.out.println("Елемент '" + longValueToSearch + "' відсутній в масиві.");
         }
+
+        String statistics = arrayIndex.getStatistics();
+        if (statistics != null) {
+            System.out.println("Статистика індексу " + searchLayout + ": " + statistics);
+        }
     }
 
     /**
@@ -101,72 +142,88 @@ public class BasicDataOperationUsingList {
             return;
         }
 
-        long timeStart = System.nanoTime();
-
-        long minValue = longArray[0];
-        long maxValue = longArray[0];
+        long timeStart = PerformanceTracker.startOperation();
 
-        for (long currentlong : longArray) {
-            if (longValueToSearch < minValue) {
-                minValue = currentlong;
-            }
-            if (longValueToSearch > maxValue) {
-                maxValue = currentlong;
-            }
-        }
+        long[] bounds = new long[2];
+        LongScanKernels.minMax(longArray, 0, longArray.length, bounds);
+        long minValue = bounds[0];
+        long maxValue = bounds[1];
 
-        PerformanceTracker.displayOperationTime(timeStart, "визначення мiнiмальної i максимальної дати в масивi");
+        PerformanceTracker.finishOperation(timeStart);
+        PerformanceTracker.displayOperationTime(timeStart, "визначення мiнiмальної i максимальної дати в масивi",
+                "long[]", longArray.length, minValue);
 
         System.out.println("Найменше значення в масивi: " + minValue);
         System.out.println("Найбільше значення в масивi: " + maxValue);
     }
 
     /**
-     * Шукає конкретне значення дати та часу в колекції ArrayList.
+     * Шукає конкретне значення дати та часу в списку LongArrayList.
      */
     void findInList() {
-        long timeStart = System.nanoTime();
+        long timeStart = PerformanceTracker.startOperation();
 
-        int position = Collections.binarySearch(this.longList, longValueToSearch);
+        int position = this.longList.search(longValueToSearch);
 
-        PerformanceTracker.displayOperationTime(timeStart, "пошук елемента в List дати i часу");        
+        PerformanceTracker.finishOperation(timeStart);
+        PerformanceTracker.displayOperationTime(timeStart, "пошук елемента в List дати i часу",
+                "LongArrayList", longList.size(), position);
 
         if (position >= 0) {
-            System.out.println("Елемент '" + longValueToSearch + "' знайдено в ArrayList за позицією: " + position);
+            System.out.println("Елемент '" + longValueToSearch + "' знайдено в LongArrayList за позицією: " + position);
         } else {
-            System.out.println("Елемент '" + longValueToSearch + "' відсутній в ArrayList.");
+            System.out.println("Елемент '" + longValueToSearch + "' відсутній в LongArrayList.");
+        }
+
+        String statistics = longList.getSearchStatistics();
+        if (statistics != null) {
+            System.out.println("Статистика індексу " + searchLayout + ": " + statistics);
         }
     }
 
     /**
-     * Визначає найменше і найбільше значення в колекції ArrayList з датами.
+     * Визначає найменше і найбільше значення в списку LongArrayList з датами.
      */
     void locateMinMaxInList() {
         if (longList == null || longList.isEmpty()) {
-            System.out.println("Колекція ArrayList є пустою або не ініціалізованою.");
+            System.out.println("Список LongArrayList є пустим або не ініціалізованим.");
             return;
         }
 
-        long timeStart = System.nanoTime();
+        long timeStart = PerformanceTracker.startOperation();
 
-        long minValue = Collections.min(longList);
-        long maxValue = Collections.max(longList);
+        long minValue = longList.min();
+        long maxValue = longList.max();
 
-        PerformanceTracker.displayOperationTime(timeStart, "визначення мiнiмальної i максимальної дати в List");
+        PerformanceTracker.finishOperation(timeStart);
+        PerformanceTracker.displayOperationTime(timeStart, "визначення мiнiмальної i максимальної дати в List",
+                "LongArrayList", longList.size(), minValue);
 
         System.out.println("Найменше значення в List: " + minValue);
         System.out.println("Найбільше значення в List: " + maxValue);
     }
 
     /**
-     * Упорядковує колекцію List з об'єктами long за зростанням.
+     * Упорядковує список LongArrayList за зростанням на місці.
      * Відстежує та виводить час виконання операції сортування.
      */
     void sortList() {
-        long timeStart = System.nanoTime();
+        long timeStart = PerformanceTracker.startOperation();
+
+        longList.sort();
 
-        Collections.sort(longList);
+        PerformanceTracker.finishOperation(timeStart);
+        PerformanceTracker.displayOperationTime(timeStart, "упорядкування LongArrayList дати i часу",
+                "LongArrayList", longList.size(), null);
 
-        PerformanceTracker.displayOperationTime(timeStart, "упорядкування ArrayList дати i часу");
+        if (searchLayout != SortedLongIndex.Layout.BINARY) {
+            timeStart = PerformanceTracker.startOperation();
+
+            longList.buildSearchLayout();
+
+            PerformanceTracker.finishOperation(timeStart);
+            PerformanceTracker.displayOperationTime(timeStart, "побудова індексу " + searchLayout + " для LongArrayList",
+                    "LongArrayList", longList.size(), null);
+        }
     }
 }
\ No newline at end of file
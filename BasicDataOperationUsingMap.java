@@ -257,13 +257,15 @@ public class BasicDataOperationUsingMap {
      */
     private void printHashtable() {
         System.out.println("\n=== Пари ключ-значення в Hashtable ===");
-        long timeStart = System.nanoTime();
+        long timeStart = PerformanceTracker.startOperation();
 
         for (Map.Entry<Sheep, String> entry : hashtable.entrySet()) {
             System.out.println("  " + entry.getKey() + " -> " + entry.getValue());
         }
 
-        PerformanceTracker.displayOperationTime(timeStart, "виведення пари ключ-значення в Hashtable");
+        PerformanceTracker.finishOperation(timeStart);
+        PerformanceTracker.displayOperationTime(timeStart, "виведення пари ключ-значення в Hashtable",
+                "Hashtable", hashtable.size(), null);
     }
 
     /**
@@ -272,7 +274,7 @@ public class BasicDataOperationUsingMap {
      * Перезаписує hashtable відсортованими даними.
      */
     private void sortHashtable() {
-        long timeStart = System.nanoTime();
+        long timeStart = PerformanceTracker.startOperation();
 
         // Створюємо список ключів і сортуємо за природним порядком Sheep
         List<Sheep> sortedKeys = new ArrayList<>(hashtable.keySet());
@@ -287,7 +289,9 @@ public class BasicDataOperationUsingMap {
         // Перезаписуємо оригінальну hashtable
         hashtable = sortedHashtable;
 
-        PerformanceTracker.displayOperationTime(timeStart, "сортування Hashtable за ключами");
+        PerformanceTracker.finishOperation(timeStart);
+        PerformanceTracker.displayOperationTime(timeStart, "сортування Hashtable за ключами",
+                "Hashtable", hashtable.size(), null);
     }
 
     /**
@@ -295,11 +299,13 @@ public class BasicDataOperationUsingMap {
      * Використовує Sheep.hashCode() та Sheep.equals() для пошуку.
      */
     void findByKeyInHashtable() {
-        long timeStart = System.nanoTime();
+        long timeStart = PerformanceTracker.startOperation();
 
         boolean found = hashtable.containsKey(KEY_TO_SEARCH_AND_DELETE);
 
-        PerformanceTracker.displayOperationTime(timeStart, "пошук за ключем в Hashtable");
+        PerformanceTracker.finishOperation(timeStart);
+        PerformanceTracker.displayOperationTime(timeStart, "пошук за ключем в Hashtable",
+                "Hashtable", hashtable.size(), found);
 
         if (found) {
             String value = hashtable.get(KEY_TO_SEARCH_AND_DELETE);
@@ -314,7 +320,7 @@ public class BasicDataOperationUsingMap {
      * Сортує список Map.Entry за значеннями та використовує бінарний пошук.
      */
     void findByValueInHashtable() {
-        long timeStart = System.nanoTime();
+        long timeStart = PerformanceTracker.startOperation();
 
         // Створюємо список Entry та сортуємо за значеннями
         List<Map.Entry<Sheep, String>> entries = new ArrayList<>(hashtable.entrySet());
@@ -330,7 +336,9 @@ public class BasicDataOperationUsingMap {
 
         int position = Collections.binarySearch(entries, searchEntry, comparator);
 
-        PerformanceTracker.displayOperationTime(timeStart, "бінарний пошук за значенням в Hashtable");
+        PerformanceTracker.finishOperation(timeStart);
+        PerformanceTracker.displayOperationTime(timeStart, "бінарний пошук за значенням в Hashtable",
+                "Hashtable", hashtable.size(), position);
 
         if (position >= 0) {
             Map.Entry<Sheep, String> foundEntry = entries.get(position);
@@ -344,11 +352,13 @@ public class BasicDataOperationUsingMap {
      * Додає новий запис до Hashtable.
      */
     void addEntryToHashtable() {
-        long timeStart = System.nanoTime();
+        long timeStart = PerformanceTracker.startOperation();
 
         hashtable.put(KEY_TO_ADD, VALUE_TO_ADD);
 
-        PerformanceTracker.displayOperationTime(timeStart, "додавання запису до Hashtable");
+        PerformanceTracker.finishOperation(timeStart);
+        PerformanceTracker.displayOperationTime(timeStart, "додавання запису до Hashtable",
+                "Hashtable", hashtable.size(), null);
 
         System.out.println("Додано новий запис: Sheep='" + KEY_TO_ADD + "', власник='" + VALUE_TO_ADD + "'");
     }
@@ -357,11 +367,13 @@ public class BasicDataOperationUsingMap {
      * Видаляє запис з Hashtable за ключем.
      */
     void removeByKeyFromHashtable() {
-        long timeStart = System.nanoTime();
+        long timeStart = PerformanceTracker.startOperation();
 
         String removedValue = hashtable.remove(KEY_TO_SEARCH_AND_DELETE);
 
-        PerformanceTracker.displayOperationTime(timeStart, "видалення за ключем з Hashtable");
+        PerformanceTracker.finishOperation(timeStart);
+        PerformanceTracker.displayOperationTime(timeStart, "видалення за ключем з Hashtable",
+                "Hashtable", hashtable.size(), removedValue);
 
         if (removedValue != null) {
             System.out.println("Видалено запис з ключем '" + KEY_TO_SEARCH_AND_DELETE + "'. Власник був: " + removedValue);
@@ -374,7 +386,7 @@ public class BasicDataOperationUsingMap {
      * Видаляє записи з Hashtable за значенням.
      */
     void removeByValueFromHashtable() {
-        long timeStart = System.nanoTime();
+        long timeStart = PerformanceTracker.startOperation();
 
         List<Sheep> keysToRemove = new ArrayList<>();
         for (Map.Entry<Sheep, String> entry : hashtable.entrySet()) {
@@ -387,7 +399,9 @@ public class BasicDataOperationUsingMap {
             hashtable.remove(key);
         }
 
-        PerformanceTracker.displayOperationTime(timeStart, "видалення за значенням з Hashtable");
+        PerformanceTracker.finishOperation(timeStart);
+        PerformanceTracker.displayOperationTime(timeStart, "видалення за значенням з Hashtable",
+                "Hashtable", hashtable.size(), keysToRemove.size());
 
         System.out.println("Видалено " + keysToRemove.size() + " записів з власником '" + VALUE_TO_SEARCH_AND_DELETE + "'");
     }
@@ -401,16 +415,18 @@ public class BasicDataOperationUsingMap {
     private void printHashMap() {
         System.out.println("\n=== Пари ключ-значення в HashMap ===");
 
-        long timeStart = System.nanoTime();
+        long timeStart = PerformanceTracker.startOperation();
         for (Map.Entry<Sheep, String> entry : hashMap.entrySet()) {
             System.out.println("  " + entry.getKey() + " -> " + entry.getValue());
         }
 
-        PerformanceTracker.displayOperationTime(timeStart, "виведення пар ключ-значення в HashMap");
+        PerformanceTracker.finishOperation(timeStart);
+        PerformanceTracker.displayOperationTime(timeStart, "виведення пар ключ-значення в HashMap",
+                "HashMap", hashMap.size(), null);
     }
 
         private void sortHashMap() {
-        long timeStart = System.nanoTime();
+        long timeStart = PerformanceTracker.startOperation();
 
         // Створюємо список ключів і сортуємо за природним порядком Sheep
         List<Sheep> sortedKeys = new ArrayList<>(hashMap.keySet());
@@ -426,7 +442,9 @@ public class BasicDataOperationUsingMap {
         hashMap = sortedHashMap;
 
 
-        PerformanceTracker.displayOperationTime(timeStart, "сортування Hashtable за ключами");
+        PerformanceTracker.finishOperation(timeStart);
+        PerformanceTracker.displayOperationTime(timeStart, "сортування Hashtable за ключами",
+                "HashMap", hashMap.size(), null);
     }
 
 
@@ -435,11 +453,13 @@ public class BasicDataOperationUsingMap {
      * Використовує Sheep.compareTo() для навігації по дереву.
      */
     void findByKeyInHashMap() {
-        long timeStart = System.nanoTime();
+        long timeStart = PerformanceTracker.startOperation();
 
         boolean found = hashMap.containsKey(KEY_TO_SEARCH_AND_DELETE);
 
-        PerformanceTracker.displayOperationTime(timeStart, "пошук за ключем в HashMap");
+        PerformanceTracker.finishOperation(timeStart);
+        PerformanceTracker.displayOperationTime(timeStart, "пошук за ключем в HashMap",
+                "HashMap", hashMap.size(), found);
 
         if (found) {
             String value = hashMap.get(KEY_TO_SEARCH_AND_DELETE);
@@ -454,7 +474,7 @@ public class BasicDataOperationUsingMap {
      * Сортує список Map.Entry за значеннями та використовує бінарний пошук.
      */
     void findByValueInHashMap() {
-        long timeStart = System.nanoTime();
+        long timeStart = PerformanceTracker.startOperation();
 
         // Створюємо список Entry та сортуємо за значеннями
         List<Map.Entry<Sheep, String>> entries = new ArrayList<>(hashMap.entrySet());
@@ -470,7 +490,9 @@ public class BasicDataOperationUsingMap {
 
         int position = Collections.binarySearch(entries, searchEntry, comparator);
 
-        PerformanceTracker.displayOperationTime(timeStart, "бінарний пошук за значенням в HashMap");
+        PerformanceTracker.finishOperation(timeStart);
+        PerformanceTracker.displayOperationTime(timeStart, "бінарний пошук за значенням в HashMap",
+                "HashMap", hashMap.size(), position);
 
         if (position >= 0) {
             Map.Entry<Sheep, String> foundEntry = entries.get(position);
@@ -484,11 +506,13 @@ public class BasicDataOperationUsingMap {
      * Додає новий запис до HashMap.
      */
     void addEntryToHashMap() {
-        long timeStart = System.nanoTime();
+        long timeStart = PerformanceTracker.startOperation();
 
         hashMap.put(KEY_TO_ADD, VALUE_TO_ADD);
 
-        PerformanceTracker.displayOperationTime(timeStart, "додавання запису до HashMap");
+        PerformanceTracker.finishOperation(timeStart);
+        PerformanceTracker.displayOperationTime(timeStart, "додавання запису до HashMap",
+                "HashMap", hashMap.size(), null);
 
         System.out.println("Додано новий запис: Sheep='" + KEY_TO_ADD + "', власник='" + VALUE_TO_ADD + "'");
     }
@@ -497,11 +521,13 @@ public class BasicDataOperationUsingMap {
      * Видаляє запис з HashMap за ключем.
      */
     void removeByKeyFromHashMap() {
-        long timeStart = System.nanoTime();
+        long timeStart = PerformanceTracker.startOperation();
 
         String removedValue = hashMap.remove(KEY_TO_SEARCH_AND_DELETE);
 
-        PerformanceTracker.displayOperationTime(timeStart, "видалення за ключем з HashMap");
+        PerformanceTracker.finishOperation(timeStart);
+        PerformanceTracker.displayOperationTime(timeStart, "видалення за ключем з HashMap",
+                "HashMap", hashMap.size(), removedValue);
 
         if (removedValue != null) {
             System.out.println("Видалено запис з ключем '" + KEY_TO_SEARCH_AND_DELETE + "'. Власник був: " + removedValue);
@@ -514,7 +540,7 @@ public class BasicDataOperationUsingMap {
      * Видаляє записи з HashMap за значенням.
      */
     void removeByValueFromHashMap() {
-        long timeStart = System.nanoTime();
+        long timeStart = PerformanceTracker.startOperation();
 
         List<Sheep> keysToRemove = new ArrayList<>();
         for (Map.Entry<Sheep, String> entry : hashMap.entrySet()) {
@@ -527,7 +553,9 @@ public class BasicDataOperationUsingMap {
             hashMap.remove(key);
         }
 
-        PerformanceTracker.displayOperationTime(timeStart, "видалення за значенням з HashMap");
+        PerformanceTracker.finishOperation(timeStart);
+        PerformanceTracker.displayOperationTime(timeStart, "видалення за значенням з HashMap",
+                "HashMap", hashMap.size(), keysToRemove.size());
 
         System.out.println("Видалено " + keysToRemove.size() + " записів з власником '" + VALUE_TO_SEARCH_AND_DELETE + "'");
     }
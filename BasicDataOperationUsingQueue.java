@@ -1,11 +1,11 @@
-import java.util.Queue;
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.PriorityQueue;
-
 /**
  * Клас BasicDataOperationUsingQueue реалізує роботу з колекціями типу Queue для long.
  * 
+ * <p>Черга з пріоритетом зберігається в {@link LongIndexedHeap} - min-max купі
+ * на основі примітивних масивів long з хеш-індексом значень, тому операції з чергою
+ * не розпаковують об'єкти Long, пошук і видалення значення не проходять всю купу,
+ * а найменше і найбільше значення черги доступні за O(1).</p>
+ * 
  * <p>Основні функції класу:</p>
  * <ul>
  *   <li>{@link #runDataProcessing()} - Запускає комплекс операцій з даними.</li>
@@ -14,14 +14,16 @@ import java.util.PriorityQueue;
  *   <li>{@link #locateMinMaxInArray()} - Знаходить мінімальне і максимальне значення в масиві.</li>
  *   <li>{@link #findInQueue()} - Пошук значення в черзі long.</li>
  *   <li>{@link #locateMinMaxInQueue()} - Знаходить граничні значення в черзі.</li>
- *   <li>{@link #performQueueOperations()} - Виконує операції peek і poll з чергою.</li>
+ *   <li>{@link #performQueueOperations()} - Виконує операції peek, poll і remove з чергою.</li>
  * </ul>
  * 
  */
 public class BasicDataOperationUsingQueue {
     private long longValueToSearch;
-    private Long[] longArray;
-    private Queue<Long> longQueue;
+    private long[] longArray;
+    private LongSearchIndex arrayIndex;
+    private SortedLongIndex.Layout searchLayout = SortedLongIndex.Layout.BINARY;
+    private LongIndexedHeap longQueue;
 
     /**
      * Конструктор, який iнiцiалiзує об'єкт з готовими даними.
@@ -31,8 +33,26 @@ public class BasicDataOperationUsingQueue {
      */
     BasicDataOperationUsingQueue(long longValueToSearch, Long[] longArray) {
         this.longValueToSearch = longValueToSearch;
-        this.longArray = longArray;
-        this.longQueue = new PriorityQueue<Long>(Arrays.asList(longArray));
+        this.longArray = LongArrayList.unbox(longArray);
+        this.arrayIndex = new LongSearchIndex(this.longArray);
+
+        long timeStart = PerformanceTracker.startOperation();
+
+        this.longQueue = new LongIndexedHeap(this.longArray);
+
+        PerformanceTracker.finishOperation(timeStart);
+        PerformanceTracker.displayOperationTime(timeStart, "створення LongIndexedHeap з масиву дати i часу",
+                "LongIndexedHeap", longQueue.size(), null);
+    }
+    
+    /**
+     * Задає розташування статичного індексу для пошуку у впорядкованому масиві.
+     * 
+     * @param searchLayout Розташування елементів індексу
+     */
+    void setSearchLayout(SortedLongIndex.Layout searchLayout) {
+        this.searchLayout = searchLayout;
+        this.arrayIndex.setSortedLayout(searchLayout);
     }
     
     /**
@@ -54,9 +74,6 @@ public class BasicDataOperationUsingQueue {
 
         findInArray();
         locateMinMaxInArray();
-
-        // зберігаємо відсортований масив до файлу
-        DataFileHandler.writeArrayToFile(longArray, BasicDataOperation.PATH_TO_DATA_FILE + ".sorted");
     }
 
     /**
@@ -65,11 +82,24 @@ public class BasicDataOperationUsingQueue {
      */
     private void performArraySorting() {
         // вимірюємо тривалість упорядкування масиву дати та часу
-        long timeStart = System.nanoTime();
+        long timeStart = PerformanceTracker.startOperation();
+
+        LongSorter.sort(longArray);
+        arrayIndex.dataChanged(true);
+
+        PerformanceTracker.finishOperation(timeStart);
+        PerformanceTracker.displayOperationTime(timeStart, "упорядкування масиву дати i часу",
+                "long[]", longArray.length, null);
 
-        Arrays.sort(longArray);
+        if (searchLayout != SortedLongIndex.Layout.BINARY) {
+            timeStart = PerformanceTracker.startOperation();
 
-        PerformanceTracker.displayOperationTime(timeStart, "упорядкування масиву дати i часу");
+            arrayIndex.buildSortedLayout();
+
+            PerformanceTracker.finishOperation(timeStart);
+            PerformanceTracker.displayOperationTime(timeStart, "побудова індексу " + searchLayout + " для масиву дати i часу",
+                    "long[]", longArray.length, null);
+        }
     }
 
     /**
@@ -77,17 +107,24 @@ public class BasicDataOperationUsingQueue {
      */
     private void findInArray() {
         // відстежуємо час виконання пошуку в масиві
-        long timeStart = System.nanoTime();
+        long timeStart = PerformanceTracker.startOperation();
         
-        int position = Arrays.binarySearch(this.longArray, longValueToSearch);
+        int position = arrayIndex.indexOf(longValueToSearch);
         
-        PerformanceTracker.displayOperationTime(timeStart, "пошук елемента в масивi дати i часу");
+        PerformanceTracker.finishOperation(timeStart);
+        PerformanceTracker.displayOperationTime(timeStart, "пошук елемента в масивi дати i часу",
+                "long[]", longArray.length, position);
 
         if (position >= 0) {
             System.out.println("Елемент '" + longValueToSearch + "' знайдено в масивi за позицією: " + position);
         } else {
             System.out.println("Елемент '" + longValueToSearch + "' відсутній в масиві.");
         }
+
+        String statistics = arrayIndex.getStatistics();
+        if (statistics != null) {
+            System.out.println("Статистика індексу " + searchLayout + ": " + statistics);
+        }
     }
 
     /**
@@ -100,21 +137,16 @@ public class BasicDataOperationUsingQueue {
         }
 
         // відстежуємо час на визначення граничних значень
-        long timeStart = System.nanoTime();
-
-        long minValue = longArray[0];
-        long maxValue = longArray[0];
-
-        for (long currentlong : longArray) {
-            if (longValueToSearch  < minValue) {
-                minValue = currentlong;
-            }
-            if (longValueToSearch  > maxValue) {
-                maxValue = currentlong;
-            }
-        }
+        long timeStart = PerformanceTracker.startOperation();
+
+        long[] bounds = new long[2];
+        LongScanKernels.minMax(longArray, 0, longArray.length, bounds);
+        long minValue = bounds[0];
+        long maxValue = bounds[1];
 
-        PerformanceTracker.displayOperationTime(timeStart, "визначення мiнiмальної i максимальної дати в масивi");
+        PerformanceTracker.finishOperation(timeStart);
+        PerformanceTracker.displayOperationTime(timeStart, "визначення мiнiмальної i максимальної дати в масивi",
+                "long[]", longArray.length, minValue);
 
         System.out.println("Найменше значення в масивi: " + minValue);
         System.out.println("Найбільше значення в масивi: " + maxValue);
@@ -125,11 +157,13 @@ public class BasicDataOperationUsingQueue {
      */
     private void findInQueue() {
         // вимірюємо час пошуку в черзі
-        long timeStart = System.nanoTime();
+        long timeStart = PerformanceTracker.startOperation();
 
         boolean elementExists = this.longQueue.contains(longValueToSearch);
 
-        PerformanceTracker.displayOperationTime(timeStart, "пошук елемента в Queue дати i часу");
+        PerformanceTracker.finishOperation(timeStart);
+        PerformanceTracker.displayOperationTime(timeStart, "пошук елемента в Queue дати i часу",
+                "LongIndexedHeap", longQueue.size(), elementExists);
 
         if (elementExists) {
             System.out.println("Елемент '" + longValueToSearch + "' знайдено в Queue");
@@ -148,19 +182,21 @@ public class BasicDataOperationUsingQueue {
         }
 
         // відстежуємо час пошуку граничних значень
-        long timeStart = System.nanoTime();
+        long timeStart = PerformanceTracker.startOperation();
 
-        long minValue = Collections.min(longQueue);
-        long maxValue = Collections.max(longQueue);
+        long minValue = longQueue.peekMin();
+        long maxValue = longQueue.peekMax();
 
-        PerformanceTracker.displayOperationTime(timeStart, "визначення мiнiмальної i максимальної дати в Queue");
+        PerformanceTracker.finishOperation(timeStart);
+        PerformanceTracker.displayOperationTime(timeStart, "визначення мiнiмальної i максимальної дати в Queue",
+                "LongIndexedHeap", longQueue.size(), minValue);
 
         System.out.println("Найменше значення в Queue: " + minValue);
         System.out.println("Найбільше значення в Queue: " + maxValue);
     }
 
     /**
-     * Виконує операції peek і poll з чергою long.
+     * Виконує операції peek, poll і видалення шуканого значення з черги long.
      */
     private void performQueueOperations() {
         if (longQueue == null || longQueue.isEmpty()) {
@@ -168,13 +204,28 @@ public class BasicDataOperationUsingQueue {
             return;
         }
 
-        long headElement = longQueue.peek();
+        long headElement = longQueue.peekMin();
         System.out.println("Головний елемент черги (peek): " + headElement);
 
-        headElement = longQueue.poll();
+        headElement = longQueue.pollMin();
         System.out.println("Видалений елемент черги (poll): " + headElement);
 
-        headElement = longQueue.peek();
+        headElement = longQueue.peekMin();
         System.out.println("Новий головний елемент черги: " + headElement);
+
+        // видалення довільного значення знаходить його позицію через хеш-індекс
+        long timeStart = PerformanceTracker.startOperation();
+
+        boolean removed = longQueue.remove(longValueToSearch);
+
+        PerformanceTracker.finishOperation(timeStart);
+        PerformanceTracker.displayOperationTime(timeStart, "видалення елемента з Queue дати i часу",
+                "LongIndexedHeap", longQueue.size(), removed);
+
+        if (removed) {
+            System.out.println("Елемент '" + longValueToSearch + "' видалено з Queue (remove)");
+        } else {
+            System.out.println("Елемент '" + longValueToSearch + "' відсутній в Queue, видалення не виконано.");
+        }
     }
 }
\ No newline at end of file
@@ -19,7 +19,9 @@ import java.util.Set;
  */
 public class BasicDataOperationUsingSet {
     long longValueToSearch;
-    Long[] longArray;
+    long[] longArray;
+    private LongSearchIndex arrayIndex;
+    private SortedLongIndex.Layout searchLayout = SortedLongIndex.Layout.BINARY;
     Set<Long> longSet = new LinkedHashSet<Long>();
 
     /**
@@ -30,8 +32,26 @@ public class BasicDataOperationUsingSet {
      */
     BasicDataOperationUsingSet(long longValueToSearch, Long[] longArray) {
         this.longValueToSearch = longValueToSearch;
-        this.longArray = longArray;
+        this.longArray = LongArrayList.unbox(longArray);
+        this.arrayIndex = new LongSearchIndex(this.longArray);
+
+        long timeStart = PerformanceTracker.startOperation();
+
         this.longSet = new LinkedHashSet<Long>(Arrays.asList(longArray));
+
+        PerformanceTracker.finishOperation(timeStart);
+        PerformanceTracker.displayOperationTime(timeStart, "створення LinkedHashSet з масиву дати i часу",
+                "LinkedHashSet", longSet.size(), null);
+    }
+    
+    /**
+     * Задає розташування статичного індексу для пошуку у впорядкованому масиві.
+     * 
+     * @param searchLayout Розташування елементів індексу
+     */
+    void setSearchLayout(SortedLongIndex.Layout searchLayout) {
+        this.searchLayout = searchLayout;
+        this.arrayIndex.setSortedLayout(searchLayout);
     }
     
     /**
@@ -53,9 +73,6 @@ public class BasicDataOperationUsingSet {
 
         findInArray();
         locateMinMaxInArray();
-
-        // зберігаємо відсортований масив до файлу
-        DataFileHandler.writeArrayToFile(longArray, BasicDataOperation.PATH_TO_DATA_FILE + ".sorted");
     }
 
     /**
@@ -63,28 +80,48 @@ public class BasicDataOperationUsingSet {
      * Фіксує та виводить тривалість операції сортування в наносекундах.
      */
     private void performArraySorting() {
-        long timeStart = System.nanoTime();
+        long timeStart = PerformanceTracker.startOperation();
+
+        LongSorter.sort(longArray);
+        arrayIndex.dataChanged(true);
+
+        PerformanceTracker.finishOperation(timeStart);
+        PerformanceTracker.displayOperationTime(timeStart, "упорядкування масиву дати i часу",
+                "long[]", longArray.length, null);
 
-        Arrays.sort(longArray);
+        if (searchLayout != SortedLongIndex.Layout.BINARY) {
+            timeStart = PerformanceTracker.startOperation();
 
-        PerformanceTracker.displayOperationTime(timeStart, "упорядкування масиву дати i часу");
+            arrayIndex.buildSortedLayout();
+
+            PerformanceTracker.finishOperation(timeStart);
+            PerformanceTracker.displayOperationTime(timeStart, "побудова індексу " + searchLayout + " для масиву дати i часу",
+                    "long[]", longArray.length, null);
+        }
     }
 
     /**
      * Здійснює пошук конкретного значення в масиві дати та часу.
      */
     private void findInArray() {
-        long timeStart = System.nanoTime();
+        long timeStart = PerformanceTracker.startOperation();
 
-        int position = Arrays.binarySearch(this.longArray, longValueToSearch);
+        int position = arrayIndex.indexOf(longValueToSearch);
 
-        PerformanceTracker.displayOperationTime(timeStart, "пошук елемента в масивi дати i часу");
+        PerformanceTracker.finishOperation(timeStart);
+        PerformanceTracker.displayOperationTime(timeStart, "пошук елемента в масивi дати i часу",
+                "long[]", longArray.length, position);
 
         if (position >= 0) {
             System.out.println("Елемент '" + longValueToSearch + "' знайдено в масивi за позицією: " + position);
         } else {
             System.out.println("Елемент '" + longValueToSearch + "' відсутній в масиві.");
         }
+
+        String statistics = arrayIndex.getStatistics();
+        if (statistics != null) {
+            System.out.println("Статистика індексу " + searchLayout + ": " + statistics);
+        }
     }
 
     /**
@@ -96,21 +133,16 @@ public class BasicDataOperationUsingSet {
             return;
         }
 
-        long timeStart = System.nanoTime();
-
-        long minValue = longArray[0];
-        long maxValue = longArray[0];
+        long timeStart = PerformanceTracker.startOperation();
 
-        for (long currentlong : longArray) {
-            if (longValueToSearch  < minValue) {
-                minValue = currentlong;
-            }
-            if (longValueToSearch  > maxValue) {
-                maxValue = currentlong;
-            }
-        }
+        long[] bounds = new long[2];
+        LongScanKernels.minMax(longArray, 0, longArray.length, bounds);
+        long minValue = bounds[0];
+        long maxValue = bounds[1];
 
-        PerformanceTracker.displayOperationTime(timeStart, "визначення мiнiмальної i максимальної дати в масивi");
+        PerformanceTracker.finishOperation(timeStart);
+        PerformanceTracker.displayOperationTime(timeStart, "визначення мiнiмальної i максимальної дати в масивi",
+                "long[]", longArray.length, minValue);
 
         System.out.println("Найменше значення в масивi: " + minValue);
         System.out.println("Найбільше значення в масивi: " + maxValue);
@@ -120,11 +152,13 @@ public class BasicDataOperationUsingSet {
      * Здійснює пошук конкретного значення в множині дати та часу.
      */
     private void findInSet() {
-        long timeStart = System.nanoTime();
+        long timeStart = PerformanceTracker.startOperation();
 
         boolean elementExists = this.longSet.contains(longValueToSearch);
 
-        PerformanceTracker.displayOperationTime(timeStart, "пошук елемента в LinkedHashSet дати i часу");
+        PerformanceTracker.finishOperation(timeStart);
+        PerformanceTracker.displayOperationTime(timeStart, "пошук елемента в LinkedHashSet дати i часу",
+                "LinkedHashSet", longSet.size(), elementExists);
 
         if (elementExists) {
             System.out.println("Елемент '" + longValueToSearch + "' знайдено в LinkedHashSet");
@@ -142,12 +176,14 @@ public class BasicDataOperationUsingSet {
             return;
         }
 
-        long timeStart = System.nanoTime();
+        long timeStart = PerformanceTracker.startOperation();
 
         long minValue = Collections.min(longSet);
         long maxValue = Collections.max(longSet);
 
-        PerformanceTracker.displayOperationTime(timeStart, "визначення мiнiмальної i максимальної дати в LinkedHashSet");
+        PerformanceTracker.finishOperation(timeStart);
+        PerformanceTracker.displayOperationTime(timeStart, "визначення мiнiмальної i максимальної дати в LinkedHashSet",
+                "LinkedHashSet", longSet.size(), minValue);
 
         System.out.println("Найменше значення в LinkedHashSet: " + minValue);
         System.out.println("Найбільше значення в LinkedHashSet: " + maxValue);
@@ -160,6 +196,8 @@ public class BasicDataOperationUsingSet {
         System.out.println("Кiлькiсть елементiв в масивi: " + longArray.length);
         System.out.println("Кiлькiсть елементiв в LinkedHashSet: " + longSet.size());
 
+        long timeStart = PerformanceTracker.startOperation();
+
         boolean allElementsPresent = true;
         for (long longElement : longArray) {
             if (!longSet.contains(longElement)) {
@@ -168,6 +206,10 @@ public class BasicDataOperationUsingSet {
             }
         }
 
+        PerformanceTracker.finishOperation(timeStart);
+        PerformanceTracker.displayOperationTime(timeStart, "перевірка наявності елементів масиву в LinkedHashSet",
+                "LinkedHashSet", longSet.size(), allElementsPresent);
+
         if (allElementsPresent) {
             System.out.println("Всi елементи масиву наявні в LinkedHashSet.");
         } else {
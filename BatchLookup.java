@@ -0,0 +1,241 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.IntStream;
+
+/**
+ * Клас BatchLookup шукає пакет значень у впорядкованому масиві за один виклик.
+ *
+ * <p>Стратегія обирається за співвідношенням кількості запитів і розміру даних:</p>
+ * <ul>
+ *   <li>{@link Strategy#MERGE_JOIN} - запити впорядковуються разом з їхніми номерами,
+ *       після чого один прохід одночасно запитами та даними знаходить усі відповіді.
+ *       Вигідно, коли запитів багато: q * log2(n) перевищує n;</li>
+ *   <li>{@link Strategy#BINARY_SEARCH} - кожен запит шукається бінарним пошуком
+ *       незалежно, для великих пакетів паралельно. Вигідно для невеликих пакетів,
+ *       де прохід усіма даними коштував би більше за q пошуків.</li>
+ * </ul>
+ *
+ * <p>Результати для обох стратегій однакові та розташовані в порядку запитів.</p>
+ *
+ * <p>Пакет можна шукати і безпосередньо у стисненому файлі {@link SortedLongCodec}:
+ * кожен запит знаходить свій блок за індексом блоків і декодує лише його, тож файл
+ * не розпаковується повністю.</p>
+ *
+ * <p>Приклад використання з командного рядка:</p>
+ * <pre>
+ * {@code
+ * java BasicDataOperation --batch queries.txt --output=results.tsv
+ * java BasicDataOperation --batch queries.txt --source=delta
+ * cat queries.txt | java BasicDataOperation --batch -
+ * }
+ * </pre>
+ */
+public final class BatchLookup {
+    /** Мінімальна кількість запитів для паралельного бінарного пошуку. */
+    static final int PARALLEL_THRESHOLD = 1 << 12;
+
+    private static final int WRITE_BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Спосіб обробки пакету запитів.
+     */
+    public enum Strategy {
+        /** Впорядкування запитів і спільний прохід з даними. */
+        MERGE_JOIN,
+        /** Незалежний бінарний пошук кожного запиту. */
+        BINARY_SEARCH
+    }
+
+    /**
+     * Результати пакетного пошуку в порядку запитів.
+     */
+    public static final class Result {
+        private final long[] queries;
+        private final int[] positions;
+        private final int[] counts;
+        private final Strategy strategy;
+
+        Result(long[] queries, int[] positions, int[] counts, Strategy strategy) {
+            this.queries = queries;
+            this.positions = positions;
+            this.counts = counts;
+            this.strategy = strategy;
+        }
+
+        public int size() {
+            return queries.length;
+        }
+
+        public long getQuery(int index) {
+            return queries[index];
+        }
+
+        /**
+         * Повертає позицію першого входження значення запиту у впорядкованих даних або -1.
+         *
+         * @param index Номер запиту
+         */
+        public int getPosition(int index) {
+            return positions[index];
+        }
+
+        /**
+         * Повертає кількість входжень значення запиту в даних.
+         *
+         * @param index Номер запиту
+         */
+        public int getCount(int index) {
+            return counts[index];
+        }
+
+        /**
+         * Повертає кількість запитів, значення яких знайдено в даних.
+         */
+        public int getFoundCount() {
+            int found = 0;
+            for (int count : counts) {
+                if (count > 0) {
+                    found++;
+                }
+            }
+            return found;
+        }
+
+        public Strategy getStrategy() {
+            return strategy;
+        }
+
+        /**
+         * Записує результати в порядку запитів рядками
+         * {@code значення<TAB>позиція<TAB>кількість}, де позиція -1 означає відсутність значення.
+         *
+         * @param channel Канал для запису, який закриває власник
+         * @throws IOException якщо запис не вдався
+         */
+        public void writeTo(WritableByteChannel channel) throws IOException {
+            Writer writer = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+            for (int index = 0; index < queries.length; index++) {
+                writer.write(Long.toString(queries[index]));
+                writer.write('\t');
+                writer.write(Integer.toString(positions[index]));
+                writer.write('\t');
+                writer.write(Integer.toString(counts[index]));
+                writer.write('\n');
+            }
+            writer.flush();
+        }
+    }
+
+    private BatchLookup() {
+    }
+
+    /**
+     * Обирає стратегію за розміром даних і кількістю запитів.
+     *
+     * @param dataSize Кількість впорядкованих значень
+     * @param queryCount Кількість запитів
+     */
+    public static Strategy chooseStrategy(int dataSize, int queryCount) {
+        int levels = 32 - Integer.numberOfLeadingZeros(Math.max(1, dataSize));
+        return (long) queryCount * levels > dataSize ? Strategy.MERGE_JOIN : Strategy.BINARY_SEARCH;
+    }
+
+    /**
+     * Шукає всі запити у впорядкованому масиві, обираючи стратегію автоматично.
+     *
+     * @param sortedValues Масив, впорядкований за зростанням
+     * @param queries Значення для пошуку в довільному порядку
+     */
+    public static Result lookup(long[] sortedValues, long[] queries) {
+        return lookup(sortedValues, queries, chooseStrategy(sortedValues.length, queries.length));
+    }
+
+    /**
+     * Шукає всі запити у впорядкованому масиві заданою стратегією.
+     *
+     * @param sortedValues Масив, впорядкований за зростанням
+     * @param queries Значення для пошуку в довільному порядку
+     * @param strategy Спосіб обробки пакету
+     */
+    public static Result lookup(long[] sortedValues, long[] queries, Strategy strategy) {
+        int[] positions = new int[queries.length];
+        int[] counts = new int[queries.length];
+        if (strategy == Strategy.MERGE_JOIN) {
+            mergeJoin(sortedValues, queries, positions, counts);
+        } else {
+            binarySearch(sortedValues, queries, positions, counts);
+        }
+        return new Result(queries, positions, counts, strategy);
+    }
+
+    /**
+     * Шукає всі запити у стисненому файлі бінарним пошуком за індексом блоків.
+     * Кожен запит декодує не більше двох блоків, для великих пакетів запити
+     * обробляються паралельно.
+     *
+     * @param codec Відкритий стиснений файл впорядкованих значень
+     * @param queries Значення для пошуку в довільному порядку
+     */
+    public static Result lookup(SortedLongCodec codec, long[] queries) {
+        int[] positions = new int[queries.length];
+        int[] counts = new int[queries.length];
+        int dataSize = codec.size();
+        queryIndexes(queries.length).forEach(index -> {
+            long query = queries[index];
+            int first = codec.lowerBound(query);
+            int end = query == Long.MAX_VALUE ? dataSize : codec.lowerBound(query + 1);
+            positions[index] = end > first ? first : -1;
+            counts[index] = end - first;
+        });
+        return new Result(queries, positions, counts, Strategy.BINARY_SEARCH);
+    }
+
+    private static void mergeJoin(long[] sortedValues, long[] queries, int[] positions, int[] counts) {
+        long[] sortedQueries = queries.clone();
+        int[] queryOrder = new int[queries.length];
+        for (int index = 0; index < queryOrder.length; index++) {
+            queryOrder[index] = index;
+        }
+        LongSorter.sortWithIndices(sortedQueries, queryOrder);
+
+        int dataSize = sortedValues.length;
+        int position = 0;
+        int count = 0;
+        for (int index = 0; index < sortedQueries.length; index++) {
+            long query = sortedQueries[index];
+            // повторний запит того самого значення отримує вже знайдену відповідь
+            if (index == 0 || query != sortedQueries[index - 1]) {
+                while (position < dataSize && sortedValues[position] < query) {
+                    position++;
+                }
+                int end = position;
+                while (end < dataSize && sortedValues[end] == query) {
+                    end++;
+                }
+                count = end - position;
+            }
+            positions[queryOrder[index]] = count > 0 ? position : -1;
+            counts[queryOrder[index]] = count;
+        }
+    }
+
+    private static void binarySearch(long[] sortedValues, long[] queries, int[] positions, int[] counts) {
+        int dataSize = sortedValues.length;
+        queryIndexes(queries.length).forEach(index -> {
+            long query = queries[index];
+            int first = LongSearchIndex.lowerBound(sortedValues, dataSize, query);
+            int end = query == Long.MAX_VALUE ? dataSize : LongSearchIndex.lowerBound(sortedValues, dataSize, query + 1);
+            positions[index] = end > first ? first : -1;
+            counts[index] = end - first;
+        });
+    }
+
+    private static IntStream queryIndexes(int queryCount) {
+        IntStream indexes = IntStream.range(0, queryCount);
+        return queryCount >= PARALLEL_THRESHOLD ? indexes.parallel() : indexes;
+    }
+}
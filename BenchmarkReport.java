@@ -0,0 +1,581 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Клас BenchmarkReport зберігає результати вимірювань у машиночитному вигляді
+ * та порівнює їх з базовим звітом.
+ *
+ * <p>Формат файлу визначається розширенням: {@code .json} - об'єкт з метаданими запуску
+ * та масивом {@code operations}, будь-яке інше - CSV із заголовком. Обидва формати
+ * містять однакові поля для кожної операції: назву, тип структури, набір даних,
+ * кількість елементів, кількість вимірювань, тривалості (нс) та середній обсяг
+ * виділеної пам'яті.</p>
+ *
+ * <p>Порівняння зіставляє операції за назвою та типом структури і вважає регресією
+ * зростання обраної метрики більше ніж на заданий відсоток.</p>
+ */
+public class BenchmarkReport {
+    /** Поріг регресії за замовчуванням у відсотках. */
+    public static final double DEFAULT_THRESHOLD_PERCENT = 10.0;
+
+    /** Метрика порівняння за замовчуванням. */
+    public static final String DEFAULT_METRIC = "p50";
+
+    static final String[] COLUMNS = {"operation", "structure", "dataset", "size", "count",
+            "min", "mean", "p50", "p90", "p99", "p999", "max", "allocatedBytesMean"};
+
+    private final Map<String, String> metadata = new LinkedHashMap<>();
+    private final List<Entry> entries = new ArrayList<>();
+
+    /**
+     * Результати вимірювань однієї операції.
+     */
+    public static final class Entry {
+        final String operation;
+        final String structure;
+        final String dataset;
+        final long size;
+        final long count;
+        final Map<String, Double> metrics = new LinkedHashMap<>();
+
+        Entry(String operation, String structure, String dataset, long size, long count) {
+            this.operation = operation;
+            this.structure = structure == null ? "" : structure;
+            this.dataset = dataset == null ? "" : dataset;
+            this.size = size;
+            this.count = count;
+        }
+
+        /**
+         * Повертає значення метрики або NaN, якщо її немає у звіті.
+         *
+         * @param metric Назва метрики, наприклад p50 або mean
+         */
+        public double getMetric(String metric) {
+            Double value = metrics.get(metric);
+            return value == null ? Double.NaN : value;
+        }
+
+        String key() {
+            return operation + " [" + structure + "]";
+        }
+    }
+
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    public Map<String, String> getMetadata() {
+        return metadata;
+    }
+
+    /**
+     * Формує звіт з усіх операцій, записаних у реєстрі.
+     *
+     * @param registry Реєстр вимірювань
+     * @param dataset Назва або шлях набору даних
+     * @param datasetSize Кількість елементів набору, якщо операція її не повідомила
+     * @return Звіт з метаданими поточної JVM
+     */
+    public static BenchmarkReport fromRegistry(MetricsRegistry registry, String dataset, long datasetSize) {
+        BenchmarkReport report = new BenchmarkReport();
+        report.metadata.put("timestamp", Instant.now().toString());
+        report.metadata.put("javaVersion", System.getProperty("java.version"));
+        report.metadata.put("javaVm", System.getProperty("java.vm.name"));
+        report.metadata.put("osName", System.getProperty("os.name"));
+        report.metadata.put("osArch", System.getProperty("os.arch"));
+        report.metadata.put("availableProcessors", String.valueOf(Runtime.getRuntime().availableProcessors()));
+
+        for (String operationName : registry.getOperationNames()) {
+            LatencyHistogram histogram = registry.getHistogram(operationName);
+            MetricsRegistry.OperationDescription description = registry.getDescription(operationName);
+            MetricsRegistry.AllocationTotals allocation = registry.getAllocationTotals(operationName);
+
+            long size = description != null && description.getElementCount() >= 0
+                    ? description.getElementCount() : datasetSize;
+            Entry entry = new Entry(operationName, description == null ? null : description.getStructureType(),
+                    dataset, size, histogram.getTotalCount());
+            entry.metrics.put("min", (double) histogram.getMin());
+            entry.metrics.put("mean", histogram.getMean());
+            entry.metrics.put("p50", (double) histogram.getValueAtPercentile(50.0));
+            entry.metrics.put("p90", (double) histogram.getValueAtPercentile(90.0));
+            entry.metrics.put("p99", (double) histogram.getValueAtPercentile(99.0));
+            entry.metrics.put("p999", (double) histogram.getValueAtPercentile(99.9));
+            entry.metrics.put("max", (double) histogram.getMax());
+            entry.metrics.put("allocatedBytesMean", allocation == null ? Double.NaN : allocation.getMeanBytes());
+            report.entries.add(entry);
+        }
+        return report;
+    }
+
+    /**
+     * Записує звіт у файл: JSON, якщо шлях закінчується на .json, інакше CSV.
+     *
+     * @param filePath Шлях до файлу звіту
+     * @throws IOException якщо запис не вдався
+     */
+    public void write(String filePath) throws IOException {
+        Path path = Paths.get(filePath);
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            if (isJson(filePath)) {
+                writeJson(writer);
+            } else {
+                writeCsv(writer);
+            }
+        }
+    }
+
+    private void writeCsv(BufferedWriter writer) throws IOException {
+        writer.write(String.join(",", COLUMNS));
+        writer.newLine();
+        for (Entry entry : entries) {
+            StringBuilder line = new StringBuilder();
+            line.append(csvField(entry.operation)).append(',')
+                    .append(csvField(entry.structure)).append(',')
+                    .append(csvField(entry.dataset)).append(',')
+                    .append(entry.size).append(',')
+                    .append(entry.count);
+            for (int column = 5; column < COLUMNS.length; column++) {
+                line.append(',').append(formatNumber(entry.getMetric(COLUMNS[column])));
+            }
+            writer.write(line.toString());
+            writer.newLine();
+        }
+    }
+
+    private void writeJson(BufferedWriter writer) throws IOException {
+        writer.write("{");
+        writer.newLine();
+        for (Map.Entry<String, String> field : metadata.entrySet()) {
+            writer.write("  " + jsonString(field.getKey()) + ": " + jsonString(field.getValue()) + ",");
+            writer.newLine();
+        }
+        writer.write("  \"operations\": [");
+        writer.newLine();
+        for (int index = 0; index < entries.size(); index++) {
+            Entry entry = entries.get(index);
+            StringBuilder object = new StringBuilder("    {");
+            object.append("\"operation\": ").append(jsonString(entry.operation))
+                    .append(", \"structure\": ").append(jsonString(entry.structure))
+                    .append(", \"dataset\": ").append(jsonString(entry.dataset))
+                    .append(", \"size\": ").append(entry.size)
+                    .append(", \"count\": ").append(entry.count);
+            for (int column = 5; column < COLUMNS.length; column++) {
+                double value = entry.getMetric(COLUMNS[column]);
+                object.append(", ").append(jsonString(COLUMNS[column])).append(": ")
+                        .append(Double.isNaN(value) ? "null" : formatNumber(value));
+            }
+            object.append(index + 1 < entries.size() ? "}," : "}");
+            writer.write(object.toString());
+            writer.newLine();
+        }
+        writer.write("  ]");
+        writer.newLine();
+        writer.write("}");
+        writer.newLine();
+    }
+
+    /**
+     * Читає звіт, записаний методом {@link #write(String)}.
+     *
+     * @param filePath Шлях до файлу звіту
+     * @return Прочитаний звіт
+     * @throws IOException якщо файл не вдалося прочитати або його формат невірний
+     */
+    public static BenchmarkReport read(String filePath) throws IOException {
+        String content = Files.readString(Paths.get(filePath), StandardCharsets.UTF_8);
+        try {
+            return isJson(filePath) ? parseJson(content) : parseCsv(content);
+        } catch (RuntimeException e) {
+            throw new IOException("невірний формат звіту '" + filePath + "': " + e.getMessage(), e);
+        }
+    }
+
+    private static BenchmarkReport parseCsv(String content) {
+        BenchmarkReport report = new BenchmarkReport();
+        String[] lines = content.split("\r?\n");
+        if (lines.length == 0 || lines[0].isEmpty()) {
+            return report;
+        }
+
+        List<String> header = splitCsvLine(lines[0]);
+        for (int lineIndex = 1; lineIndex < lines.length; lineIndex++) {
+            if (lines[lineIndex].isEmpty()) {
+                continue;
+            }
+            List<String> fields = splitCsvLine(lines[lineIndex]);
+            Map<String, String> row = new LinkedHashMap<>();
+            for (int column = 0; column < header.size() && column < fields.size(); column++) {
+                row.put(header.get(column), fields.get(column));
+            }
+            report.entries.add(entryFromFields(row));
+        }
+        return report;
+    }
+
+    private static BenchmarkReport parseJson(String content) {
+        BenchmarkReport report = new BenchmarkReport();
+        Object root = new JsonParser(content).parseDocument();
+        if (!(root instanceof Map)) {
+            throw new IllegalArgumentException("очікувався об'єкт JSON");
+        }
+
+        for (Map.Entry<?, ?> field : ((Map<?, ?>) root).entrySet()) {
+            if ("operations".equals(field.getKey())) {
+                if (!(field.getValue() instanceof List)) {
+                    throw new IllegalArgumentException("поле operations має бути масивом");
+                }
+                for (Object item : (List<?>) field.getValue()) {
+                    if (!(item instanceof Map)) {
+                        throw new IllegalArgumentException("елемент operations має бути об'єктом");
+                    }
+                    Map<String, String> row = new LinkedHashMap<>();
+                    for (Map.Entry<?, ?> value : ((Map<?, ?>) item).entrySet()) {
+                        row.put(String.valueOf(value.getKey()), value.getValue() == null ? "" : String.valueOf(value.getValue()));
+                    }
+                    report.entries.add(entryFromFields(row));
+                }
+            } else if (field.getValue() != null) {
+                report.metadata.put(String.valueOf(field.getKey()), String.valueOf(field.getValue()));
+            }
+        }
+        return report;
+    }
+
+    private static Entry entryFromFields(Map<String, String> row) {
+        String operation = row.get("operation");
+        if (operation == null || operation.isEmpty()) {
+            throw new IllegalArgumentException("відсутня назва операції");
+        }
+        Entry entry = new Entry(operation, row.get("structure"), row.get("dataset"),
+                parseLong(row.get("size")), parseLong(row.get("count")));
+        for (int column = 5; column < COLUMNS.length; column++) {
+            String value = row.get(COLUMNS[column]);
+            entry.metrics.put(COLUMNS[column], value == null || value.isEmpty() ? Double.NaN : Double.parseDouble(value));
+        }
+        return entry;
+    }
+
+    /**
+     * Порівнює поточний звіт з базовим і виводить таблицю змін обраної метрики.
+     *
+     * @param baseline Базовий звіт
+     * @param current Поточний звіт
+     * @param metric Метрика порівняння: min, mean, p50, p90, p99, p999, max
+     * @param thresholdPercent Допустиме зростання метрики у відсотках
+     * @param output Потік для виведення результатів
+     * @return Кількість операцій з регресією
+     */
+    public static int compare(BenchmarkReport baseline, BenchmarkReport current, String metric,
+            double thresholdPercent, PrintStream output) {
+        Map<String, Entry> currentEntries = new LinkedHashMap<>();
+        for (Entry entry : current.entries) {
+            currentEntries.put(entry.key(), entry);
+        }
+
+        output.printf("%-70s %14s %14s %10s  %s%n", "операція", "база, " + metric, "зараз, " + metric, "зміна", "стан");
+        int regressions = 0;
+        for (Entry baselineEntry : baseline.entries) {
+            Entry currentEntry = currentEntries.remove(baselineEntry.key());
+            if (currentEntry == null) {
+                output.printf("%-70s %14s %14s %10s  %s%n", baselineEntry.key(),
+                        formatNumber(baselineEntry.getMetric(metric)), "-", "-", "відсутня");
+                continue;
+            }
+
+            double baselineValue = baselineEntry.getMetric(metric);
+            double currentValue = currentEntry.getMetric(metric);
+            if (Double.isNaN(baselineValue) || Double.isNaN(currentValue)) {
+                output.printf("%-70s %14s %14s %10s  %s%n", baselineEntry.key(),
+                        formatNumber(baselineValue), formatNumber(currentValue), "-", "немає даних");
+                continue;
+            }
+
+            double changePercent = baselineValue > 0 ? (currentValue - baselineValue) * 100.0 / baselineValue
+                    : (currentValue > 0 ? Double.POSITIVE_INFINITY : 0.0);
+            boolean regressed = changePercent > thresholdPercent;
+            if (regressed) {
+                regressions++;
+            }
+            output.printf(Locale.ROOT, "%-70s %14s %14s %+9.1f%%  %s%n", baselineEntry.key(),
+                    formatNumber(baselineValue), formatNumber(currentValue), changePercent,
+                    regressed ? "РЕГРЕСІЯ" : "ok");
+        }
+
+        for (Entry newEntry : currentEntries.values()) {
+            output.printf("%-70s %14s %14s %10s  %s%n", newEntry.key(), "-",
+                    formatNumber(newEntry.getMetric(metric)), "-", "нова");
+        }
+        return regressions;
+    }
+
+    static boolean isJson(String filePath) {
+        return filePath.toLowerCase(Locale.ROOT).endsWith(".json");
+    }
+
+    private static long parseLong(String value) {
+        return value == null || value.isEmpty() ? -1 : Long.parseLong(value);
+    }
+
+    private static String formatNumber(double value) {
+        if (Double.isNaN(value)) {
+            return "";
+        }
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            return Long.toString((long) value);
+        }
+        return String.format(Locale.ROOT, "%.1f", value);
+    }
+
+    private static String csvField(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static List<String> splitCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int index = 0; index < line.length(); index++) {
+            char current = line.charAt(index);
+            if (quoted) {
+                if (current == '"' && index + 1 < line.length() && line.charAt(index + 1) == '"') {
+                    field.append('"');
+                    index++;
+                } else if (current == '"') {
+                    quoted = false;
+                } else {
+                    field.append(current);
+                }
+            } else if (current == '"') {
+                quoted = true;
+            } else if (current == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(current);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static String jsonString(String value) {
+        StringBuilder escaped = new StringBuilder(value.length() + 2).append('"');
+        for (int index = 0; index < value.length(); index++) {
+            char current = value.charAt(index);
+            switch (current) {
+                case '"':
+                    escaped.append("\\\"");
+                    break;
+                case '\\':
+                    escaped.append("\\\\");
+                    break;
+                case '\n':
+                    escaped.append("\\n");
+                    break;
+                case '\r':
+                    escaped.append("\\r");
+                    break;
+                case '\t':
+                    escaped.append("\\t");
+                    break;
+                default:
+                    if (current < 0x20) {
+                        escaped.append(String.format("\\u%04x", (int) current));
+                    } else {
+                        escaped.append(current);
+                    }
+            }
+        }
+        return escaped.append('"').toString();
+    }
+
+    /**
+     * Мінімальний розбір JSON для читання власних звітів: об'єкти, масиви, рядки,
+     * числа, true, false та null.
+     */
+    private static final class JsonParser {
+        private final String text;
+        private int position;
+
+        JsonParser(String text) {
+            this.text = text;
+        }
+
+        Object parseDocument() {
+            Object value = parseValue();
+            skipWhitespace();
+            if (position != text.length()) {
+                throw error("зайві символи після кінця документа");
+            }
+            return value;
+        }
+
+        private Object parseValue() {
+            skipWhitespace();
+            if (position >= text.length()) {
+                throw error("неочікуваний кінець документа");
+            }
+            char current = text.charAt(position);
+            if (current == '{') {
+                return parseObject();
+            } else if (current == '[') {
+                return parseArray();
+            } else if (current == '"') {
+                return parseString();
+            } else if (text.startsWith("true", position)) {
+                position += 4;
+                return Boolean.TRUE;
+            } else if (text.startsWith("false", position)) {
+                position += 5;
+                return Boolean.FALSE;
+            } else if (text.startsWith("null", position)) {
+                position += 4;
+                return null;
+            }
+            return parseNumber();
+        }
+
+        private Map<String, Object> parseObject() {
+            Map<String, Object> object = new LinkedHashMap<>();
+            position++;
+            skipWhitespace();
+            if (peek() == '}') {
+                position++;
+                return object;
+            }
+            while (true) {
+                skipWhitespace();
+                if (peek() != '"') {
+                    throw error("очікувався ключ");
+                }
+                String key = parseString();
+                skipWhitespace();
+                expect(':');
+                object.put(key, parseValue());
+                skipWhitespace();
+                if (peek() == ',') {
+                    position++;
+                } else {
+                    expect('}');
+                    return object;
+                }
+            }
+        }
+
+        private List<Object> parseArray() {
+            List<Object> array = new ArrayList<>();
+            position++;
+            skipWhitespace();
+            if (peek() == ']') {
+                position++;
+                return array;
+            }
+            while (true) {
+                array.add(parseValue());
+                skipWhitespace();
+                if (peek() == ',') {
+                    position++;
+                } else {
+                    expect(']');
+                    return array;
+                }
+            }
+        }
+
+        private String parseString() {
+            StringBuilder value = new StringBuilder();
+            position++;
+            while (position < text.length()) {
+                char current = text.charAt(position++);
+                if (current == '"') {
+                    return value.toString();
+                }
+                if (current != '\\') {
+                    value.append(current);
+                    continue;
+                }
+                if (position >= text.length()) {
+                    break;
+                }
+                char escape = text.charAt(position++);
+                switch (escape) {
+                    case 'n':
+                        value.append('\n');
+                        break;
+                    case 'r':
+                        value.append('\r');
+                        break;
+                    case 't':
+                        value.append('\t');
+                        break;
+                    case 'b':
+                        value.append('\b');
+                        break;
+                    case 'f':
+                        value.append('\f');
+                        break;
+                    case 'u':
+                        if (position + 4 > text.length()) {
+                            throw error("неповна послідовність \\u");
+                        }
+                        value.append((char) Integer.parseInt(text.substring(position, position + 4), 16));
+                        position += 4;
+                        break;
+                    default:
+                        value.append(escape);
+                }
+            }
+            throw error("незавершений рядок");
+        }
+
+        private String parseNumber() {
+            int start = position;
+            while (position < text.length() && "+-0123456789.eE".indexOf(text.charAt(position)) >= 0) {
+                position++;
+            }
+            if (start == position) {
+                throw error("неочікуваний символ '" + text.charAt(position) + "'");
+            }
+            return text.substring(start, position);
+        }
+
+        private void skipWhitespace() {
+            while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+                position++;
+            }
+        }
+
+        private char peek() {
+            if (position >= text.length()) {
+                throw error("неочікуваний кінець документа");
+            }
+            return text.charAt(position);
+        }
+
+        private void expect(char expected) {
+            if (peek() != expected) {
+                throw error("очікувався символ '" + expected + "'");
+            }
+            position++;
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(message + " (позиція " + position + ")");
+        }
+    }
+}
@@ -0,0 +1,221 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * Клас BinaryLongFile зберігає та завантажує масиви long у компактному двійковому форматі.
+ *
+ * <p>Файл складається із заголовка довжиною {@value #HEADER_SIZE} байти та масиву
+ * значень long у порядку little-endian (8 байтів на значення). Заголовок містить:</p>
+ * <ul>
+ *   <li>сигнатуру {@code LDAT} (4 байти);</li>
+ *   <li>версію формату (2 байти);</li>
+ *   <li>прапорці, зокрема ознаку впорядкованості {@link #FLAG_SORTED} (2 байти);</li>
+ *   <li>кількість значень (8 байтів);</li>
+ *   <li>контрольну суму CRC32C байтів значень (8 байтів);</li>
+ *   <li>відбиток вихідного файлу, з якого отримано значення (48 байтів),
+ *       див. {@link SortedDataCache.Fingerprint}.</li>
+ * </ul>
+ *
+ * <p>Оскільки значення не потребують розбору, файл завантажується відображенням
+ * у пам'ять і масовим копіюванням замість розбору тексту.</p>
+ */
+public class BinaryLongFile {
+    /** Сигнатура формату: байти 'L', 'D', 'A', 'T'. */
+    static final int MAGIC = 0x5441444C;
+    static final short VERSION = 2;
+    static final short FLAG_SORTED = 1;
+    static final int HEADER_SIZE = 24 + SortedDataCache.Fingerprint.BYTES;
+
+    /** Розмір буфера запису в байтах. */
+    private static final int WRITE_BUFFER_SIZE = 1 << 16;
+
+    /** Максимальна кількість значень в одному відображеному фрагменті. */
+    private static final int MAX_MAPPED_VALUES = Integer.MAX_VALUE / Long.BYTES;
+
+    /**
+     * Заголовок двійкового файлу.
+     */
+    public static final class Header {
+        private final short flags;
+        private final long count;
+        private final long checksum;
+        private final SortedDataCache.Fingerprint sourceFingerprint;
+
+        Header(short flags, long count, long checksum, SortedDataCache.Fingerprint sourceFingerprint) {
+            this.flags = flags;
+            this.count = count;
+            this.checksum = checksum;
+            this.sourceFingerprint = sourceFingerprint;
+        }
+
+        public boolean isSorted() {
+            return (flags & FLAG_SORTED) != 0;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getChecksum() {
+            return checksum;
+        }
+
+        /**
+         * Повертає відбиток вихідного файлу, з якого отримано значення.
+         */
+        public SortedDataCache.Fingerprint getSourceFingerprint() {
+            return sourceFingerprint;
+        }
+    }
+
+    /**
+     * Послідовно записує заголовок і значення масиву до каналу.
+     * Контрольна сума обчислюється заздалегідь, тому канал не потребує довільного доступу.
+     *
+     * @param longArray Масив значень long
+     * @param sorted Чи впорядкований масив за зростанням
+     * @param sourceFingerprint Відбиток вихідного файлу або null, якщо він невідомий
+     * @param channel Канал для запису
+     * @throws IOException якщо запис не вдався
+     */
+    public static void writeArray(long[] longArray, boolean sorted, SortedDataCache.Fingerprint sourceFingerprint,
+            WritableByteChannel channel) throws IOException {
+        writeFully(channel, encodeHeader(sorted ? FLAG_SORTED : 0, longArray.length, computeChecksum(longArray),
+                sourceFingerprint));
+
+        ByteBuffer writeBuffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        LongBuffer longView = writeBuffer.asLongBuffer();
+        for (int offset = 0; offset < longArray.length; offset += longView.capacity()) {
+            fillBuffer(longArray, offset, writeBuffer, longView);
+            writeFully(channel, writeBuffer);
+        }
+    }
+
+    /**
+     * Обчислює контрольну суму, яку матиме файл з указаним масивом.
+     *
+     * @param longArray Масив значень long
+     * @return Контрольна сума CRC32C байтів значень
+     */
+    public static long computeChecksum(long[] longArray) {
+        ByteBuffer writeBuffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        LongBuffer longView = writeBuffer.asLongBuffer();
+
+        CRC32C checksum = new CRC32C();
+        for (int offset = 0; offset < longArray.length; offset += longView.capacity()) {
+            fillBuffer(longArray, offset, writeBuffer, longView);
+            checksum.update(writeBuffer);
+        }
+        return checksum.getValue();
+    }
+
+    /**
+     * Зчитує та перевіряє заголовок двійкового файлу.
+     *
+     * @param filePath Шлях до файлу
+     * @return Заголовок файлу
+     * @throws IOException якщо файл не вдалося прочитати або він має невірний формат
+     */
+    public static Header readHeader(String filePath) throws IOException {
+        try (FileChannel fileChannel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+            return readHeader(fileChannel);
+        }
+    }
+
+    /**
+     * Завантажує значення двійкового файлу в масив long з перевіркою контрольної суми.
+     *
+     * @param filePath Шлях до файлу
+     * @return Масив значень long
+     * @throws IOException якщо файл має невірний формат або пошкоджений
+     */
+    public static long[] loadArrayFromFile(String filePath) throws IOException {
+        try (FileChannel fileChannel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+            Header header = readHeader(fileChannel);
+            if (header.getCount() > Integer.MAX_VALUE - 8) {
+                throw new IOException("Файл " + filePath + " містить забагато значень для масиву");
+            }
+
+            long[] resultArray = new long[(int) header.getCount()];
+            CRC32C checksum = new CRC32C();
+            for (int offset = 0; offset < resultArray.length; offset += MAX_MAPPED_VALUES) {
+                int batchSize = Math.min(MAX_MAPPED_VALUES, resultArray.length - offset);
+                MappedByteBuffer mappedValues = mapValues(fileChannel, offset, batchSize);
+                mappedValues.asLongBuffer().get(resultArray, offset, batchSize);
+                checksum.update(mappedValues);
+            }
+
+            if (checksum.getValue() != header.getChecksum()) {
+                throw new IOException("Контрольна сума файлу " + filePath + " не збігається");
+            }
+            return resultArray;
+        }
+    }
+
+    private static Header readHeader(FileChannel fileChannel) throws IOException {
+        ByteBuffer headerBuffer = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        while (headerBuffer.hasRemaining()) {
+            if (fileChannel.read(headerBuffer, headerBuffer.position()) < 0) {
+                throw new IOException("Файл закінчився до кінця заголовка");
+            }
+        }
+        headerBuffer.flip();
+
+        int magic = headerBuffer.getInt();
+        short version = headerBuffer.getShort();
+        short flags = headerBuffer.getShort();
+        long count = headerBuffer.getLong();
+        long checksum = headerBuffer.getLong();
+        SortedDataCache.Fingerprint sourceFingerprint = SortedDataCache.Fingerprint.read(headerBuffer);
+
+        if (magic != MAGIC) {
+            throw new IOException("Файл не є двійковим файлом даних long");
+        }
+        if (version != VERSION) {
+            throw new IOException("Непідтримувана версія двійкового формату: " + version);
+        }
+        if (count < 0 || fileChannel.size() != HEADER_SIZE + count * Long.BYTES) {
+            throw new IOException("Розмір файлу не відповідає кількості значень у заголовку");
+        }
+        return new Header(flags, count, checksum, sourceFingerprint);
+    }
+
+    private static ByteBuffer encodeHeader(short flags, long count, long checksum,
+            SortedDataCache.Fingerprint sourceFingerprint) {
+        ByteBuffer headerBuffer = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        headerBuffer.putInt(MAGIC).putShort(VERSION).putShort(flags).putLong(count).putLong(checksum);
+        SortedDataCache.Fingerprint.write(sourceFingerprint, headerBuffer);
+        return headerBuffer.flip();
+    }
+
+    private static MappedByteBuffer mapValues(FileChannel fileChannel, long firstValue, int valueCount) throws IOException {
+        MappedByteBuffer mappedValues = fileChannel.map(FileChannel.MapMode.READ_ONLY,
+                HEADER_SIZE + firstValue * Long.BYTES, (long) valueCount * Long.BYTES);
+        mappedValues.order(ByteOrder.LITTLE_ENDIAN);
+        return mappedValues;
+    }
+
+    /**
+     * Копіює порцію масиву в буфер запису та готує буфер до читання.
+     */
+    private static void fillBuffer(long[] longArray, int offset, ByteBuffer writeBuffer, LongBuffer longView) {
+        int batchSize = Math.min(longView.capacity(), longArray.length - offset);
+        longView.clear();
+        longView.put(longArray, offset, batchSize);
+        writeBuffer.clear().limit(batchSize * Long.BYTES);
+    }
+
+    private static void writeFully(WritableByteChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
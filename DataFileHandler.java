@@ -1,58 +1,482 @@
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
-import java.io.FileReader;
-import java.io.FileWriter;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
 
 
 /**
  * Клас DataFileHandler управляє роботою з файлами даних long.
  */
 public class DataFileHandler {
+    /** Розмір буфера для читання файлу в байтах. */
+    static final int READ_BUFFER_SIZE = 1 << 16;
+
+    /** Максимальний розмір одного відображеного в пам'ять фрагмента файлу. */
+    private static final long MAPPED_REGION_SIZE = 1L << 30;
+
+    /** Мінімальний розмір частини файлу для паралельного розбору. */
+    private static final long MIN_PARALLEL_CHUNK_SIZE = 1L << 20;
+
+    /** Кількість частин на один потік пулу для вирівнювання навантаження. */
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    /**
+     * Режим завантаження файлу з даними.
+     */
+    public enum LoadMode {
+        /** Послідовне читання блоками байтів через потік. */
+        BUFFERED,
+        /** Сканування відображеного в пам'ять файлу без копіювання байтів. */
+        MAPPED,
+        /** Паралельний розбір частин відображеного файлу в пулі fork-join. */
+        PARALLEL
+    }
+
     /**
-     * Завантажує масив об'єктів long з файлу.
+     * Завантажує масив примітивних значень long з файлу.
+     * 
+     * <p>Файл читається блоками байтів, числа розбираються безпосередньо з буфера
+     * без створення рядків, а масив результату росте геометрично, тому розмір
+     * файлу обмежений лише доступною пам'яттю.</p>
      * 
      * @param filePath Шлях до файлу з даними.
-     * @return Масив об'єктів long.
-     */
-    public static Long[] loadArrayFromFile(String filePath) {
-        Long[] temporaryArray = new Long[1000];
-        int currentIndex = 0;
-
-        try (BufferedReader fileReader = new BufferedReader(new FileReader(filePath))) {
-            String currentLine;
-            while ((currentLine = fileReader.readLine()) != null) {
-                // Видаляємо можливі невидимі символи та BOM
-                currentLine = currentLine.trim().replaceAll("^\\uFEFF", "");
-                if (!currentLine.isEmpty()) {
-                    long parsedlong = Long.parseLong(currentLine);
-                    temporaryArray[currentIndex++] = parsedlong;
-                }
+     * @return Масив значень long.
+     */
+    public static long[] loadLongArrayFromFile(String filePath) {
+        return loadLongArrayFromFile(filePath, LoadMode.BUFFERED);
+    }
+
+    /**
+     * Завантажує масив примітивних значень long з файлу в обраному режимі.
+     * 
+     * @param filePath Шлях до файлу з даними.
+     * @param loadMode Режим читання файлу.
+     * @return Масив значень long.
+     */
+    public static long[] loadLongArrayFromFile(String filePath, LoadMode loadMode) {
+        if (loadMode == LoadMode.PARALLEL) {
+            try {
+                return parseFileInParallel(filePath);
+            } catch (IOException ioException) {
+                ioException.printStackTrace();
+                return new long[0];
+            }
+        }
+
+        LongTextParser parser = new LongTextParser();
+
+        try {
+            if (loadMode == LoadMode.MAPPED) {
+                parseMappedFile(filePath, parser);
+            } else {
+                parseBufferedFile(filePath, parser);
             }
         } catch (IOException ioException) {
             ioException.printStackTrace();
         }
 
-        Long[] resultArray = new Long[currentIndex];
-        System.arraycopy(temporaryArray, 0, resultArray, 0, currentIndex);
+        return parser.finish();
+    }
+
+    /**
+     * Відкриває файл як потік значень long без повного завантаження в пам'ять.
+     * 
+     * <p>Файл читається блоками фіксованого розміру, тому обсяг пам'яті не залежить
+     * від розміру файлу. Потік слід закривати (наприклад, у try-with-resources),
+     * щоб звільнити файл.</p>
+     * 
+     * @param filePath Шлях до файлу з даними.
+     * @return Потік значень long у порядку їх розташування у файлі.
+     * @throws IOException якщо файл не вдалося відкрити.
+     */
+    public static LongStream streamLongsFromFile(String filePath) throws IOException {
+        InputStream inputStream = new FileInputStream(filePath);
+        LongFileSpliterator spliterator = new LongFileSpliterator(inputStream, READ_BUFFER_SIZE);
 
-        return resultArray;
+        return StreamSupport.longStream(spliterator, false).onClose(() -> {
+            try {
+                inputStream.close();
+            } catch (IOException ioException) {
+                throw new UncheckedIOException(ioException);
+            }
+        });
     }
 
     /**
-     * Зберігає масив об'єктів long у файл.
+     * Читає всі значення long з потоку байтів у текстовому форматі файлів даних,
+     * наприклад зі стандартного введення.
      * 
-     * @param longArray Масив об'єктів long.
+     * @param inputStream Потік байтів, який закриває власник.
+     * @return Масив значень у порядку їх надходження.
+     * @throws IOException якщо читання не вдалося.
+     */
+    public static long[] readLongs(InputStream inputStream) throws IOException {
+        LongFileSpliterator spliterator = new LongFileSpliterator(inputStream, READ_BUFFER_SIZE);
+        try {
+            return StreamSupport.longStream(spliterator, false).toArray();
+        } catch (UncheckedIOException uncheckedIOException) {
+            throw uncheckedIOException.getCause();
+        }
+    }
+
+    /**
+     * Читає файл послідовними блоками в буфер у купі та передає їх розбірнику.
+     */
+    private static void parseBufferedFile(String filePath, LongTextParser parser) throws IOException {
+        ByteBuffer readBuffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+
+        try (InputStream inputStream = new FileInputStream(filePath)) {
+            int bytesRead;
+            while ((bytesRead = inputStream.read(readBuffer.array())) != -1) {
+                parser.parse(readBuffer, 0, bytesRead);
+            }
+        }
+    }
+
+    /**
+     * Відображає файл у пам'ять фрагментами та сканує їх байти на місці.
+     * Число на межі фрагментів коректно продовжується розбірником.
+     */
+    private static void parseMappedFile(String filePath, LongTextParser parser) throws IOException {
+        try (FileChannel fileChannel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+            long fileSize = fileChannel.size();
+            for (long regionStart = 0; regionStart < fileSize; regionStart += MAPPED_REGION_SIZE) {
+                long regionSize = Math.min(MAPPED_REGION_SIZE, fileSize - regionStart);
+                MappedByteBuffer mappedRegion = fileChannel.map(FileChannel.MapMode.READ_ONLY, regionStart, regionSize);
+                parser.parse(mappedRegion, 0, (int) regionSize);
+            }
+        }
+    }
+
+    /**
+     * Розбирає файл паралельно: ділить його на діапазони байтів, зсуває межі
+     * до початку наступного рядка, розбирає частини в пулі fork-join та
+     * об'єднує результати в початковому порядку.
+     */
+    private static long[] parseFileInParallel(String filePath) throws IOException {
+        try (FileChannel fileChannel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+            if (fileChannel.size() == 0) {
+                return new long[0];
+            }
+
+            long[] chunkBounds = splitAtLineStarts(fileChannel);
+            long[][] parsedChunks = new long[chunkBounds.length - 1][];
+
+            try {
+                ForkJoinPool.commonPool().invoke(
+                        new ChunkParseAction(fileChannel, chunkBounds, parsedChunks, 0, parsedChunks.length));
+            } catch (UncheckedIOException uncheckedException) {
+                throw uncheckedException.getCause();
+            } catch (NumberFormatException formatException) {
+                // пул fork-join перестворює виняток у потоці виклику, оригінал зберігається як причина
+                if (formatException.getCause() instanceof NumberFormatException) {
+                    throw (NumberFormatException) formatException.getCause();
+                }
+                throw formatException;
+            }
+
+            long totalCount = 0;
+            for (long[] chunk : parsedChunks) {
+                totalCount += chunk.length;
+            }
+            if (totalCount > Integer.MAX_VALUE - 8) {
+                throw new IllegalStateException("Кількість значень перевищує максимальний розмір масиву");
+            }
+
+            long[] resultArray = new long[(int) totalCount];
+            int resultIndex = 0;
+            for (long[] chunk : parsedChunks) {
+                System.arraycopy(chunk, 0, resultArray, resultIndex, chunk.length);
+                resultIndex += chunk.length;
+            }
+            return resultArray;
+        }
+    }
+
+    /**
+     * Визначає межі частин файлу так, щоб кожна частина починалася з нового рядка.
+     * 
+     * @return Відсортовані межі, де перша дорівнює 0, а остання - розміру файлу
+     */
+    private static long[] splitAtLineStarts(FileChannel fileChannel) throws IOException {
+        long fileSize = fileChannel.size();
+        int targetChunks = ForkJoinPool.getCommonPoolParallelism() * CHUNKS_PER_THREAD;
+        long chunkSize = Math.max(MIN_PARALLEL_CHUNK_SIZE, (fileSize + targetChunks - 1) / targetChunks);
+        chunkSize = Math.min(chunkSize, MAPPED_REGION_SIZE / 2);
+
+        long[] bounds = new long[(int) ((fileSize + chunkSize - 1) / chunkSize) + 1];
+        int boundCount = 1;
+        ByteBuffer probeBuffer = ByteBuffer.allocate(256);
+
+        long previousBound = 0;
+        while (previousBound < fileSize) {
+            long nextBound = findLineStart(fileChannel, previousBound + chunkSize, probeBuffer);
+            bounds[boundCount++] = nextBound;
+            previousBound = nextBound;
+        }
+
+        long[] result = new long[boundCount];
+        System.arraycopy(bounds, 0, result, 0, boundCount);
+        return result;
+    }
+
+    /**
+     * Повертає позицію першого рядка, що починається не раніше за вказану позицію.
+     */
+    private static long findLineStart(FileChannel fileChannel, long position, ByteBuffer probeBuffer) throws IOException {
+        long fileSize = fileChannel.size();
+        long scanPosition = position - 1;
+
+        while (scanPosition < fileSize) {
+            probeBuffer.clear();
+            int bytesRead = fileChannel.read(probeBuffer, scanPosition);
+            if (bytesRead <= 0) {
+                break;
+            }
+            for (int index = 0; index < bytesRead; index++) {
+                if (probeBuffer.get(index) == '\n') {
+                    return scanPosition + index + 1;
+                }
+            }
+            scanPosition += bytesRead;
+        }
+        return fileSize;
+    }
+
+    /**
+     * Задача fork-join, що розбирає діапазон частин файлу, поділяючи його навпіл.
+     */
+    private static final class ChunkParseAction extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final FileChannel fileChannel;
+        private final long[] chunkBounds;
+        private final long[][] parsedChunks;
+        private final int fromChunk;
+        private final int toChunk;
+
+        ChunkParseAction(FileChannel fileChannel, long[] chunkBounds, long[][] parsedChunks, int fromChunk, int toChunk) {
+            this.fileChannel = fileChannel;
+            this.chunkBounds = chunkBounds;
+            this.parsedChunks = parsedChunks;
+            this.fromChunk = fromChunk;
+            this.toChunk = toChunk;
+        }
+
+        @Override
+        protected void compute() {
+            if (toChunk == fromChunk) {
+                return;
+            }
+            if (toChunk - fromChunk > 1) {
+                int middleChunk = (fromChunk + toChunk) >>> 1;
+                invokeAll(new ChunkParseAction(fileChannel, chunkBounds, parsedChunks, fromChunk, middleChunk),
+                        new ChunkParseAction(fileChannel, chunkBounds, parsedChunks, middleChunk, toChunk));
+                return;
+            }
+
+            long chunkStart = chunkBounds[fromChunk];
+            long chunkSize = chunkBounds[fromChunk + 1] - chunkStart;
+            try {
+                MappedByteBuffer mappedChunk = fileChannel.map(FileChannel.MapMode.READ_ONLY, chunkStart, chunkSize);
+                LongTextParser parser = new LongTextParser(chunkStart);
+                parser.parse(mappedChunk, 0, (int) chunkSize);
+                parsedChunks[fromChunk] = parser.finish();
+            } catch (IOException ioException) {
+                throw new UncheckedIOException(ioException);
+            }
+        }
+    }
+
+    /**
+     * Функція, що записує вміст файлу до каналу.
+     */
+    @FunctionalInterface
+    public interface ContentWriter {
+        void writeTo(WritableByteChannel channel) throws IOException;
+    }
+
+    /**
+     * Зберігає масив значень long у текстовий файл атомарно та лише за зміни вмісту.
+     * 
+     * @param longArray Масив значень long.
      * @param filePath Шлях до файлу для збереження.
+     * @return true, якщо файл було записано; false, якщо вміст на диску вже збігається.
+     * @throws IOException якщо запис не вдався.
+     */
+    public static boolean writeLongArrayToFile(long[] longArray, String filePath) throws IOException {
+        return replaceFileIfChanged(filePath, channel -> {
+            LongTextWriter textWriter = new LongTextWriter(channel, READ_BUFFER_SIZE);
+            textWriter.writeAll(longArray);
+            textWriter.flush();
+        });
+    }
+
+    /**
+     * Атомарно замінює файл новим вмістом, якщо хеш SHA-256 вмісту відрізняється від наявного.
+     * 
+     * <p>Спочатку вміст формується лише для обчислення хешу та порівнюється з файлом на диску.
+     * Якщо вони збігаються, запис пропускається. Інакше файл замінюється через
+     * {@link #writeFileAtomically(String, ContentWriter)}.</p>
+     * 
+     * @param filePath Шлях до цільового файлу.
+     * @param contentWriter Функція, що записує вміст до каналу; може викликатися двічі.
+     * @return true, якщо файл було записано; false, якщо вміст не змінився.
+     * @throws IOException якщо запис не вдався.
      */
-    public static void writeArrayToFile(Long[] longArray, String filePath) {
-        try (BufferedWriter fileWriter = new BufferedWriter(new FileWriter(filePath))) {
-            for (Long longElement : longArray) {
-                fileWriter.write(longElement.toString());
-                fileWriter.newLine();
+    public static boolean replaceFileIfChanged(String filePath, ContentWriter contentWriter) throws IOException {
+        Path targetPath = Paths.get(filePath).toAbsolutePath();
+
+        DigestChannel newContentDigest = new DigestChannel();
+        contentWriter.writeTo(newContentDigest);
+
+        if (Files.isRegularFile(targetPath) && Files.size(targetPath) == newContentDigest.getByteCount()
+                && Arrays.equals(digestFile(targetPath), newContentDigest.digest())) {
+            return false;
+        }
+
+        writeFileAtomically(filePath, contentWriter);
+        return true;
+    }
+
+    /**
+     * Записує вміст у тимчасовий файл у каталозі цільового, скидає його на диск
+     * і перейменовує на місце цільового, тож читачі не бачать частково записаного файлу.
+     * Тимчасовий файл створюється з типовими правами доступу, як і звичайний новий файл.
+     * 
+     * @param filePath Шлях до цільового файлу.
+     * @param contentWriter Функція, що записує вміст до каналу.
+     * @throws IOException якщо запис не вдався.
+     */
+    public static void writeFileAtomically(String filePath, ContentWriter contentWriter) throws IOException {
+        Path targetPath = Paths.get(filePath).toAbsolutePath();
+        Path temporaryPath = createTemporaryFileNear(targetPath);
+        try {
+            try (FileChannel temporaryChannel = FileChannel.open(temporaryPath, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                contentWriter.writeTo(temporaryChannel);
+                temporaryChannel.force(true);
             }
-        } catch (IOException ioException) {
-            ioException.printStackTrace();
+
+            moveAtomically(temporaryPath, targetPath);
+        } finally {
+            Files.deleteIfExists(temporaryPath);
+        }
+    }
+
+    /**
+     * Створює порожній тимчасовий файл з унікальним ім'ям у каталозі цільового.
+     * На відміну від {@link Files#createTempFile}, що задає права 0600, файл отримує
+     * типові права доступу, тож після перейменування цільовий файл їх не втрачає.
+     * 
+     * @param targetPath Шлях до цільового файлу.
+     * @return Шлях до створеного тимчасового файлу.
+     * @throws IOException якщо файл не вдалося створити.
+     */
+    private static Path createTemporaryFileNear(Path targetPath) throws IOException {
+        while (true) {
+            Path temporaryPath = targetPath.resolveSibling(targetPath.getFileName() + "."
+                    + Long.toUnsignedString(ThreadLocalRandom.current().nextLong()) + ".tmp");
+            try {
+                return Files.createFile(temporaryPath);
+            } catch (FileAlreadyExistsException nameTakenException) {
+                // ім'я вже зайняте, пробуємо інше
+            }
+        }
+    }
+
+    /**
+     * Переміщує повністю записаний тимчасовий файл на місце цільового, замінюючи його.
+     * Якщо файлова система не підтримує атомарного перейменування, виконується звичайне.
+     * 
+     * @param temporaryPath Шлях до тимчасового файлу в каталозі цільового.
+     * @param targetPath Шлях до цільового файлу.
+     * @throws IOException якщо переміщення не вдалося.
+     */
+    static void moveAtomically(Path temporaryPath, Path targetPath) throws IOException {
+        try {
+            Files.move(temporaryPath, targetPath, StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException atomicMoveException) {
+            Files.move(temporaryPath, targetPath, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Обчислює хеш SHA-256 вмісту файлу.
+     */
+    private static byte[] digestFile(Path filePath) throws IOException {
+        MessageDigest messageDigest = newContentDigest();
+        ByteBuffer readBuffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+
+        try (FileChannel fileChannel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            while (fileChannel.read(readBuffer) != -1) {
+                readBuffer.flip();
+                messageDigest.update(readBuffer);
+                readBuffer.clear();
+            }
+        }
+        return messageDigest.digest();
+    }
+
+    private static MessageDigest newContentDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException algorithmException) {
+            // SHA-256 обов'язково підтримується кожною реалізацією Java
+            throw new IllegalStateException(algorithmException);
+        }
+    }
+
+    /**
+     * Канал, який не зберігає байти, а лише обчислює їх хеш і кількість.
+     */
+    private static final class DigestChannel implements WritableByteChannel {
+        private final MessageDigest messageDigest = newContentDigest();
+        private long byteCount;
+
+        @Override
+        public int write(ByteBuffer source) {
+            int length = source.remaining();
+            messageDigest.update(source);
+            byteCount += length;
+            return length;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+
+        long getByteCount() {
+            return byteCount;
+        }
+
+        byte[] digest() {
+            return messageDigest.digest();
         }
     }
 }
@@ -0,0 +1,553 @@
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Hashtable;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Клас DataOperationBenchmark вимірює операції структур даних, на яких працюють
+ * обробники List, Queue, Set та Map, власним харнесом без зовнішніх залежностей.
+ * Він запозичує окремі прийоми JMH (окремі JVM, прогрів, підготовка стану поза
+ * вимірюванням), але не є JMH, і його числа не еквівалентні результатам JMH.
+ *
+ * <p>Вимірюються самі операції ({@code LongArrayList.search}, {@code LongIndexedHeap.remove},
+ * {@code HashMap.containsKey} тощо), а не методи обробників: ті додатково читають
+ * лічильники {@link PerformanceTracker} і форматують рядки для консолі, що
+ * спотворювало б результат. Результат кожного виклику накопичується в полі, щоб
+ * JIT не відкинув операцію як зайву.</p>
+ *
+ * <p>Для кожного бенчмарку, розміру та розподілу даних:</p>
+ * <ul>
+ *   <li>кожен прогін виконується в окремій JVM (fork), щоб профіль JIT одного бенчмарку
+ *       не впливав на інші;</li>
+ *   <li>ітерації прогріву виконуються до вимірювальних і не потрапляють до результатів;</li>
+ *   <li>виклики виконуються пакетами, і час вимірюється для всього пакета; пропускна
+ *       здатність - це кількість викликів, поділена на сумарний час пакетів;</li>
+ *   <li>операції, що змінюють дані (сортування, видалення), отримують свіжий стан для
+ *       кожного виклику, підготовлений до початку пакета, решта - перед кожною ітерацією;
+ *       підготовка стану не вимірюється;</li>
+ *   <li>процентилі - це розподіл середньої тривалості виклику в пакетах, бо окремий
+ *       виклик коротший за точність таймера; виділена пам'ять і кількість збирань
+ *       сміття читаються між пакетами, поза вимірюваним часом.</li>
+ * </ul>
+ *
+ * <p>Приклад використання:</p>
+ * <pre>
+ * {@code
+ * java DataOperationBenchmark
+ * java DataOperationBenchmark --sizes=1000,1000000 --distributions=uniform,sorted --forks=3
+ * java DataOperationBenchmark --include=Set --warmup=5 --iterations=10 --time=500
+ * }
+ * </pre>
+ */
+public class DataOperationBenchmark {
+    private static final String REPORT_FORMAT = "%-40s %10s %-11s %10s %14s %12s %12s %12s %12s %14s %14s %6s%n";
+    private static final String ROW_FORMAT = "%-40s %10d %-11s %10d %14.1f %12d %12d %12d %12d %14.1f %14.1f %6d%n";
+    private static final String USAGE_MESSAGE = "Використання: java DataOperationBenchmark [параметри]\n" +
+"Параметри:\n" +
+"  --sizes=N[,N...]   розміри наборів даних (за замовчуванням 1000,100000)\n" +
+"  --distributions=D[,D...]   розподіли: uniform, sorted, reversed, duplicates\n" +
+"  --include=REGEX   запускати лише бенчмарки, назва яких містить збіг\n" +
+"  --forks=N   кількість окремих JVM на бенчмарк, 0 - у поточній JVM (за замовчуванням 1)\n" +
+"  --warmup=N   кількість ітерацій прогріву (за замовчуванням 3)\n" +
+"  --iterations=N   кількість вимірювальних ітерацій (за замовчуванням 5)\n" +
+"  --time=МС   тривалість однієї ітерації в мілісекундах (за замовчуванням 200)\n" +
+"  --seed=N   початкове значення генератора даних";
+
+    // пакет подвоюється, доки не триває довше за цю межу, щоб виклики nanoTime не впливали на результат
+    private static final long MIN_BATCH_NANOS = 1_000_000L;
+    // стани для операцій, що змінюють дані, готуються наперед для всього пакета
+    private static final int MAX_FRESH_STATE_BATCH = 16;
+    // підготовка свіжого стану не входить до вимірюваного часу, тому ітерацію обмежує і загальний час
+    private static final int MAX_WALL_TIME_FACTOR = 10;
+
+    private final List<Integer> sizes = new ArrayList<>(List.of(1_000, 100_000));
+    private final List<Distribution> distributions = new ArrayList<>(List.of(Distribution.values()));
+    private Pattern includePattern = Pattern.compile("");
+    private int forks = 1;
+    private int warmupIterations = 3;
+    private int measurementIterations = 5;
+    private long iterationNanos = 200_000_000L;
+    private long seed = 42;
+
+    // результати операцій; volatile-запис після кожного пакета не дає JIT відкинути виклики
+    private static volatile long blackhole;
+
+    /**
+     * Розподіл значень у наборі даних.
+     */
+    enum Distribution {
+        /** Рівномірно розподілені значення в усьому діапазоні long. */
+        UNIFORM,
+        /** Упорядковані за зростанням значення. */
+        SORTED,
+        /** Упорядковані за спаданням значення. */
+        REVERSED,
+        /** Значення з невеликої множини, тобто багато повторів. */
+        DUPLICATES;
+
+        long[] generate(int size, Random random) {
+            long[] values = new long[size];
+            if (this == DUPLICATES) {
+                long[] pool = new long[Math.max(1, (int) Math.sqrt(size))];
+                for (int index = 0; index < pool.length; index++) {
+                    pool[index] = random.nextLong();
+                }
+                for (int index = 0; index < size; index++) {
+                    values[index] = pool[random.nextInt(pool.length)];
+                }
+                return values;
+            }
+
+            for (int index = 0; index < size; index++) {
+                values[index] = random.nextLong();
+            }
+            if (this != UNIFORM) {
+                Arrays.sort(values);
+            }
+            if (this == REVERSED) {
+                for (int left = 0, right = size - 1; left < right; left++, right--) {
+                    long swap = values[left];
+                    values[left] = values[right];
+                    values[right] = swap;
+                }
+            }
+            return values;
+        }
+
+        String label() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    /**
+     * Набір даних одного прогону: масив long та вміст Map з тими ж розміром і розподілом.
+     */
+    static final class Dataset {
+        private static final String[] OWNERS = {"Андрій", "Дарина", "Петро", "Галина", "Олена", "Іван", "Марія"};
+
+        /** Ключ і власник, з якими працює обробник Map. */
+        static final BasicDataOperationUsingMap.Sheep KEY = new BasicDataOperationUsingMap.Sheep("Кудря", 22.3);
+        static final String OWNER = OWNERS[0];
+
+        final long[] values;
+        final long[] searchValues;
+        final Hashtable<BasicDataOperationUsingMap.Sheep, String> entries;
+
+        Dataset(int size, Distribution distribution, Random random) {
+            values = distribution.generate(size, random);
+
+            // половина пошукових значень присутня в даних, половина - випадкова
+            searchValues = new long[64];
+            for (int index = 0; index < searchValues.length; index++) {
+                searchValues[index] = (index & 1) == 0 && size > 0
+                        ? values[random.nextInt(size)]
+                        : random.nextLong();
+            }
+
+            // ключ і власник, з якими працює обробник Map, завжди присутні в даних
+            entries = new Hashtable<>();
+            entries.put(KEY, "Петро");
+            for (int index = 1; index < size; index++) {
+                String owner = distribution == Distribution.DUPLICATES
+                        ? OWNERS[random.nextInt(OWNERS.length)]
+                        : index % 16 == 0 ? OWNERS[0] : "Власник-" + index;
+                entries.put(new BasicDataOperationUsingMap.Sheep("Вівця-" + index,
+                        Math.round(random.nextDouble() * 400.0) / 10.0), owner);
+            }
+        }
+
+        LinkedHashSet<Long> newSet() {
+            LinkedHashSet<Long> set = new LinkedHashSet<>();
+            for (long value : values) {
+                set.add(value);
+            }
+            return set;
+        }
+
+        LongArrayList newSortedList(SortedLongIndex.Layout layout) {
+            LongArrayList list = new LongArrayList(values);
+            list.sort();
+            list.setSearchLayout(layout);
+            list.buildSearchLayout();
+            return list;
+        }
+    }
+
+    /**
+     * Операція над станом бенчмарку.
+     *
+     * @param <T> Тип стану
+     */
+    @FunctionalInterface
+    interface Operation<T> {
+        /**
+         * @param state Стан, підготовлений поза вимірюванням
+         * @param searchValue Пошукове значення поточної ітерації
+         * @return Результат операції, який накопичується, щоб JIT не відкинув виклик
+         */
+        long run(T state, long searchValue);
+    }
+
+    /**
+     * Опис бенчмарку: як підготувати стан і яку операцію над ним виконати.
+     *
+     * @param <T> Тип стану
+     */
+    static final class Benchmark<T> {
+        final String name;
+        final boolean freshStatePerInvocation;
+        final BiFunction<Dataset, Long, T> setup;
+        final Operation<T> operation;
+
+        Benchmark(String name, boolean freshStatePerInvocation,
+                BiFunction<Dataset, Long, T> setup, Operation<T> operation) {
+            this.name = name;
+            this.freshStatePerInvocation = freshStatePerInvocation;
+            this.setup = setup;
+            this.operation = operation;
+        }
+    }
+
+    /**
+     * Повертає всі бенчмарки. Кожен викликає операцію структури даних, на якій
+     * працює відповідний обробник, без вимірювань і виведення самого обробника.
+     */
+    static List<Benchmark<?>> benchmarks() {
+        List<Benchmark<?>> benchmarks = new ArrayList<>();
+
+        // List: сортування, пошук у невпорядкованому списку та в індексах впорядкованого
+        benchmarks.add(new Benchmark<LongArrayList>("LongArrayList.sort", true,
+                (dataset, value) -> new LongArrayList(dataset.values),
+                (list, value) -> {
+                    list.sort();
+                    return list.size();
+                }));
+        benchmarks.add(new Benchmark<LongArrayList>("LongArrayList.search", false,
+                (dataset, value) -> new LongArrayList(dataset.values),
+                LongArrayList::search));
+        for (SortedLongIndex.Layout layout : SortedLongIndex.Layout.values()) {
+            benchmarks.add(new Benchmark<LongArrayList>("LongArrayList.search." + layout, false,
+                    (dataset, value) -> dataset.newSortedList(layout),
+                    LongArrayList::search));
+        }
+        benchmarks.add(new Benchmark<long[]>("LongScanKernels.minMax", false,
+                (dataset, value) -> dataset.values,
+                (values, value) -> {
+                    long[] bounds = new long[2];
+                    LongScanKernels.minMax(values, 0, values.length, bounds);
+                    return bounds[0] ^ bounds[1];
+                }));
+
+        // Queue: пошук через хеш-індекс, граничні значення та видалення довільного значення
+        benchmarks.add(new Benchmark<LongIndexedHeap>("LongIndexedHeap.contains", false,
+                (dataset, value) -> new LongIndexedHeap(dataset.values),
+                (heap, value) -> heap.contains(value) ? 1 : 0));
+        benchmarks.add(new Benchmark<LongIndexedHeap>("LongIndexedHeap.peekMinMax", false,
+                (dataset, value) -> new LongIndexedHeap(dataset.values),
+                (heap, value) -> heap.isEmpty() ? 0 : heap.peekMin() ^ heap.peekMax()));
+        benchmarks.add(new Benchmark<LongIndexedHeap>("LongIndexedHeap.remove", true,
+                (dataset, value) -> new LongIndexedHeap(dataset.values),
+                (heap, value) -> heap.remove(value) ? 1 : 0));
+
+        // Set: пошук одного значення і перевірка всіх значень масиву, як в analyzeArrayAndSet
+        benchmarks.add(new Benchmark<LinkedHashSet<Long>>("LinkedHashSet.contains", false,
+                (dataset, value) -> dataset.newSet(),
+                (set, value) -> set.contains(value) ? 1 : 0));
+        benchmarks.add(new Benchmark<Map.Entry<LinkedHashSet<Long>, long[]>>("LinkedHashSet.containsEachValue", false,
+                (dataset, value) -> Map.entry(dataset.newSet(), dataset.values),
+                (state, value) -> {
+                    LinkedHashSet<Long> set = state.getKey();
+                    long found = 0;
+                    for (long element : state.getValue()) {
+                        if (set.contains(element)) {
+                            found++;
+                        }
+                    }
+                    return found;
+                }));
+
+        // Map: ті самі пошуки й видалення за ключем і за значенням, що в обробнику Map
+        addMapBenchmarks(benchmarks, "Hashtable", Hashtable::new);
+        addMapBenchmarks(benchmarks, "HashMap", HashMap::new);
+        return benchmarks;
+    }
+
+    private static void addMapBenchmarks(List<Benchmark<?>> benchmarks, String name,
+            Function<Map<BasicDataOperationUsingMap.Sheep, String>, Map<BasicDataOperationUsingMap.Sheep, String>> copy) {
+        benchmarks.add(new Benchmark<Map<BasicDataOperationUsingMap.Sheep, String>>(name + ".containsKey", false,
+                (dataset, value) -> copy.apply(dataset.entries),
+                (map, value) -> map.containsKey(Dataset.KEY) ? 1 : 0));
+        benchmarks.add(new Benchmark<Map<BasicDataOperationUsingMap.Sheep, String>>(name + ".containsValue", false,
+                (dataset, value) -> copy.apply(dataset.entries),
+                (map, value) -> map.containsValue(Dataset.OWNER) ? 1 : 0));
+        benchmarks.add(new Benchmark<Map<BasicDataOperationUsingMap.Sheep, String>>(name + ".removeKey", true,
+                (dataset, value) -> copy.apply(dataset.entries),
+                (map, value) -> map.remove(Dataset.KEY) != null ? 1 : 0));
+        benchmarks.add(new Benchmark<Map<BasicDataOperationUsingMap.Sheep, String>>(name + ".removeValue", true,
+                (dataset, value) -> copy.apply(dataset.entries),
+                (map, value) -> map.values().removeIf(Dataset.OWNER::equals) ? map.size() : 0));
+    }
+
+    public static void main(String[] args) {
+        DataOperationBenchmark runner = new DataOperationBenchmark();
+        try {
+            for (String option : args) {
+                runner.parseOption(option);
+            }
+        } catch (IllegalArgumentException e) {
+            System.out.println(USAGE_MESSAGE);
+            return;
+        }
+
+        if (runner.forks > 0) {
+            runner.runForked(args);
+        } else {
+            runner.runInProcess();
+        }
+    }
+
+    private void parseOption(String option) {
+        int separator = option.indexOf('=');
+        if (!option.startsWith("--") || separator < 0) {
+            throw new IllegalArgumentException(option);
+        }
+        String name = option.substring(2, separator);
+        String value = option.substring(separator + 1);
+
+        switch (name) {
+            case "sizes":
+                sizes.clear();
+                for (String size : value.split(",")) {
+                    sizes.add(parsePositive(size));
+                }
+                break;
+            case "distributions":
+                distributions.clear();
+                for (String distribution : value.split(",")) {
+                    distributions.add(Distribution.valueOf(distribution.trim().toUpperCase(Locale.ROOT)));
+                }
+                break;
+            case "include":
+                includePattern = Pattern.compile(value);
+                break;
+            case "forks":
+                forks = Integer.parseInt(value);
+                if (forks < 0) {
+                    throw new IllegalArgumentException(option);
+                }
+                break;
+            case "warmup":
+                warmupIterations = Integer.parseInt(value);
+                if (warmupIterations < 0) {
+                    throw new IllegalArgumentException(option);
+                }
+                break;
+            case "iterations":
+                measurementIterations = parsePositive(value);
+                break;
+            case "time":
+                iterationNanos = parsePositive(value) * 1_000_000L;
+                break;
+            case "seed":
+                seed = Long.parseLong(value);
+                break;
+            default:
+                throw new IllegalArgumentException(option);
+        }
+    }
+
+    private static int parsePositive(String value) {
+        int number = Integer.parseInt(value.trim());
+        if (number < 1) {
+            throw new IllegalArgumentException(value);
+        }
+        return number;
+    }
+
+    /**
+     * Запускає кожен бенчмарк в окремих JVM з тими самими параметрами запуску JVM.
+     */
+    private void runForked(String[] args) {
+        String javaExecutable = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        List<String> jvmArguments = ManagementFactory.getRuntimeMXBean().getInputArguments();
+
+        for (Benchmark<?> benchmark : benchmarks()) {
+            if (!includePattern.matcher(benchmark.name).find()) {
+                continue;
+            }
+            for (int fork = 1; fork <= forks; fork++) {
+                System.out.println("# Бенчмарк " + benchmark.name + ", прогін " + fork + " з " + forks);
+
+                List<String> command = new ArrayList<>();
+                command.add(javaExecutable);
+                command.addAll(jvmArguments);
+                command.add("-cp");
+                command.add(System.getProperty("java.class.path"));
+                command.add(DataOperationBenchmark.class.getName());
+                for (String option : args) {
+                    if (!option.startsWith("--forks=") && !option.startsWith("--include=")) {
+                        command.add(option);
+                    }
+                }
+                command.add("--forks=0");
+                command.add("--include=^" + Pattern.quote(benchmark.name) + "$");
+
+                try {
+                    int exitCode = new ProcessBuilder(command).inheritIO().start().waitFor();
+                    if (exitCode != 0) {
+                        System.out.println("❌ Прогін завершився з кодом " + exitCode);
+                    }
+                } catch (IOException e) {
+                    System.out.println("❌ Не вдалося запустити JVM для прогону: " + e.getMessage());
+                    return;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Запускає відібрані бенчмарки в поточній JVM і виводить таблицю результатів.
+     */
+    private void runInProcess() {
+        System.out.println("# Власний харнес вимірювань, не JMH: операцій/с = кількість викликів"
+                + " / сумарний час пакетів викликів");
+        System.out.printf(REPORT_FORMAT, "бенчмарк", "розмір", "розподіл", "к-сть", "операцій/с",
+                "p50, нс", "p90, нс", "p99, нс", "max, нс", "середнє, нс", "байт/оп", "GC");
+
+        for (int size : sizes) {
+            for (Distribution distribution : distributions) {
+                Dataset dataset = new Dataset(size, distribution, new Random(seed));
+                for (Benchmark<?> benchmark : benchmarks()) {
+                    if (includePattern.matcher(benchmark.name).find()) {
+                        Result result = measure(benchmark, dataset);
+                        LatencyHistogram histogram = result.latencies;
+                        double opsPerSecond = result.measuredNanos > 0
+                                ? result.invocations * 1e9 / result.measuredNanos : 0.0;
+                        double bytesPerOperation = result.invocations > 0
+                                ? (double) result.allocatedBytes / result.invocations : 0.0;
+                        System.out.printf(ROW_FORMAT, benchmark.name, size, distribution.label(),
+                                result.invocations, opsPerSecond,
+                                histogram.getValueAtPercentile(50.0), histogram.getValueAtPercentile(90.0),
+                                histogram.getValueAtPercentile(99.0), histogram.getMax(), histogram.getMean(),
+                                bytesPerOperation, result.gcCount);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Результати вимірювальних ітерацій одного бенчмарку.
+     */
+    private static final class Result {
+        final LatencyHistogram latencies = new LatencyHistogram();
+        long invocations;
+        long measuredNanos;
+        long allocatedBytes;
+        long gcCount;
+    }
+
+    /**
+     * Виконує ітерації прогріву та вимірювання одного бенчмарку.
+     *
+     * @return Кількість викликів, час пакетів, тривалості та виділення пам'яті
+     *         вимірювальних ітерацій
+     */
+    private <T> Result measure(Benchmark<T> benchmark, Dataset dataset) {
+        Result result = new Result();
+        int batchSize = 1;
+        for (int iteration = 0; iteration < warmupIterations + measurementIterations; iteration++) {
+            boolean measured = iteration >= warmupIterations;
+            long gcCountBefore = PerformanceTracker.totalGcCount();
+            batchSize = runIteration(benchmark, dataset, iteration, batchSize, measured ? result : null);
+            if (measured) {
+                result.gcCount += PerformanceTracker.totalGcCount() - gcCountBefore;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Виконує одну ітерацію пакетами викликів, доки сумарний час пакетів не досягне
+     * тривалості ітерації, але не довше за {@value #MAX_WALL_TIME_FACTOR} тривалостей
+     * ітерації загального часу. Розмір пакета подвоюється, поки пакет коротший за
+     * {@value #MIN_BATCH_NANOS} нс; для операцій зі свіжим станом він обмежений
+     * {@value #MAX_FRESH_STATE_BATCH}, бо всі стани пакета готуються до його початку.
+     * Наступна ітерація починає з досягнутого розміру, щоб короткі пакети на її початку
+     * не потрапляли до процентилів.
+     *
+     * @param batchSize Початковий розмір пакета
+     * @param result Результат, до якого додаються виклики і час пакетів, або null для прогріву
+     * @return Розмір пакета наприкінці ітерації
+     */
+    private <T> int runIteration(Benchmark<T> benchmark, Dataset dataset, int iteration,
+            int batchSize, Result result) {
+        long searchValue = dataset.searchValues[iteration % dataset.searchValues.length];
+        Supplier<T> stateFactory = () -> benchmark.setup.apply(dataset, searchValue);
+
+        T sharedState = benchmark.freshStatePerInvocation ? null : stateFactory.get();
+        List<T> freshStates = new ArrayList<>();
+        long elapsedNanos = 0;
+        long invocations = 0;
+        long sink = 0;
+        long deadline = System.nanoTime() + iterationNanos * MAX_WALL_TIME_FACTOR;
+        while (elapsedNanos < iterationNanos && System.nanoTime() - deadline < 0) {
+            long batchNanos;
+            long allocatedBefore;
+            if (benchmark.freshStatePerInvocation) {
+                freshStates.clear();
+                for (int index = 0; index < batchSize; index++) {
+                    freshStates.add(stateFactory.get());
+                }
+                allocatedBefore = PerformanceTracker.currentThreadAllocatedBytes();
+                long batchStart = System.nanoTime();
+                for (int index = 0; index < batchSize; index++) {
+                    sink += benchmark.operation.run(freshStates.get(index), searchValue);
+                }
+                batchNanos = System.nanoTime() - batchStart;
+            } else {
+                allocatedBefore = PerformanceTracker.currentThreadAllocatedBytes();
+                long batchStart = System.nanoTime();
+                for (int index = 0; index < batchSize; index++) {
+                    sink += benchmark.operation.run(sharedState, searchValue);
+                }
+                batchNanos = System.nanoTime() - batchStart;
+            }
+            long batchAllocated = PerformanceTracker.currentThreadAllocatedBytes() - allocatedBefore;
+            blackhole = sink;
+
+            if (result != null) {
+                result.latencies.record(batchNanos / batchSize);
+                result.allocatedBytes += Math.max(0, batchAllocated);
+            }
+
+            elapsedNanos += batchNanos;
+            invocations += batchSize;
+            int batchLimit = benchmark.freshStatePerInvocation ? MAX_FRESH_STATE_BATCH : Integer.MAX_VALUE / 2;
+            if (batchNanos < MIN_BATCH_NANOS && batchSize < batchLimit) {
+                batchSize <<= 1;
+            }
+        }
+
+        if (result != null) {
+            result.invocations += invocations;
+            result.measuredNanos += elapsedNanos;
+        }
+        return batchSize;
+    }
+}
@@ -0,0 +1,37 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Подія JDK Flight Recorder для однієї операції з даними, тривалість якої вимірює
+ * {@link PerformanceTracker}.
+ *
+ * <p>Подія починається в {@link PerformanceTracker#startOperation()} і фіксується разом
+ * із записом тривалості, тож у JMC її можна зіставити зі збиранням сміття, safepoint-паузами
+ * та очікуванням блокувань у той самий проміжок часу.</p>
+ */
+@Name("training.DataOperation")
+@Label("Data Operation")
+@Category({"Training Data", "Operations"})
+@Description("Операція з колекцією або масивом даних long")
+@StackTrace(false)
+public class DataOperationEvent extends Event {
+    @Label("Operation")
+    @Description("Назва операції")
+    String operation;
+
+    @Label("Structure")
+    @Description("Тип структури даних, наприклад ArrayList або Hashtable")
+    String structure;
+
+    @Label("Element Count")
+    @Description("Кількість елементів у структурі під час операції, -1 якщо невідомо")
+    long elementCount;
+
+    @Label("Result")
+    @Description("Результат операції: позиція, знайдене значення або кількість змінених записів")
+    String result;
+}
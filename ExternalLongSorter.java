@@ -0,0 +1,428 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+/**
+ * Клас ExternalLongSorter впорядковує файли даних long, більші за доступну пам'ять.
+ *
+ * <p>Сортування виконується зовнішнім злиттям:</p>
+ * <ul>
+ *   <li>вхідний файл читається потоком і ділиться на серії, що вміщуються в бюджет пам'яті;</li>
+ *   <li>кожна серія впорядковується в пам'яті та записується у тимчасовий двійковий файл;</li>
+ *   <li>серії зливаються k-шляхово за допомогою купи з примітивних масивів,
+ *       а результат записується у текстовий файл.</li>
+ * </ul>
+ *
+ * <p>Якщо серій більше, ніж {@link #MAX_MERGE_FAN_IN}, злиття виконується в кілька проходів.</p>
+ *
+ * <p>Під час поділу на серії бюджет ділять буфер серії, буфер читання вхідного файлу
+ * та буфер запису серії. Буфер серії виділяється один раз на весь залишок бюджету,
+ * тому пам'ять не перевищує бюджет і не копіюється під час читання.</p>
+ */
+public class ExternalLongSorter {
+    /** Бюджет пам'яті за замовчуванням у байтах. */
+    public static final long DEFAULT_MEMORY_BUDGET = 64L << 20;
+
+    /** Найменший бюджет пам'яті в байтах: буфери введення-виведення мають лишати місце для серії. */
+    static final long MIN_MEMORY_BUDGET = 1L << 17;
+
+    /** Максимальна кількість серій, що зливаються за один прохід. */
+    static final int MAX_MERGE_FAN_IN = 256;
+
+    // частка бюджету, яку отримує буфер запису серії
+    private static final int SPILL_BUFFER_SHARE = 16;
+    private static final int MIN_IO_BUFFER_SIZE = 1 << 13;
+    private static final int MAX_IO_BUFFER_SIZE = 1 << 23;
+
+    private final long memoryBudget;
+    private final Path temporaryDirectory;
+
+    /**
+     * Створює об'єкт сортування із заданим бюджетом пам'яті.
+     *
+     * @param memoryBudget Обсяг пам'яті в байтах, не менше {@value #MIN_MEMORY_BUDGET}
+     * @param temporaryDirectory Каталог для тимчасових файлів серій
+     */
+    public ExternalLongSorter(long memoryBudget, Path temporaryDirectory) {
+        if (memoryBudget < MIN_MEMORY_BUDGET) {
+            throw new IllegalArgumentException("Бюджет пам'яті менший за " + MIN_MEMORY_BUDGET + " байтів");
+        }
+        this.memoryBudget = memoryBudget;
+        this.temporaryDirectory = temporaryDirectory;
+    }
+
+    /**
+     * Впорядковує текстовий файл даних і записує результат у текстовий файл.
+     *
+     * @param inputPath Шлях до вхідного файлу
+     * @param outputPath Шлях до файлу з упорядкованими даними
+     * @return Кількість упорядкованих значень
+     * @throws IOException якщо читання або запис не вдалися
+     */
+    public long sortFile(String inputPath, String outputPath) throws IOException {
+        Path runDirectory = Files.createTempDirectory(temporaryDirectory, "long-sort");
+        Set<Path> temporaryFiles = new LinkedHashSet<>();
+
+        long totalCount;
+        try {
+            totalCount = sortThroughRuns(inputPath, outputPath, runDirectory, temporaryFiles);
+        } catch (Throwable failure) {
+            deleteTemporaryFiles(runDirectory, temporaryFiles, failure);
+            throw failure;
+        }
+        deleteTemporaryFiles(runDirectory, temporaryFiles, null);
+        return totalCount;
+    }
+
+    /**
+     * Ділить вхідний файл на серії та зливає їх. Кожен створений тимчасовий файл одразу
+     * додається до temporaryFiles і вилучається звідти лише після видалення, тож після
+     * помилки на будь-якому етапі всі залишки відомі викликачу.
+     */
+    private long sortThroughRuns(String inputPath, String outputPath, Path runDirectory, Set<Path> temporaryFiles)
+            throws IOException {
+        List<Path> runFiles = new ArrayList<>();
+
+        long[] runBuffer = new long[runLength()];
+        ByteBuffer spillBuffer = ByteBuffer.allocateDirect(spillBufferSize());
+        long totalCount = 0;
+
+        try (LongStream longStream = DataFileHandler.streamLongsFromFile(inputPath)) {
+            PrimitiveIterator.OfLong iterator = longStream.iterator();
+            int runSize = 0;
+            while (iterator.hasNext()) {
+                runBuffer[runSize++] = iterator.nextLong();
+                if (runSize == runBuffer.length) {
+                    runFiles.add(spillRun(runDirectory, temporaryFiles, runBuffer, runSize, spillBuffer));
+                    totalCount += runSize;
+                    runSize = 0;
+                }
+            }
+
+            if (runFiles.isEmpty()) {
+                // усі дані вмістилися в одну серію - злиття не потрібне
+                Arrays.sort(runBuffer, 0, runSize);
+                writeText(outputPath, runBuffer, runSize);
+                return runSize;
+            }
+            if (runSize > 0) {
+                runFiles.add(spillRun(runDirectory, temporaryFiles, runBuffer, runSize, spillBuffer));
+                totalCount += runSize;
+            }
+        }
+
+        // буфери серії більше не потрібні, пам'ять віддається буферам злиття
+        runBuffer = null;
+        spillBuffer = null;
+
+        while (runFiles.size() > MAX_MERGE_FAN_IN) {
+            List<Path> mergedRuns = new ArrayList<>();
+            for (int from = 0; from < runFiles.size(); from += MAX_MERGE_FAN_IN) {
+                List<Path> group = runFiles.subList(from, Math.min(from + MAX_MERGE_FAN_IN, runFiles.size()));
+                Path mergedRun = createRunFile(runDirectory, temporaryFiles);
+                try (FileChannel outputChannel = openForWriting(mergedRun)) {
+                    mergeRuns(group, new BinaryRunSink(outputChannel,
+                            ByteBuffer.allocateDirect(ioBufferSize(group.size()))));
+                }
+                for (Path runFile : group) {
+                    Files.delete(runFile);
+                    temporaryFiles.remove(runFile);
+                }
+                mergedRuns.add(mergedRun);
+            }
+            runFiles = mergedRuns;
+        }
+
+        List<Path> finalRuns = runFiles;
+        DataFileHandler.writeFileAtomically(outputPath, outputChannel ->
+                mergeRuns(finalRuns, new TextSink(outputChannel, ioBufferSize(finalRuns.size()))));
+        return totalCount;
+    }
+
+    /**
+     * Видаляє тимчасові файли та каталог серій. Якщо сортування завершилося помилкою,
+     * помилки видалення додаються до неї як придушені, щоб не приховати першопричину;
+     * інакше кидається перша з них.
+     *
+     * @param failure Помилка сортування або null
+     */
+    private static void deleteTemporaryFiles(Path runDirectory, Set<Path> temporaryFiles, Throwable failure)
+            throws IOException {
+        IOException cleanupFailure = null;
+        List<Path> paths = new ArrayList<>(temporaryFiles);
+        paths.add(runDirectory);
+        for (Path path : paths) {
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException ioException) {
+                if (failure != null) {
+                    failure.addSuppressed(ioException);
+                } else if (cleanupFailure == null) {
+                    cleanupFailure = ioException;
+                } else {
+                    cleanupFailure.addSuppressed(ioException);
+                }
+            }
+        }
+        temporaryFiles.clear();
+        if (cleanupFailure != null) {
+            throw cleanupFailure;
+        }
+    }
+
+    private static Path createRunFile(Path runDirectory, Set<Path> temporaryFiles) throws IOException {
+        Path runFile = Files.createTempFile(runDirectory, "run", ".bin");
+        temporaryFiles.add(runFile);
+        return runFile;
+    }
+
+    /**
+     * Повертає кількість значень в одній серії: бюджет пам'яті без буферів читання
+     * вхідного файлу та запису серії.
+     */
+    private int runLength() {
+        long runBytes = memoryBudget - DataFileHandler.READ_BUFFER_SIZE - spillBufferSize();
+        return (int) Math.min(runBytes / Long.BYTES, Integer.MAX_VALUE - 8);
+    }
+
+    /**
+     * Розмір буфера запису серії та тексту однієї серії - {@value #SPILL_BUFFER_SHARE}-та частина бюджету.
+     */
+    private int spillBufferSize() {
+        long bufferSize = Math.max(MIN_IO_BUFFER_SIZE, Math.min(memoryBudget / SPILL_BUFFER_SHARE, MAX_IO_BUFFER_SIZE));
+        return (int) (bufferSize & ~(Long.BYTES - 1));
+    }
+
+    /**
+     * Розмір буфера введення-виведення, щоб усі буфери злиття вмістилися в бюджет.
+     */
+    private int ioBufferSize(int runCount) {
+        long bufferSize = memoryBudget / (runCount + 1);
+        bufferSize = Math.max(MIN_IO_BUFFER_SIZE, Math.min(bufferSize, MAX_IO_BUFFER_SIZE));
+        return (int) (bufferSize & ~(Long.BYTES - 1));
+    }
+
+    /**
+     * Впорядковує серію в пам'яті та записує її значення у тимчасовий файл.
+     *
+     * @param spillBuffer Буфер запису, спільний для всіх серій
+     */
+    private Path spillRun(Path runDirectory, Set<Path> temporaryFiles, long[] runBuffer, int runSize,
+            ByteBuffer spillBuffer) throws IOException {
+        Arrays.sort(runBuffer, 0, runSize);
+
+        Path runFile = createRunFile(runDirectory, temporaryFiles);
+        try (FileChannel runChannel = openForWriting(runFile)) {
+            BinaryRunSink sink = new BinaryRunSink(runChannel, spillBuffer.clear());
+            for (int index = 0; index < runSize; index++) {
+                sink.accept(runBuffer[index]);
+            }
+            sink.flush();
+        }
+        return runFile;
+    }
+
+    private void writeText(String outputPath, long[] values, int count) throws IOException {
+        DataFileHandler.writeFileAtomically(outputPath, outputChannel -> {
+            TextSink sink = new TextSink(outputChannel, spillBufferSize());
+            for (int index = 0; index < count; index++) {
+                sink.accept(values[index]);
+            }
+            sink.flush();
+        });
+    }
+
+    /**
+     * Зливає впорядковані серії, використовуючи бінарну купу номерів серій,
+     * упорядковану за поточними значеннями серій.
+     */
+    private void mergeRuns(List<Path> runFiles, RunSink sink) throws IOException {
+        int bufferSize = ioBufferSize(runFiles.size());
+        RunReader[] readers = new RunReader[runFiles.size()];
+        int[] heap = new int[runFiles.size()];
+        long[] heads = new long[runFiles.size()];
+        int heapSize = 0;
+
+        try {
+            for (int run = 0; run < readers.length; run++) {
+                readers[run] = new RunReader(runFiles.get(run), bufferSize);
+                if (readers[run].hasNext()) {
+                    heads[run] = readers[run].next();
+                    heap[heapSize] = run;
+                    siftUp(heap, heads, heapSize++);
+                }
+            }
+
+            while (heapSize > 0) {
+                int run = heap[0];
+                sink.accept(heads[run]);
+
+                if (readers[run].hasNext()) {
+                    heads[run] = readers[run].next();
+                } else {
+                    heap[0] = heap[--heapSize];
+                }
+                siftDown(heap, heads, heapSize);
+            }
+            sink.flush();
+        } finally {
+            for (RunReader reader : readers) {
+                if (reader != null) {
+                    reader.close();
+                }
+            }
+        }
+    }
+
+    private static void siftUp(int[] heap, long[] heads, int index) {
+        int run = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (heads[heap[parent]] <= heads[run]) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = run;
+    }
+
+    private static void siftDown(int[] heap, long[] heads, int heapSize) {
+        if (heapSize == 0) {
+            return;
+        }
+        int run = heap[0];
+        int index = 0;
+        int half = heapSize >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            if (child + 1 < heapSize && heads[heap[child + 1]] < heads[heap[child]]) {
+                child++;
+            }
+            if (heads[run] <= heads[heap[child]]) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = run;
+    }
+
+    private static FileChannel openForWriting(Path path) throws IOException {
+        return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    /**
+     * Приймач значень, що виходять зі злиття.
+     */
+    private interface RunSink {
+        void accept(long value) throws IOException;
+
+        void flush() throws IOException;
+    }
+
+    /**
+     * Записує значення у двійковий файл серії: 8 байтів little-endian на значення.
+     */
+    private static final class BinaryRunSink implements RunSink {
+        private final FileChannel channel;
+        private final ByteBuffer writeBuffer;
+        private final LongBuffer longView;
+
+        BinaryRunSink(FileChannel channel, ByteBuffer writeBuffer) {
+            this.channel = channel;
+            this.writeBuffer = writeBuffer.order(ByteOrder.LITTLE_ENDIAN);
+            this.longView = writeBuffer.asLongBuffer();
+        }
+
+        @Override
+        public void accept(long value) throws IOException {
+            if (!longView.hasRemaining()) {
+                flush();
+            }
+            longView.put(value);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writeBuffer.clear().limit(longView.position() * Long.BYTES);
+            while (writeBuffer.hasRemaining()) {
+                channel.write(writeBuffer);
+            }
+            longView.clear();
+        }
+    }
+
+    /**
+     * Записує значення у текстовий файл даних.
+     */
+    private static final class TextSink implements RunSink {
+        private final LongTextWriter writer;
+
+        TextSink(WritableByteChannel channel, int bufferSize) {
+            this.writer = new LongTextWriter(channel, bufferSize);
+        }
+
+        @Override
+        public void accept(long value) throws IOException {
+            writer.write(value);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+    }
+
+    /**
+     * Читає значення двійкового файлу серії через буфер обмеженого розміру.
+     */
+    private static final class RunReader {
+        private final FileChannel channel;
+        private final ByteBuffer readBuffer;
+        private final LongBuffer longView;
+
+        RunReader(Path runFile, int bufferSize) throws IOException {
+            this.channel = FileChannel.open(runFile, StandardOpenOption.READ);
+            this.readBuffer = ByteBuffer.allocateDirect(bufferSize).order(ByteOrder.LITTLE_ENDIAN);
+            this.longView = readBuffer.asLongBuffer();
+            longView.limit(0);
+        }
+
+        boolean hasNext() throws IOException {
+            if (longView.hasRemaining()) {
+                return true;
+            }
+
+            readBuffer.clear();
+            while (readBuffer.hasRemaining() && channel.read(readBuffer) > 0) {
+                // читаємо, доки буфер не заповниться або файл не закінчиться
+            }
+            longView.clear().limit(readBuffer.position() / Long.BYTES);
+            return longView.hasRemaining();
+        }
+
+        long next() {
+            return longView.get();
+        }
+
+        void close() throws IOException {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/**
+ * Клас EytzingerIndex зберігає впорядковані значення в розташуванні Eytzinger - у порядку
+ * обходу неявного двійкового дерева пошуку в ширину.
+ *
+ * <p>Корінь лежить у позиції 1, нащадки вузла k - у позиціях 2k і 2k + 1. Перші рівні
+ * дерева, які відвідує кожен пошук, займають кілька сусідніх рядків кешу, а 16
+ * нащадків вузла k на чотири рівні нижче лежать поруч у позиціях 16k..16k + 15.
+ * Тому на кожній ітерації пошук завчасно читає цей блок: поки процесор чекає на
+ * наступний рівень, дані для подальших рівнів уже завантажуються. У Java немає
+ * інструкції prefetch, і її роль виконує звичайне читання, результат якого не
+ * потрібен для вибору гілки.</p>
+ *
+ * <p>Спуск деревом не містить умовних переходів, залежних від даних: номер наступного
+ * вузла обчислюється як 2k + (значення &lt; ключ). Після виходу за межі дерева
+ * зсув на кількість кінцевих одиниць повертає вузол, де спуск востаннє пішов ліворуч, -
+ * перше значення, не менше за ключ.</p>
+ */
+public final class EytzingerIndex implements SortedLongIndex {
+    private static final int PREFETCH_SHIFT = 4;
+    private static final int MAX_SIZE = 1 << 30;
+
+    private final long[] layout;
+    private final int[] positions;
+    private final int size;
+    private final int prefetchLimit;
+    private long prefetchSink;
+
+    /**
+     * Будує індекс із перших size елементів впорядкованого масиву.
+     *
+     * @param sortedValues Масив, впорядкований за зростанням
+     * @param size Кількість елементів
+     */
+    public EytzingerIndex(long[] sortedValues, int size) {
+        if (size > MAX_SIZE) {
+            // номер нащадка 2k + 1 має вміщатися в int
+            throw new IllegalArgumentException("Індекс Eytzinger підтримує до " + MAX_SIZE + " елементів");
+        }
+        this.size = size;
+        this.prefetchLimit = size >>> PREFETCH_SHIFT;
+        this.layout = new long[size + 1];
+        this.positions = new int[size + 1];
+        fill(sortedValues, 0, 1);
+    }
+
+    /**
+     * Заповнює вузли дерева обходом у симетричному порядку, який відповідає порядку
+     * впорядкованого масиву. Стек замість рекурсії обмежує глибину до log2(size).
+     */
+    private void fill(long[] sortedValues, int sortedPosition, int root) {
+        int[] stack = new int[Integer.SIZE * 2];
+        int depth = 0;
+        int node = root;
+        while (node <= size || depth > 0) {
+            while (node <= size) {
+                stack[depth++] = node;
+                node <<= 1;
+            }
+            node = stack[--depth];
+            layout[node] = sortedValues[sortedPosition];
+            positions[node] = sortedPosition++;
+            node = (node << 1) + 1;
+        }
+    }
+
+    @Override
+    public int indexOf(long key) {
+        long[] layout = this.layout;
+        int size = this.size;
+        int prefetchLimit = this.prefetchLimit;
+        int node = 1;
+        long prefetched = 0;
+        while (node <= size) {
+            prefetched += layout[node <= prefetchLimit ? node << PREFETCH_SHIFT : 0];
+            node = (node << 1) + (layout[node] < key ? 1 : 0);
+        }
+        prefetchSink = prefetched;
+
+        node >>>= Integer.numberOfTrailingZeros(~node) + 1;
+        return node != 0 && layout[node] == key ? positions[node] : -1;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Layout layout() {
+        return Layout.EYTZINGER;
+    }
+}
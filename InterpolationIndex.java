@@ -0,0 +1,119 @@
+/**
+ * Клас InterpolationIndex шукає у впорядкованому масиві інтерполяцією: позиція наступної
+ * перевірки оцінюється за тим, яку частку діапазону значень відрізає шуканий ключ.
+ *
+ * <p>Кожен крок інтерполяції перевіряє оцінену позицію та позицію на відстані sqrt(span)
+ * з іншого боку від неї, тож проміжок звужується з обох країв. Для рівномірно
+ * розподілених значень ключ знаходиться приблизно за 2 * log2(log2(n)) перевірок.
+ * Щоб нерівномірні дані не призводили до лінійної кількості перевірок, крок
+ * інтерполяції, який не скоротив проміжок щонайменше вдвічі, змінюється кроком
+ * бінарного пошуку. Тому гірший випадок не перевищує 3 * log2(n) перевірок.</p>
+ *
+ * <p>Відстані між значеннями обчислюються як беззнакові, тож інтерполяція працює на всьому
+ * діапазоні long. Індекс не копіює масив, тому його не слід змінювати, поки індекс
+ * використовується. Статистика перевірок накопичується без синхронізації і при
+ * паралельних запитах є наближеною.</p>
+ */
+public final class InterpolationIndex implements SortedLongIndex {
+    /** Проміжок, коротший за цей, дошукується бінарним пошуком: оцінка вже не скорочує перевірок. */
+    private static final int MIN_INTERPOLATION_SPAN = 16;
+
+    private final long[] values;
+    private final int size;
+    private long queryCount;
+    private long probeCount;
+    private long bisectionCount;
+
+    /**
+     * Створює індекс над першими size елементами впорядкованого масиву.
+     *
+     * @param sortedValues Масив, впорядкований за зростанням
+     * @param size Кількість елементів
+     */
+    public InterpolationIndex(long[] sortedValues, int size) {
+        this.values = sortedValues;
+        this.size = size;
+    }
+
+    @Override
+    public int indexOf(long key) {
+        queryCount++;
+        if (size == 0 || key > values[size - 1]) {
+            return -1;
+        }
+        if (key <= values[0]) {
+            return values[0] == key ? 0 : -1;
+        }
+
+        // інваріант: values[low] < key <= values[high], перше входження лежить у (low, high]
+        int low = 0;
+        int high = size - 1;
+        int probes = 0;
+        int bisections = 0;
+        boolean interpolate = true;
+        while (high - low > 1) {
+            int span = high - low;
+            int middle;
+            if (interpolate && span >= MIN_INTERPOLATION_SPAN) {
+                double fraction = unsignedDistance(key, values[low]) / unsignedDistance(values[high], values[low]);
+                middle = low + (int) (fraction * span);
+                middle = Math.max(low + 1, Math.min(high - 1, middle));
+                // для рівномірних даних похибка оцінки має порядок sqrt(span), тому друга
+                // перевірка на такій відстані зазвичай обмежує ключ з іншого боку
+                int guard = Math.max(1, (int) Math.sqrt(span));
+                probes += 2;
+                if (values[middle] < key) {
+                    low = middle;
+                    int bound = middle + guard;
+                    if (bound < high && values[bound] >= key) {
+                        high = bound;
+                    }
+                } else {
+                    high = middle;
+                    int bound = middle - guard;
+                    if (bound > low && values[bound] < key) {
+                        low = bound;
+                    }
+                }
+            } else {
+                middle = (low + high) >>> 1;
+                bisections++;
+                probes++;
+                if (values[middle] < key) {
+                    low = middle;
+                } else {
+                    high = middle;
+                }
+            }
+            interpolate = high - low <= span >>> 1;
+        }
+        probeCount += probes;
+        bisectionCount += bisections;
+        return values[high] == key ? high : -1;
+    }
+
+    /**
+     * Повертає відстань від low до high (high не менше за low) як беззнакове число.
+     */
+    static double unsignedDistance(long high, long low) {
+        long distance = high - low;
+        return distance >= 0 ? distance : (double) (distance >>> 1) * 2.0 + (distance & 1);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Layout layout() {
+        return Layout.INTERPOLATION;
+    }
+
+    @Override
+    public String getStatistics() {
+        double averageProbes = queryCount == 0 ? 0 : (double) probeCount / queryCount;
+        return String.format("запитів %d, перевірок у середньому %.2f (log2(n) = %d), кроків бінарного пошуку %d",
+                queryCount, averageProbes, 32 - Integer.numberOfLeadingZeros(Math.max(1, size)), bisectionCount);
+    }
+}
@@ -0,0 +1,120 @@
+import java.util.Arrays;
+
+/**
+ * Клас LatencyHistogram накопичує розподіл тривалостей операцій у логарифмічних кошиках.
+ *
+ * <p>Як і в HDR-гістограмах, кожен степінь двійки ділиться на {@value #SUB_BUCKET_HALF}
+ * лінійних підкошиків, тому відносна похибка значення не перевищує 1/{@value #SUB_BUCKET_HALF}
+ * в усьому діапазоні long. Масив лічильників створюється один раз, а запис значення
+ * не виділяє пам'яті.</p>
+ *
+ * <p>Клас не синхронізований: запис очікується з одного потоку вимірювань.</p>
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 7;
+    static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    static final int SUB_BUCKET_HALF = SUB_BUCKET_COUNT >> 1;
+    private static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKET_HALF + SUB_BUCKET_COUNT;
+
+    private final long[] counts = new long[BUCKET_COUNT];
+    private long totalCount;
+    private long totalSum;
+    private long minValue = Long.MAX_VALUE;
+    private long maxValue;
+
+    /**
+     * Записує одне значення. Від'ємні значення враховуються як 0.
+     *
+     * @param value Значення, наприклад тривалість у наносекундах
+     */
+    public void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        counts[bucketIndex(value)]++;
+        totalCount++;
+        totalSum += value;
+        if (value < minValue) {
+            minValue = value;
+        }
+        if (value > maxValue) {
+            maxValue = value;
+        }
+    }
+
+    /**
+     * Повертає значення, не менше за яке є вказаний відсоток записів.
+     *
+     * @param percentile Процентиль від 0 до 100
+     * @return Верхня межа кошика, що містить процентиль, або 0 для порожньої гістограми
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (totalCount == 0) {
+            return 0;
+        }
+
+        long targetCount = (long) Math.ceil(Math.min(100.0, Math.max(0.0, percentile)) / 100.0 * totalCount);
+        targetCount = Math.max(1, targetCount);
+
+        long runningCount = 0;
+        for (int index = 0; index < counts.length; index++) {
+            runningCount += counts[index];
+            if (runningCount >= targetCount) {
+                return Math.min(highestEquivalentValue(index), maxValue);
+            }
+        }
+        return maxValue;
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    public long getMin() {
+        return totalCount == 0 ? 0 : minValue;
+    }
+
+    public long getMax() {
+        return maxValue;
+    }
+
+    public double getMean() {
+        return totalCount == 0 ? 0.0 : (double) totalSum / totalCount;
+    }
+
+    /**
+     * Очищає всі накопичені значення.
+     */
+    public void reset() {
+        Arrays.fill(counts, 0);
+        totalCount = 0;
+        totalSum = 0;
+        minValue = Long.MAX_VALUE;
+        maxValue = 0;
+    }
+
+    /**
+     * Обчислює номер кошика: малі значення мають власні кошики, більші -
+     * групуються за старшим бітом і {@value #SUB_BUCKET_BITS} - 1 наступними бітами.
+     */
+    static int bucketIndex(long value) {
+        int highestBit = 63 - Long.numberOfLeadingZeros(value);
+        if (highestBit < SUB_BUCKET_BITS) {
+            return (int) value;
+        }
+        int shift = highestBit - SUB_BUCKET_BITS + 1;
+        return shift * SUB_BUCKET_HALF + (int) (value >>> shift);
+    }
+
+    /**
+     * Повертає найбільше значення, що потрапляє до кошика.
+     */
+    static long highestEquivalentValue(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = index / SUB_BUCKET_HALF - 1;
+        long subBucket = index - (long) shift * SUB_BUCKET_HALF;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
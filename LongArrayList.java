@@ -0,0 +1,381 @@
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.stream.LongStream;
+
+/**
+ * Клас LongArrayList - список значень long, що зберігає елементи в примітивному масиві.
+ *
+ * <p>На відміну від {@code ArrayList<Long>}, елементи не упаковуються в об'єкти:
+ * кожен займає 8 байт і розташований поруч із сусідніми, тому пошук, сортування
+ * та визначення граничних значень проходять масивом послідовно, без переходів
+ * за посиланнями та розпакування. Масив росте геометрично, як і в ArrayList.
+ * Лінійні проходи виконує {@link LongScanKernels}.</p>
+ *
+ * <p>Список відстежує, чи впорядковані його елементи, тож {@link #search(long)}
+ * обирає бінарний пошук або лінійний прохід через {@link LongSearchIndex}.</p>
+ *
+ * <p>Клас не синхронізований.</p>
+ */
+public class LongArrayList {
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    private long[] values;
+    private int size;
+    private boolean sorted = true;
+    private int modCount;
+    private LongSearchIndex searchIndex;
+    private int searchIndexModCount;
+    private SortedLongIndex.Layout searchLayout = SortedLongIndex.Layout.BINARY;
+
+    /**
+     * Створює порожній список з початковою місткістю за замовчуванням.
+     */
+    public LongArrayList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Створює порожній список із заданою початковою місткістю.
+     *
+     * @param initialCapacity Початкова місткість
+     */
+    public LongArrayList(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Від'ємна місткість: " + initialCapacity);
+        }
+        this.values = new long[initialCapacity];
+    }
+
+    /**
+     * Створює список з копією значень масиву.
+     *
+     * @param source Масив значень
+     */
+    public LongArrayList(long[] source) {
+        this.values = source.clone();
+        this.size = source.length;
+        this.sorted = LongSorter.isSorted(values, 0, size);
+    }
+
+    /**
+     * Розпаковує масив об'єктів Long у примітивний масив.
+     *
+     * @param source Масив значень, що не містить null
+     * @return Новий масив long тієї ж довжини
+     */
+    public static long[] unbox(Long[] source) {
+        long[] values = new long[source.length];
+        for (int index = 0; index < source.length; index++) {
+            values[index] = source[index];
+        }
+        return values;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Повертає елемент за індексом.
+     *
+     * @param index Індекс від 0 до size() - 1
+     */
+    public long get(int index) {
+        checkIndex(index);
+        return values[index];
+    }
+
+    /**
+     * Замінює елемент за індексом.
+     *
+     * @param index Індекс від 0 до size() - 1
+     * @param value Нове значення
+     * @return Попереднє значення
+     */
+    public long set(int index, long value) {
+        checkIndex(index);
+        long previous = values[index];
+        values[index] = value;
+        if (sorted && ((index > 0 && values[index - 1] > value) || (index < size - 1 && value > values[index + 1]))) {
+            sorted = false;
+        }
+        modCount++;
+        return previous;
+    }
+
+    /**
+     * Додає значення в кінець списку.
+     *
+     * @param value Значення
+     */
+    public void add(long value) {
+        if (size == values.length) {
+            grow(size + 1);
+        }
+        if (sorted && size > 0 && values[size - 1] > value) {
+            sorted = false;
+        }
+        values[size++] = value;
+        modCount++;
+    }
+
+    /**
+     * Додає в кінець списку всі значення масиву одним копіюванням.
+     *
+     * @param source Масив значень
+     */
+    public void addAll(long[] source) {
+        addAll(source, 0, source.length);
+    }
+
+    /**
+     * Додає в кінець списку значення частини масиву одним копіюванням.
+     *
+     * @param source Масив значень
+     * @param from Початковий індекс (включно)
+     * @param to Кінцевий індекс (виключно)
+     */
+    public void addAll(long[] source, int from, int to) {
+        if (from < 0 || to > source.length || from > to) {
+            throw new IndexOutOfBoundsException("Діапазон [" + from + ", " + to + ") поза масивом довжини " + source.length);
+        }
+        int count = to - from;
+        if (count == 0) {
+            return;
+        }
+        if ((long) size + count > values.length) {
+            grow((long) size + count);
+        }
+        if (sorted && ((size > 0 && values[size - 1] > source[from]) || !LongSorter.isSorted(source, from, to))) {
+            sorted = false;
+        }
+        System.arraycopy(source, from, values, size, count);
+        size += count;
+        modCount++;
+    }
+
+    /**
+     * Видаляє елемент за індексом, зсуваючи наступні елементи.
+     *
+     * @param index Індекс від 0 до size() - 1
+     * @return Видалене значення
+     */
+    public long removeAt(int index) {
+        checkIndex(index);
+        long removed = values[index];
+        System.arraycopy(values, index + 1, values, index, size - index - 1);
+        size--;
+        modCount++;
+        return removed;
+    }
+
+    /**
+     * Видаляє всі елементи, зберігаючи виділений масив.
+     */
+    public void clear() {
+        size = 0;
+        sorted = true;
+        modCount++;
+    }
+
+    /**
+     * Упорядковує елементи за зростанням на місці за допомогою {@link LongSorter}.
+     */
+    public void sort() {
+        if (!sorted) {
+            LongSorter.sort(values, 0, size);
+            sorted = true;
+            modCount++;
+        }
+    }
+
+    /**
+     * Повертає true, якщо елементи впорядковані за зростанням.
+     */
+    public boolean isSorted() {
+        return sorted;
+    }
+
+    /**
+     * Шукає значення, враховуючи впорядкованість списку: бінарний пошук для
+     * впорядкованого списку, лінійний прохід для невпорядкованого з побудовою
+     * індексу у фоні після {@value LongSearchIndex#DEFAULT_BUILD_THRESHOLD} запитів.
+     *
+     * @param key Шукане значення
+     * @return Індекс першого входження значення або -1
+     */
+    public int search(long key) {
+        return syncSearchIndex().indexOf(key);
+    }
+
+    /**
+     * Задає розташування статичного індексу, яким {@link #search(long)} шукає
+     * у впорядкованому списку після {@link #buildSearchLayout()}.
+     *
+     * @param layout Розташування елементів
+     */
+    public void setSearchLayout(SortedLongIndex.Layout layout) {
+        this.searchLayout = layout;
+        if (searchIndex != null) {
+            searchIndex.setSortedLayout(layout);
+        }
+    }
+
+    /**
+     * Будує статичний індекс для впорядкованого списку. Індекс скидається
+     * після будь-якої зміни списку.
+     *
+     * @return true, якщо індекс побудовано цим викликом
+     */
+    public boolean buildSearchLayout() {
+        return syncSearchIndex().buildSortedLayout();
+    }
+
+    /**
+     * Повертає статистику статичного індексу пошуку або null, якщо її немає.
+     */
+    public String getSearchStatistics() {
+        return searchIndex == null ? null : searchIndex.getStatistics();
+    }
+
+    /**
+     * Повертає стратегію, якою {@link #search(long)} обробив останній запит, або null.
+     */
+    public LongSearchIndex.Strategy getLastSearchStrategy() {
+        return searchIndex == null ? null : searchIndex.getLastStrategy();
+    }
+
+    /**
+     * Виконує бінарний пошук у впорядкованому списку. Для невпорядкованого
+     * списку результат не визначений; у такому разі слід викликати {@link #search(long)}.
+     *
+     * @param key Шукане значення
+     * @return Індекс значення або {@code -(точка вставки) - 1}, як у {@link Arrays#binarySearch(long[], long)}
+     */
+    public int binarySearch(long key) {
+        return Arrays.binarySearch(values, 0, size, key);
+    }
+
+    /**
+     * Повертає індекс першого входження значення або -1.
+     *
+     * @param key Шукане значення
+     */
+    public int indexOf(long key) {
+        return LongScanKernels.indexOf(values, 0, size, key);
+    }
+
+    /**
+     * Підраховує кількість входжень значення.
+     *
+     * @param key Шукане значення
+     */
+    public int count(long key) {
+        return LongScanKernels.count(values, 0, size, key);
+    }
+
+    public boolean contains(long key) {
+        return indexOf(key) >= 0;
+    }
+
+    /**
+     * Повертає найменше значення списку.
+     *
+     * @throws NoSuchElementException якщо список порожній
+     */
+    public long min() {
+        if (size == 0) {
+            throw new NoSuchElementException("Список порожній");
+        }
+        return LongScanKernels.min(values, 0, size);
+    }
+
+    /**
+     * Повертає найбільше значення списку.
+     *
+     * @throws NoSuchElementException якщо список порожній
+     */
+    public long max() {
+        if (size == 0) {
+            throw new NoSuchElementException("Список порожній");
+        }
+        return LongScanKernels.max(values, 0, size);
+    }
+
+    /**
+     * Повертає копію елементів точного розміру.
+     */
+    public long[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    /**
+     * Повертає послідовний потік елементів без копіювання.
+     */
+    public LongStream stream() {
+        return Arrays.stream(values, 0, size);
+    }
+
+    /**
+     * Гарантує місткість щонайменше для заданої кількості елементів.
+     *
+     * @param minCapacity Потрібна місткість
+     */
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > values.length) {
+            grow(minCapacity);
+        }
+    }
+
+    /**
+     * Зменшує виділений масив до кількості елементів.
+     */
+    public void trimToSize() {
+        if (size < values.length) {
+            values = Arrays.copyOf(values, size);
+        }
+    }
+
+    private LongSearchIndex syncSearchIndex() {
+        if (searchIndex == null) {
+            searchIndex = new LongSearchIndex(values, size, sorted, LongSearchIndex.DEFAULT_BUILD_THRESHOLD);
+            searchIndex.setSortedLayout(searchLayout);
+            searchIndexModCount = modCount;
+        } else if (searchIndexModCount != modCount) {
+            searchIndex.dataChanged(values, size, sorted);
+            searchIndexModCount = modCount;
+        }
+        return searchIndex;
+    }
+
+    private void grow(long minCapacity) {
+        if (minCapacity > MAX_CAPACITY) {
+            throw new IllegalStateException("Кількість значень перевищує максимальний розмір масиву");
+        }
+        long newCapacity = Math.max(minCapacity, Math.max(DEFAULT_CAPACITY, (long) values.length << 1));
+        values = Arrays.copyOf(values, (int) Math.min(newCapacity, MAX_CAPACITY));
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Індекс " + index + " поза списком розміру " + size);
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder("[");
+        for (int index = 0; index < size; index++) {
+            if (index > 0) {
+                text.append(", ");
+            }
+            text.append(values[index]);
+        }
+        return text.append(']').toString();
+    }
+}
@@ -0,0 +1,280 @@
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Клас LongDaryHeap - черга з пріоритетом (найменше значення першим) на основі
+ * d-арної купи в примітивному масиві long.
+ *
+ * <p>На відміну від {@code PriorityQueue<Long>}, значення не упаковуються, а порівняння
+ * виконуються без компаратора. У 4-арній купі висота вдвічі менша за двійкову, а
+ * всі нащадки вузла k лежать поруч у позиціях 4k + 1 ... 4k + 4 (32 байти, пів рядка
+ * кешу), тож просіювання вниз робить удвічі менше переходів між рядками кешу ціною
+ * трьох порівнянь на рівень замість одного.</p>
+ *
+ * <p>Купа з масиву будується за O(n) просіюванням вниз від останнього внутрішнього
+ * вузла. Клас не синхронізований.</p>
+ */
+public class LongDaryHeap {
+    /** Кількість нащадків вузла за замовчуванням. */
+    public static final int DEFAULT_ARITY = 4;
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    private final int arity;
+    private long[] heap;
+    private int size;
+
+    /**
+     * Створює порожню 4-арну купу.
+     */
+    public LongDaryHeap() {
+        this(DEFAULT_ARITY, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Створює порожню купу із заданою кількістю нащадків вузла та початковою місткістю.
+     *
+     * @param arity Кількість нащадків вузла, не менше 2
+     * @param initialCapacity Початкова місткість
+     */
+    public LongDaryHeap(int arity, int initialCapacity) {
+        if (arity < 2) {
+            throw new IllegalArgumentException("Кількість нащадків вузла має бути не менше 2: " + arity);
+        }
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Від'ємна місткість: " + initialCapacity);
+        }
+        this.arity = arity;
+        this.heap = new long[initialCapacity];
+    }
+
+    /**
+     * Створює 4-арну купу з копії значень масиву за O(n).
+     *
+     * @param source Масив значень
+     */
+    public LongDaryHeap(long[] source) {
+        this(DEFAULT_ARITY, source);
+    }
+
+    /**
+     * Створює купу із заданою кількістю нащадків вузла з копії значень масиву за O(n).
+     *
+     * @param arity Кількість нащадків вузла, не менше 2
+     * @param source Масив значень
+     */
+    public LongDaryHeap(int arity, long[] source) {
+        this(arity, 0);
+        this.heap = source.clone();
+        this.size = source.length;
+        heapify();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int getArity() {
+        return arity;
+    }
+
+    /**
+     * Додає значення до купи за O(log n).
+     *
+     * @param value Значення
+     */
+    public void offer(long value) {
+        if (size == heap.length) {
+            grow(size + 1);
+        }
+        siftUp(size++, value);
+    }
+
+    /**
+     * Повертає найменше значення без видалення.
+     *
+     * @throws NoSuchElementException якщо купа порожня
+     */
+    public long peek() {
+        if (size == 0) {
+            throw new NoSuchElementException("Купа порожня");
+        }
+        return heap[0];
+    }
+
+    /**
+     * Видаляє та повертає найменше значення за O(log n).
+     *
+     * @throws NoSuchElementException якщо купа порожня
+     */
+    public long poll() {
+        if (size == 0) {
+            throw new NoSuchElementException("Купа порожня");
+        }
+        long head = heap[0];
+        long last = heap[--size];
+        if (size > 0) {
+            siftDown(0, last);
+        }
+        return head;
+    }
+
+    /**
+     * Замінює найменше значення новим за одне просіювання, що дешевше за poll і offer.
+     *
+     * @param value Нове значення
+     * @return Видалене найменше значення
+     * @throws NoSuchElementException якщо купа порожня
+     */
+    public long replaceHead(long value) {
+        if (size == 0) {
+            throw new NoSuchElementException("Купа порожня");
+        }
+        long head = heap[0];
+        siftDown(0, value);
+        return head;
+    }
+
+    /**
+     * Перевіряє наявність значення лінійним проходом масиву купи.
+     *
+     * @param value Шукане значення
+     */
+    public boolean contains(long value) {
+        return LongScanKernels.indexOf(heap, 0, size, value) >= 0;
+    }
+
+    /**
+     * Повертає найбільше значення. Воно лежить серед листків, тому перевіряються лише
+     * вузли після батька останнього елемента - близько (d - 1) / d масиву.
+     *
+     * @throws NoSuchElementException якщо купа порожня
+     */
+    public long max() {
+        if (size == 0) {
+            throw new NoSuchElementException("Купа порожня");
+        }
+        int firstLeaf = size == 1 ? 0 : (size - 2) / arity + 1;
+        return LongScanKernels.max(heap, firstLeaf, size);
+    }
+
+    /**
+     * Видаляє всі значення в порядку зростання в масив і залишає купу порожньою.
+     *
+     * @return Масив значень у порядку зростання
+     */
+    public long[] drainToArray() {
+        long[] drained = new long[size];
+        drainTo(drained, 0);
+        return drained;
+    }
+
+    /**
+     * Видаляє всі значення в порядку зростання в масив, починаючи з позиції offset.
+     *
+     * @param target Масив для значень
+     * @param offset Початкова позиція
+     * @return Кількість записаних значень
+     */
+    public int drainTo(long[] target, int offset) {
+        if (offset < 0 || offset > target.length || target.length - offset < size) {
+            throw new IndexOutOfBoundsException("Масив довжини " + target.length + " не вміщує " + size
+                    + " значень з позиції " + offset);
+        }
+        int count = size;
+        for (int index = 0; index < count; index++) {
+            target[offset + index] = poll();
+        }
+        return count;
+    }
+
+    /**
+     * Повертає копію значень у порядку купи (не впорядковану).
+     */
+    public long[] toArray() {
+        return Arrays.copyOf(heap, size);
+    }
+
+    /**
+     * Видаляє всі значення, зберігаючи виділений масив.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    private void heapify() {
+        if (size < 2) {
+            return;
+        }
+        for (int index = (size - 2) / arity; index >= 0; index--) {
+            siftDown(index, heap[index]);
+        }
+    }
+
+    /**
+     * Піднімає значення від позиції index, зсуваючи більших батьків униз, і записує його один раз.
+     */
+    private void siftUp(int index, long value) {
+        long[] heap = this.heap;
+        while (index > 0) {
+            int parent = (index - 1) / arity;
+            long parentValue = heap[parent];
+            if (parentValue <= value) {
+                break;
+            }
+            heap[index] = parentValue;
+            index = parent;
+        }
+        heap[index] = value;
+    }
+
+    /**
+     * Опускає значення від позиції index, піднімаючи найменшого з нащадків, і записує його один раз.
+     */
+    private void siftDown(int index, long value) {
+        long[] heap = this.heap;
+        int size = this.size;
+        int arity = this.arity;
+        while (true) {
+            long firstChild = (long) index * arity + 1;
+            if (firstChild >= size) {
+                break;
+            }
+            int child = (int) firstChild;
+            int smallest = child;
+            long smallestValue = heap[child];
+            int end = (int) Math.min(size, firstChild + arity);
+            for (child++; child < end; child++) {
+                long childValue = heap[child];
+                if (childValue < smallestValue) {
+                    smallest = child;
+                    smallestValue = childValue;
+                }
+            }
+            if (value <= smallestValue) {
+                break;
+            }
+            heap[index] = smallestValue;
+            index = smallest;
+        }
+        heap[index] = value;
+    }
+
+    private void grow(long minCapacity) {
+        if (minCapacity > MAX_CAPACITY) {
+            throw new IllegalStateException("Кількість значень перевищує максимальний розмір масиву");
+        }
+        long newCapacity = Math.max(minCapacity, Math.max(DEFAULT_CAPACITY, (long) heap.length << 1));
+        heap = Arrays.copyOf(heap, (int) Math.min(newCapacity, MAX_CAPACITY));
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+}
@@ -0,0 +1,111 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.LongConsumer;
+
+/**
+ * Клас LongFileSpliterator послідовно читає значення long з текстового файлу.
+ *
+ * <p>Файл читається блоками фіксованого розміру, а розібрані значення блоку
+ * зберігаються лише до їх передачі споживачу. Тому обсяг пам'яті не залежить
+ * від розміру файлу, і потік може обробити дані, більші за доступну купу.</p>
+ *
+ * <p>Для паралельних потоків {@link #trySplit()} відокремлює вже розібрану
+ * порцію значень у масив, а читання файлу залишається послідовним.</p>
+ */
+final class LongFileSpliterator implements Spliterator.OfLong {
+    private static final int CHARACTERISTICS = Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE;
+
+    private final InputStream inputStream;
+    private final ByteBuffer readBuffer;
+    private final LongTextParser parser = new LongTextParser();
+    private int batchIndex;
+    private boolean endOfFile;
+
+    /**
+     * Створює ітератор для відкритого потоку байтів файлу.
+     *
+     * @param inputStream Потік байтів файлу, який закриває власник
+     * @param bufferSize Розмір буфера читання в байтах
+     */
+    LongFileSpliterator(InputStream inputStream, int bufferSize) {
+        this.inputStream = inputStream;
+        this.readBuffer = ByteBuffer.allocate(bufferSize);
+    }
+
+    @Override
+    public boolean tryAdvance(LongConsumer action) {
+        if (!fillBatch()) {
+            return false;
+        }
+        action.accept(parser.valueAt(batchIndex++));
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(LongConsumer action) {
+        while (fillBatch()) {
+            int batchSize = parser.valueCount();
+            for (int index = batchIndex; index < batchSize; index++) {
+                action.accept(parser.valueAt(index));
+            }
+            batchIndex = batchSize;
+        }
+    }
+
+    @Override
+    public Spliterator.OfLong trySplit() {
+        if (!fillBatch()) {
+            return null;
+        }
+
+        int batchSize = parser.valueCount();
+        long[] batch = new long[batchSize - batchIndex];
+        for (int index = 0; index < batch.length; index++) {
+            batch[index] = parser.valueAt(batchIndex + index);
+        }
+        batchIndex = batchSize;
+        return Spliterators.spliterator(batch, CHARACTERISTICS);
+    }
+
+    @Override
+    public long estimateSize() {
+        return Long.MAX_VALUE;
+    }
+
+    @Override
+    public int characteristics() {
+        return CHARACTERISTICS;
+    }
+
+    /**
+     * Гарантує наявність нерозданих значень, читаючи наступні блоки файлу.
+     *
+     * @return false, якщо файл вичерпано
+     */
+    private boolean fillBatch() {
+        while (batchIndex == parser.valueCount()) {
+            if (endOfFile) {
+                return false;
+            }
+
+            parser.clearValues();
+            batchIndex = 0;
+            try {
+                int bytesRead = inputStream.read(readBuffer.array());
+                if (bytesRead == -1) {
+                    endOfFile = true;
+                    parser.completeLastValue();
+                } else {
+                    parser.parse(readBuffer, 0, bytesRead);
+                }
+            } catch (IOException ioException) {
+                throw new UncheckedIOException(ioException);
+            }
+        }
+        return true;
+    }
+}
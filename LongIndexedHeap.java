@@ -0,0 +1,472 @@
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Клас LongIndexedHeap - двостороння черга з пріоритетом на основі min-max купи
+ * з хеш-індексом значення → позиція в купі.
+ *
+ * <p>Рівні купи чергуються: вузли парних рівнів (корінь - рівень 0) не більші за всіх
+ * своїх нащадків, вузли непарних - не менші. Тому найменше значення лежить у корені,
+ * а найбільше - в одному з двох його нащадків, і обидва повертаються за O(1).
+ * Кожне значення зберігається один раз разом з кількістю його входжень.</p>
+ *
+ * <p>Поруч тримається хеш-таблиця з відкритою адресацією (лінійне зондування,
+ * примітивні масиви), яка для кожного значення зберігає його позицію в купі, а купа
+ * для кожної позиції - номер запису в таблиці. При кожному переміщенні в купі
+ * оновлюється лише одне поле таблиці, тож пошук і видалення довільного значення
+ * не потребують проходу масиву купи.</p>
+ *
+ * <p>Складність: {@link #contains(long)}, {@link #count(long)}, {@link #peekMin()} і
+ * {@link #peekMax()} - O(1) в середньому, {@link #offer(long)}, {@link #pollMin()},
+ * {@link #pollMax()} і {@link #remove(long)} - O(log n); зміна пріоритету значення -
+ * це {@code remove} і {@code offer} з тією ж складністю. Купа з масиву будується за O(n).
+ * Таблиця має приблизно в півтора раза більше записів, ніж різних значень, і видаляє
+ * записи зсувом назад, без позначок видалення, тож одне різне значення займає близько
+ * 34 байтів. Клас не синхронізований.</p>
+ */
+public class LongIndexedHeap {
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int MAX_CAPACITY = 1 << 29;
+    private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+    private static final int EMPTY = -1;
+
+    // купа різних значень: значення, кількість входжень і запис у хеш-таблиці
+    private long[] heap;
+    private int[] counts;
+    private int[] entries;
+    private int distinct;
+    private int size;
+
+    // хеш-таблиця: значення і позиція в купі (EMPTY - вільний запис)
+    private long[] tableKeys;
+    private int[] tableSlots;
+
+    /**
+     * Створює порожню купу.
+     */
+    public LongIndexedHeap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Створює порожню купу, що вміщує задану кількість різних значень без розширення.
+     *
+     * @param initialCapacity Початкова кількість різних значень
+     */
+    public LongIndexedHeap(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Від'ємна місткість: " + initialCapacity);
+        }
+        int capacity = Math.max(DEFAULT_CAPACITY, initialCapacity);
+        this.heap = new long[capacity];
+        this.counts = new int[capacity];
+        this.entries = new int[capacity];
+        allocateTable(tableCapacityFor(capacity));
+    }
+
+    /**
+     * Створює купу зі значень масиву: значення групуються через хеш-таблицю, а купа
+     * різних значень будується просіюванням вниз за O(n).
+     *
+     * <p>Кількість різних значень заздалегідь невідома, тож масиви розширюються
+     * в міру появи нових значень і наприкінці обрізаються до їх кількості.</p>
+     *
+     * @param source Масив значень
+     */
+    public LongIndexedHeap(long[] source) {
+        this(DEFAULT_CAPACITY);
+        for (long value : source) {
+            int entry = findEntry(value);
+            if (entry != EMPTY) {
+                counts[tableSlots[entry]]++;
+            } else {
+                if (distinct == heap.length) {
+                    grow(distinct + 1);
+                }
+                int slot = distinct++;
+                heap[slot] = value;
+                counts[slot] = 1;
+                entries[slot] = insertEntry(value, slot);
+            }
+        }
+        if (distinct < heap.length) {
+            resize(Math.max(DEFAULT_CAPACITY, distinct));
+        }
+        this.size = source.length;
+        for (int index = distinct / 2 - 1; index >= 0; index--) {
+            trickleDown(index);
+        }
+    }
+
+    /**
+     * Повертає кількість значень з урахуванням повторів.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Повертає кількість різних значень.
+     */
+    public int distinctCount() {
+        return distinct;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Додає значення до купи: для наявного значення збільшує кількість входжень за O(1),
+     * для нового - піднімає його за O(log n).
+     *
+     * @param value Значення
+     */
+    public void offer(long value) {
+        int entry = findEntry(value);
+        if (entry != EMPTY) {
+            counts[tableSlots[entry]]++;
+        } else {
+            append(value);
+        }
+        size++;
+    }
+
+    /**
+     * Повертає найменше значення без видалення.
+     *
+     * @throws NoSuchElementException якщо купа порожня
+     */
+    public long peekMin() {
+        checkNotEmpty();
+        return heap[0];
+    }
+
+    /**
+     * Повертає найбільше значення без видалення.
+     *
+     * @throws NoSuchElementException якщо купа порожня
+     */
+    public long peekMax() {
+        checkNotEmpty();
+        return heap[maxIndex()];
+    }
+
+    /**
+     * Видаляє одне входження найменшого значення та повертає його.
+     *
+     * @throws NoSuchElementException якщо купа порожня
+     */
+    public long pollMin() {
+        checkNotEmpty();
+        return pollAt(0);
+    }
+
+    /**
+     * Видаляє одне входження найбільшого значення та повертає його.
+     *
+     * @throws NoSuchElementException якщо купа порожня
+     */
+    public long pollMax() {
+        checkNotEmpty();
+        return pollAt(maxIndex());
+    }
+
+    /**
+     * Перевіряє наявність значення через хеш-індекс за O(1).
+     *
+     * @param value Шукане значення
+     */
+    public boolean contains(long value) {
+        return findEntry(value) != EMPTY;
+    }
+
+    /**
+     * Повертає кількість входжень значення.
+     *
+     * @param value Шукане значення
+     */
+    public int count(long value) {
+        int entry = findEntry(value);
+        return entry == EMPTY ? 0 : counts[tableSlots[entry]];
+    }
+
+    /**
+     * Видаляє одне входження значення за O(log n).
+     *
+     * @param value Значення
+     * @return true, якщо значення було в купі
+     */
+    public boolean remove(long value) {
+        int entry = findEntry(value);
+        if (entry == EMPTY) {
+            return false;
+        }
+        pollAt(tableSlots[entry]);
+        return true;
+    }
+
+    /**
+     * Видаляє всі значення в порядку зростання в масив і залишає купу порожньою.
+     *
+     * @return Масив значень у порядку зростання з урахуванням повторів
+     */
+    public long[] drainToArray() {
+        long[] drained = new long[size];
+        int position = 0;
+        while (distinct > 0) {
+            Arrays.fill(drained, position, position + counts[0], heap[0]);
+            position += counts[0];
+            removeAt(0);
+        }
+        size = 0;
+        return drained;
+    }
+
+    /**
+     * Видаляє всі значення, зберігаючи виділені масиви.
+     */
+    public void clear() {
+        Arrays.fill(tableSlots, EMPTY);
+        distinct = 0;
+        size = 0;
+    }
+
+    private void append(long value) {
+        if (distinct == heap.length) {
+            grow(distinct + 1);
+        }
+        int slot = distinct++;
+        heap[slot] = value;
+        counts[slot] = 1;
+        entries[slot] = insertEntry(value, slot);
+        bubbleUp(slot);
+    }
+
+    private long pollAt(int slot) {
+        long value = heap[slot];
+        if (--counts[slot] == 0) {
+            removeAt(slot);
+        }
+        size--;
+        return value;
+    }
+
+    private int maxIndex() {
+        if (distinct <= 2) {
+            return distinct - 1;
+        }
+        return heap[1] >= heap[2] ? 1 : 2;
+    }
+
+    /**
+     * Видаляє вузол купи разом із записом таблиці та ставить на його місце останній вузол.
+     * Останній вузол може порушити порядок і з предками, і з нащадками: підйом ставить
+     * на місце вузла або його ж, або значення предка, яке за потреби опускається далі.
+     */
+    private void removeAt(int slot) {
+        removeEntry(entries[slot]);
+        int last = --distinct;
+        if (slot == last) {
+            return;
+        }
+        move(last, slot);
+        bubbleUp(slot);
+        trickleDown(slot);
+    }
+
+    private void move(int from, int to) {
+        heap[to] = heap[from];
+        counts[to] = counts[from];
+        entries[to] = entries[from];
+        tableSlots[entries[to]] = to;
+    }
+
+    private void swap(int first, int second) {
+        long value = heap[first];
+        int count = counts[first];
+        int entry = entries[first];
+        move(second, first);
+        heap[second] = value;
+        counts[second] = count;
+        entries[second] = entry;
+        tableSlots[entry] = second;
+    }
+
+    private static boolean isMinLevel(int index) {
+        return ((31 - Integer.numberOfLeadingZeros(index + 1)) & 1) == 0;
+    }
+
+    /**
+     * Опускає значення з позиції index. Для рівня мінімумів обирається найменший серед
+     * нащадків і онуків, для рівня максимумів - найбільший. Якщо значення опустилося
+     * до онука, воно може порушити порядок з батьком онука (вузлом протилежного рівня),
+     * тож їх за потреби міняють місцями.
+     */
+    private void trickleDown(int index) {
+        boolean minLevel = isMinLevel(index);
+        while (true) {
+            int firstChild = 2 * index + 1;
+            if (firstChild >= distinct) {
+                return;
+            }
+
+            // нащадки: 2i + 1, 2i + 2; онуки: 4i + 3 ... 4i + 6
+            int extreme = firstChild;
+            if (firstChild + 1 < distinct && isBetter(heap[firstChild + 1], heap[extreme], minLevel)) {
+                extreme = firstChild + 1;
+            }
+            int lastGrandchild = (int) Math.min(distinct - 1, 4L * index + 6);
+            for (int grandchild = 2 * firstChild + 1; grandchild <= lastGrandchild; grandchild++) {
+                if (isBetter(heap[grandchild], heap[extreme], minLevel)) {
+                    extreme = grandchild;
+                }
+            }
+
+            if (!isBetter(heap[extreme], heap[index], minLevel)) {
+                return;
+            }
+            swap(index, extreme);
+            if (extreme <= firstChild + 1) {
+                return;
+            }
+
+            int parent = (extreme - 1) / 2;
+            if (isBetter(heap[parent], heap[extreme], minLevel)) {
+                swap(parent, extreme);
+            }
+            index = extreme;
+        }
+    }
+
+    /**
+     * Повертає true, якщо candidate має стояти вище за current на рівні мінімумів
+     * (строго менше) або максимумів (строго більше).
+     */
+    private static boolean isBetter(long candidate, long current, boolean minLevel) {
+        return minLevel ? candidate < current : candidate > current;
+    }
+
+    private void bubbleUp(int index) {
+        if (index == 0) {
+            return;
+        }
+        int parent = (index - 1) / 2;
+        boolean minLevel = isMinLevel(index);
+        if (isBetter(heap[parent], heap[index], minLevel)) {
+            swap(parent, index);
+            bubbleUpGrandparents(parent, !minLevel);
+        } else {
+            bubbleUpGrandparents(index, minLevel);
+        }
+    }
+
+    private void bubbleUpGrandparents(int index, boolean minLevel) {
+        while (index > 2) {
+            int grandparent = ((index - 1) / 2 - 1) / 2;
+            if (!isBetter(heap[index], heap[grandparent], minLevel)) {
+                return;
+            }
+            swap(grandparent, index);
+            index = grandparent;
+        }
+    }
+
+    /**
+     * Відображає старші 32 біти перемішаного значення на довжину таблиці множенням,
+     * тож довжина таблиці не мусить бути степенем двійки.
+     */
+    private int hash(long value) {
+        return (int) ((((value * HASH_MULTIPLIER) >>> 32) * tableSlots.length) >>> 32);
+    }
+
+    private int nextEntry(int entry) {
+        return entry + 1 == tableSlots.length ? 0 : entry + 1;
+    }
+
+    private int findEntry(long value) {
+        for (int entry = hash(value); tableSlots[entry] != EMPTY; entry = nextEntry(entry)) {
+            if (tableKeys[entry] == value) {
+                return entry;
+            }
+        }
+        return EMPTY;
+    }
+
+    private int insertEntry(long value, int slot) {
+        int entry = hash(value);
+        while (tableSlots[entry] != EMPTY) {
+            entry = nextEntry(entry);
+        }
+        tableKeys[entry] = value;
+        tableSlots[entry] = slot;
+        return entry;
+    }
+
+    /**
+     * Звільняє запис таблиці, зсуваючи назад наступні записи ланцюжка, чия початкова
+     * позиція не лежить між звільненим записом і ними.
+     */
+    private void removeEntry(int entry) {
+        int free = entry;
+        int next = entry;
+        while (true) {
+            next = nextEntry(next);
+            if (tableSlots[next] == EMPTY) {
+                break;
+            }
+            int home = hash(tableKeys[next]);
+            boolean staysInPlace = free <= next ? free < home && home <= next : free < home || home <= next;
+            if (!staysInPlace) {
+                tableKeys[free] = tableKeys[next];
+                tableSlots[free] = tableSlots[next];
+                entries[tableSlots[free]] = free;
+                free = next;
+            }
+        }
+        tableSlots[free] = EMPTY;
+    }
+
+    private void grow(int minCapacity) {
+        if (minCapacity > MAX_CAPACITY) {
+            throw new IllegalStateException("Кількість різних значень перевищує " + MAX_CAPACITY);
+        }
+        resize((int) Math.min(MAX_CAPACITY, Math.max(minCapacity, heap.length + (long) (heap.length >> 1))));
+    }
+
+    private void resize(int newCapacity) {
+        heap = Arrays.copyOf(heap, newCapacity);
+        counts = Arrays.copyOf(counts, newCapacity);
+        entries = Arrays.copyOf(entries, newCapacity);
+
+        // таблиця перебудовується з купи, тож записи отримують нові номери
+        allocateTable(tableCapacityFor(newCapacity));
+        for (int slot = 0; slot < distinct; slot++) {
+            entries[slot] = insertEntry(heap[slot], slot);
+        }
+    }
+
+    /**
+     * Таблиця заповнена не більше ніж на дві третини, коли купа заповнена повністю.
+     */
+    private static int tableCapacityFor(int heapCapacity) {
+        return heapCapacity + (heapCapacity >> 1) + 1;
+    }
+
+    private void allocateTable(int capacity) {
+        this.tableKeys = new long[capacity];
+        this.tableSlots = new int[capacity];
+        Arrays.fill(tableSlots, EMPTY);
+    }
+
+    private void checkNotEmpty() {
+        if (size == 0) {
+            throw new NoSuchElementException("Купа порожня");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(Arrays.copyOf(heap, distinct));
+    }
+}
@@ -0,0 +1,276 @@
+import java.util.NoSuchElementException;
+
+/**
+ * Клас LongScanKernels містить лінійні проходи примітивним масивом long: пошук мінімуму
+ * та максимуму, підрахунок входжень значення і пошук першого входження.
+ *
+ * <p>Якщо JVM запущено з модулем {@code jdk.incubator.vector} і в шляху класів є
+ * скомпільований клас {@code LongVectorKernels} з каталогу {@code vector}, проходи
+ * виконуються векторними інструкціями SIMD, інакше - скалярними циклами цього класу
+ * з кількома незалежними накопичувачами, які процесор може виконувати паралельно.
+ * Векторний клас завантажується за назвою через інтерфейс {@link Kernels}, тож цей
+ * клас і решта програми компілюються без модуля. Векторні ядра можна вимкнути
+ * властивістю {@code -D}{@value #VECTOR_PROPERTY}{@code =false}.</p>
+ *
+ * <p>Збирання та запуск з векторними ядрами:</p>
+ * <pre>
+ * {@code
+ * javac -encoding UTF-8 -d out *.java
+ * javac -encoding UTF-8 --add-modules jdk.incubator.vector -cp out -d out vector/*.java
+ * java --add-modules jdk.incubator.vector -cp out BasicDataOperation 8123456789123456789
+ * }
+ * </pre>
+ */
+public final class LongScanKernels {
+    /** Системна властивість, що вмикає або вимикає векторні ядра. */
+    public static final String VECTOR_PROPERTY = "longscan.vector";
+
+    /** Назва класу векторних ядер, що компілюється окремо з модулем Vector API. */
+    private static final String VECTOR_KERNELS_CLASS = "LongVectorKernels";
+
+    // null, якщо векторні ядра недоступні; поле final, тож JIT вбудовує виклики ядер
+    private static final Kernels VECTOR_KERNELS = loadVectorKernels();
+
+    private static final int WARM_UP_LENGTH = 1024;
+    private static final int WARM_UP_ROUNDS = 20_000;
+
+    // результат прогріву зберігається, щоб JIT не відкинув проходи як зайві
+    private static volatile long warmUpChecksum;
+
+    /**
+     * Проходи, які реалізує векторний клас; межі діапазону вже перевірено.
+     */
+    interface Kernels {
+        int laneCount();
+
+        long min(long[] values, int from, int to);
+
+        long max(long[] values, int from, int to);
+
+        void minMax(long[] values, int from, int to, long[] result);
+
+        int count(long[] values, int from, int to, long key);
+
+        int indexOf(long[] values, int from, int to, long key);
+    }
+
+    private LongScanKernels() {
+    }
+
+    /**
+     * Повертає true, якщо проходи виконуються векторними ядрами.
+     */
+    public static boolean isVectorized() {
+        return VECTOR_KERNELS != null;
+    }
+
+    /**
+     * Повертає найменше значення частини масиву.
+     *
+     * @param values Масив значень
+     * @param from Початковий індекс (включно)
+     * @param to Кінцевий індекс (виключно), більший за from
+     */
+    public static long min(long[] values, int from, int to) {
+        checkNonEmptyRange(values.length, from, to);
+        return VECTOR_KERNELS != null ? VECTOR_KERNELS.min(values, from, to) : scalarMin(values, from, to);
+    }
+
+    /**
+     * Повертає найбільше значення частини масиву.
+     *
+     * @param values Масив значень
+     * @param from Початковий індекс (включно)
+     * @param to Кінцевий індекс (виключно), більший за from
+     */
+    public static long max(long[] values, int from, int to) {
+        checkNonEmptyRange(values.length, from, to);
+        return VECTOR_KERNELS != null ? VECTOR_KERNELS.max(values, from, to) : scalarMax(values, from, to);
+    }
+
+    /**
+     * Визначає найменше і найбільше значення частини масиву за один прохід.
+     *
+     * @param values Масив значень
+     * @param from Початковий індекс (включно)
+     * @param to Кінцевий індекс (виключно), більший за from
+     * @param result Масив щонайменше з двох елементів: [0] - мінімум, [1] - максимум
+     */
+    public static void minMax(long[] values, int from, int to, long[] result) {
+        checkNonEmptyRange(values.length, from, to);
+        if (VECTOR_KERNELS != null) {
+            VECTOR_KERNELS.minMax(values, from, to, result);
+        } else {
+            scalarMinMax(values, from, to, result);
+        }
+    }
+
+    /**
+     * Підраховує кількість входжень значення в частині масиву.
+     *
+     * @param values Масив значень
+     * @param from Початковий індекс (включно)
+     * @param to Кінцевий індекс (виключно)
+     * @param key Шукане значення
+     */
+    public static int count(long[] values, int from, int to, long key) {
+        checkRange(values.length, from, to);
+        return VECTOR_KERNELS != null ? VECTOR_KERNELS.count(values, from, to, key) : scalarCount(values, from, to, key);
+    }
+
+    /**
+     * Повертає індекс першого входження значення в частині масиву або -1.
+     *
+     * @param values Масив значень
+     * @param from Початковий індекс (включно)
+     * @param to Кінцевий індекс (виключно)
+     * @param key Шукане значення
+     */
+    public static int indexOf(long[] values, int from, int to, long key) {
+        checkRange(values.length, from, to);
+        return VECTOR_KERNELS != null ? VECTOR_KERNELS.indexOf(values, from, to, key) : scalarIndexOf(values, from, to, key);
+    }
+
+    /**
+     * Перевіряє, чи містить частина масиву значення.
+     *
+     * @param values Масив значень
+     * @param from Початковий індекс (включно)
+     * @param to Кінцевий індекс (виключно)
+     * @param key Шукане значення
+     */
+    public static boolean contains(long[] values, int from, int to, long key) {
+        return indexOf(values, from, to, key) >= 0;
+    }
+
+    /**
+     * Прогріває проходи до початку вимірювань: завантажує класи Vector API і дає
+     * JIT-компілятору скомпілювати ядра, щоб перший вимірюваний прохід не включав
+     * цих затрат.
+     */
+    public static void warmUp() {
+        long[] values = new long[WARM_UP_LENGTH];
+        for (int index = 0; index < values.length; index++) {
+            values[index] = index * 0x9E3779B97F4A7C15L;
+        }
+        long[] bounds = new long[2];
+        long checksum = 0;
+        for (int round = 0; round < WARM_UP_ROUNDS; round++) {
+            minMax(values, 0, values.length, bounds);
+            checksum += bounds[0] ^ bounds[1];
+            checksum += min(values, 0, values.length) ^ max(values, 0, values.length);
+            checksum += count(values, 0, values.length, round) + indexOf(values, 0, values.length, round);
+        }
+        warmUpChecksum = checksum;
+    }
+
+    static long scalarMin(long[] values, int from, int to) {
+        long min0 = values[from];
+        long min1 = min0;
+        long min2 = min0;
+        long min3 = min0;
+        int index = from;
+        for (int upper = to - 3; index < upper; index += 4) {
+            min0 = Math.min(min0, values[index]);
+            min1 = Math.min(min1, values[index + 1]);
+            min2 = Math.min(min2, values[index + 2]);
+            min3 = Math.min(min3, values[index + 3]);
+        }
+        for (; index < to; index++) {
+            min0 = Math.min(min0, values[index]);
+        }
+        return Math.min(Math.min(min0, min1), Math.min(min2, min3));
+    }
+
+    static long scalarMax(long[] values, int from, int to) {
+        long max0 = values[from];
+        long max1 = max0;
+        long max2 = max0;
+        long max3 = max0;
+        int index = from;
+        for (int upper = to - 3; index < upper; index += 4) {
+            max0 = Math.max(max0, values[index]);
+            max1 = Math.max(max1, values[index + 1]);
+            max2 = Math.max(max2, values[index + 2]);
+            max3 = Math.max(max3, values[index + 3]);
+        }
+        for (; index < to; index++) {
+            max0 = Math.max(max0, values[index]);
+        }
+        return Math.max(Math.max(max0, max1), Math.max(max2, max3));
+    }
+
+    static void scalarMinMax(long[] values, int from, int to, long[] result) {
+        long min0 = values[from];
+        long min1 = min0;
+        long max0 = min0;
+        long max1 = min0;
+        int index = from;
+        for (int upper = to - 1; index < upper; index += 2) {
+            long first = values[index];
+            long second = values[index + 1];
+            min0 = Math.min(min0, first);
+            max0 = Math.max(max0, first);
+            min1 = Math.min(min1, second);
+            max1 = Math.max(max1, second);
+        }
+        if (index < to) {
+            min0 = Math.min(min0, values[index]);
+            max0 = Math.max(max0, values[index]);
+        }
+        result[0] = Math.min(min0, min1);
+        result[1] = Math.max(max0, max1);
+    }
+
+    static int scalarCount(long[] values, int from, int to, long key) {
+        int count = 0;
+        for (int index = from; index < to; index++) {
+            count += values[index] == key ? 1 : 0;
+        }
+        return count;
+    }
+
+    static int scalarIndexOf(long[] values, int from, int to, long key) {
+        for (int index = from; index < to; index++) {
+            if (values[index] == key) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Векторні ядра вмикаються, лише якщо модуль доступний, клас знайдено в шляху
+     * класів і регістр вміщує щонайменше два значення long.
+     *
+     * @return Векторні ядра або null
+     */
+    private static Kernels loadVectorKernels() {
+        if (!Boolean.parseBoolean(System.getProperty(VECTOR_PROPERTY, "true"))) {
+            return null;
+        }
+        if (!ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            return null;
+        }
+        try {
+            Kernels kernels = (Kernels) Class.forName(VECTOR_KERNELS_CLASS)
+                    .getDeclaredConstructor().newInstance();
+            return kernels.laneCount() >= 2 ? kernels : null;
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+
+    private static void checkRange(int arrayLength, int from, int to) {
+        if (from < 0 || to > arrayLength || from > to) {
+            throw new ArrayIndexOutOfBoundsException("Діапазон [" + from + ", " + to + ") поза масивом довжини " + arrayLength);
+        }
+    }
+
+    private static void checkNonEmptyRange(int arrayLength, int from, int to) {
+        checkRange(arrayLength, from, to);
+        if (from == to) {
+            throw new NoSuchElementException("Порожній діапазон");
+        }
+    }
+}
@@ -0,0 +1,283 @@
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Клас LongSearchIndex шукає значення в масиві long, враховуючи, чи впорядковані дані.
+ *
+ * <p>Стратегія пошуку обирається для кожного запиту:</p>
+ * <ul>
+ *   <li>для впорядкованих даних - бінарний пошук першого входження;</li>
+ *   <li>для невпорядкованих даних - лінійний прохід {@link LongScanKernels};</li>
+ *   <li>коли кількість запитів до незмінних невпорядкованих даних досягає порогу,
+ *       у фоновому потоці будується впорядкований індекс (ключі та їхні позиції),
+ *       і після його готовності запити обслуговує бінарний пошук за індексом.</li>
+ * </ul>
+ *
+ * <p>Для впорядкованих даних власник може обрати розташування {@link SortedLongIndex.Layout}
+ * і побудувати статичний індекс через {@link #buildSortedLayout()}; до побудови
+ * запити обслуговує звичайний бінарний пошук.</p>
+ *
+ * <p>Усі стратегії повертають позицію першого входження в поточному порядку даних,
+ * тож результат не залежить від того, яка з них спрацювала. Власник масиву має
+ * викликати {@link #dataChanged} після кожної зміни даних: це скидає індекс
+ * і відкидає результат побудови, розпочатої для попередніх даних.</p>
+ *
+ * <p>Запити очікуються з одного потоку; фоновий потік лише публікує готовий індекс.</p>
+ */
+public class LongSearchIndex {
+    /** Кількість лінійних проходів, після якої будується впорядкований індекс. */
+    public static final int DEFAULT_BUILD_THRESHOLD = 8;
+
+    /**
+     * Стратегія, якою було оброблено останній запит.
+     */
+    public enum Strategy {
+        /** Бінарний пошук у впорядкованих даних. */
+        BINARY_SEARCH,
+        /** Лінійний прохід невпорядкованими даними. */
+        LINEAR_SCAN,
+        /** Бінарний пошук у побудованому впорядкованому індексі. */
+        SORTED_INDEX,
+        /** Пошук у статичному індексі {@link SortedLongIndex} впорядкованих даних. */
+        STATIC_LAYOUT
+    }
+
+    /**
+     * Впорядковані ключі разом з позиціями їх у вихідних даних.
+     */
+    private static final class SortedIndex {
+        final long[] keys;
+        final int[] positions;
+        final int generation;
+
+        SortedIndex(long[] keys, int[] positions, int generation) {
+            this.keys = keys;
+            this.positions = positions;
+            this.generation = generation;
+        }
+    }
+
+    private final int buildThreshold;
+    private final Executor buildExecutor;
+    private long[] values;
+    private int size;
+    private boolean sorted;
+    private int scansSinceChange;
+    private boolean buildRequested;
+    private volatile int generation;
+    private volatile SortedIndex sortedIndex;
+    private SortedLongIndex.Layout sortedLayout = SortedLongIndex.Layout.BINARY;
+    private SortedLongIndex staticIndex;
+    private Strategy lastStrategy = Strategy.LINEAR_SCAN;
+
+    /**
+     * Створює пошук над усім масивом; впорядкованість визначається одним проходом.
+     *
+     * @param values Масив значень
+     */
+    public LongSearchIndex(long[] values) {
+        this(values, values.length, LongSorter.isSorted(values, 0, values.length), DEFAULT_BUILD_THRESHOLD);
+    }
+
+    /**
+     * Створює пошук над першими size елементами масиву.
+     *
+     * @param values Масив значень
+     * @param size Кількість елементів, що беруть участь у пошуку
+     * @param sorted true, якщо елементи впорядковані за зростанням
+     * @param buildThreshold Кількість лінійних проходів до побудови індексу, 0 - не будувати
+     */
+    public LongSearchIndex(long[] values, int size, boolean sorted, int buildThreshold) {
+        this(values, size, sorted, buildThreshold, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Створює пошук, що будує впорядкований індекс у заданому виконавці. Дозволяє
+     * перевіркам керувати моментом завершення побудови.
+     *
+     * @param buildExecutor Виконавець фонової побудови індексу
+     */
+    LongSearchIndex(long[] values, int size, boolean sorted, int buildThreshold, Executor buildExecutor) {
+        if (buildThreshold < 0) {
+            throw new IllegalArgumentException("Від'ємний поріг побудови індексу: " + buildThreshold);
+        }
+        this.buildThreshold = buildThreshold;
+        this.buildExecutor = buildExecutor;
+        dataChanged(values, size, sorted);
+    }
+
+    /**
+     * Повідомляє про зміну даних. Побудований індекс скидається.
+     *
+     * @param values Масив значень (може бути новим масивом)
+     * @param size Кількість елементів
+     * @param sorted true, якщо елементи впорядковані за зростанням
+     */
+    public void dataChanged(long[] values, int size, boolean sorted) {
+        if (size < 0 || size > values.length) {
+            throw new IllegalArgumentException("Розмір " + size + " поза масивом довжини " + values.length);
+        }
+        this.values = values;
+        this.size = size;
+        this.sorted = sorted;
+        this.scansSinceChange = 0;
+        this.buildRequested = false;
+        this.generation++;
+        this.sortedIndex = null;
+        this.staticIndex = null;
+    }
+
+    /**
+     * Повідомляє про зміну вмісту того самого масиву без зміни розміру.
+     *
+     * @param sorted true, якщо елементи тепер впорядковані за зростанням
+     */
+    public void dataChanged(boolean sorted) {
+        dataChanged(values, size, sorted);
+    }
+
+    /**
+     * Задає розташування статичного індексу для впорядкованих даних. Побудований
+     * раніше статичний індекс скидається.
+     *
+     * @param layout Розташування елементів
+     */
+    public void setSortedLayout(SortedLongIndex.Layout layout) {
+        this.sortedLayout = layout;
+        this.staticIndex = null;
+    }
+
+    public SortedLongIndex.Layout getSortedLayout() {
+        return sortedLayout;
+    }
+
+    /**
+     * Будує статичний індекс обраного розташування, якщо дані впорядковані,
+     * розташування відрізняється від {@link SortedLongIndex.Layout#BINARY}
+     * і індекс ще не побудовано.
+     *
+     * @return true, якщо індекс побудовано цим викликом
+     */
+    public boolean buildSortedLayout() {
+        if (!sorted || sortedLayout == SortedLongIndex.Layout.BINARY || staticIndex != null) {
+            return false;
+        }
+        staticIndex = SortedLongIndex.build(sortedLayout, values, size);
+        return true;
+    }
+
+    /**
+     * Повертає позицію першого входження значення або -1, якщо його немає.
+     *
+     * @param key Шукане значення
+     */
+    public int indexOf(long key) {
+        if (sorted) {
+            if (staticIndex != null) {
+                lastStrategy = Strategy.STATIC_LAYOUT;
+                return staticIndex.indexOf(key);
+            }
+            lastStrategy = Strategy.BINARY_SEARCH;
+            int position = lowerBound(values, size, key);
+            return position < size && values[position] == key ? position : -1;
+        }
+
+        SortedIndex index = sortedIndex;
+        if (index != null && index.generation == generation) {
+            lastStrategy = Strategy.SORTED_INDEX;
+            int position = lowerBound(index.keys, index.keys.length, key);
+            return position < index.keys.length && index.keys[position] == key ? index.positions[position] : -1;
+        }
+
+        lastStrategy = Strategy.LINEAR_SCAN;
+        if (++scansSinceChange >= buildThreshold && buildThreshold > 0 && !buildRequested) {
+            buildRequested = true;
+            startBuild();
+        }
+        return LongScanKernels.indexOf(values, 0, size, key);
+    }
+
+    public boolean contains(long key) {
+        return indexOf(key) >= 0;
+    }
+
+    public boolean isSorted() {
+        return sorted;
+    }
+
+    /**
+     * Повертає true, якщо впорядкований індекс для поточних даних побудовано.
+     */
+    public boolean isIndexReady() {
+        SortedIndex index = sortedIndex;
+        return index != null && index.generation == generation;
+    }
+
+    /**
+     * Повертає стратегію, якою було оброблено останній запит.
+     */
+    public Strategy getLastStrategy() {
+        return lastStrategy;
+    }
+
+    /**
+     * Повертає статистику побудованого статичного індексу або null, якщо індекс
+     * не побудовано чи він не збирає статистики.
+     */
+    public String getStatistics() {
+        return staticIndex == null ? null : staticIndex.getStatistics();
+    }
+
+    /**
+     * Будує індекс у фоновому потоці з копії поточних даних. Якщо дані змінилися
+     * до завершення побудови, результат відкидається за номером покоління.
+     */
+    private void startBuild() {
+        long[] source = values;
+        int length = size;
+        int buildGeneration = generation;
+
+        CompletableFuture.runAsync(() -> {
+            long[] keys = new long[length];
+            System.arraycopy(source, 0, keys, 0, length);
+            int[] positions = new int[length];
+            for (int position = 0; position < length; position++) {
+                positions[position] = position;
+            }
+            LongSorter.sortWithIndices(keys, positions);
+            publish(new SortedIndex(keys, positions, buildGeneration));
+        }, buildExecutor);
+    }
+
+    private void publish(SortedIndex index) {
+        if (index.generation == generation) {
+            sortedIndex = index;
+        }
+    }
+
+    /**
+     * Повертає індекс першого елемента, не меншого за key, серед перших size елементів.
+     */
+    static int lowerBound(long[] values, int size, long key) {
+        return lowerBound(values, 0, size, key);
+    }
+
+    /**
+     * Повертає індекс першого елемента, не меншого за key, у частині масиву [from, to),
+     * або to, якщо такого немає.
+     */
+    static int lowerBound(long[] values, int from, int to, long key) {
+        int low = from;
+        int high = to;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (values[middle] < key) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,217 @@
+import java.util.Arrays;
+
+/**
+ * Клас LongSorter впорядковує примітивні масиви long, обираючи алгоритм за розміром даних.
+ *
+ * <ul>
+ *   <li>до {@value #RADIX_THRESHOLD} елементів - {@link Arrays#sort(long[], int, int)}
+ *       (Dual-Pivot Quicksort), який на малих масивах не має рівних;</li>
+ *   <li>від {@value #RADIX_THRESHOLD} елементів - порозрядне сортування LSD за байтами
+ *       з пропуском розрядів, однакових для всіх значень;</li>
+ *   <li>від {@value #PARALLEL_THRESHOLD} елементів на кількох ядрах -
+ *       {@link Arrays#parallelSort(long[], int, int)}.</li>
+ * </ul>
+ *
+ * <p>Порозрядне сортування працює з усім діапазоном long від {@link Long#MIN_VALUE} до
+ * {@link Long#MAX_VALUE}: у старшому байті інвертується знаковий біт, тож від'ємні
+ * значення потрапляють у кошики перед додатними. Воно потребує допоміжного масиву
+ * розміром із дані, тому для обмеженого бюджету пам'яті слід викликати
+ * {@link Arrays#sort(long[], int, int)} напряму.</p>
+ */
+public final class LongSorter {
+    /** Мінімальна кількість елементів для порозрядного сортування. */
+    static final int RADIX_THRESHOLD = 1 << 12;
+
+    /** Мінімальна кількість елементів для паралельного сортування. */
+    static final int PARALLEL_THRESHOLD = 1 << 20;
+
+    private static final int DIGIT_BITS = 8;
+    private static final int DIGIT_COUNT = Long.SIZE / DIGIT_BITS;
+    private static final int BUCKET_COUNT = 1 << DIGIT_BITS;
+    private static final int DIGIT_MASK = BUCKET_COUNT - 1;
+
+    private LongSorter() {
+    }
+
+    /**
+     * Впорядковує масив за зростанням, обираючи алгоритм за його розміром.
+     *
+     * @param values Масив значень
+     */
+    public static void sort(long[] values) {
+        sort(values, 0, values.length);
+    }
+
+    /**
+     * Впорядковує частину масиву за зростанням, обираючи алгоритм за її розміром.
+     *
+     * @param values Масив значень
+     * @param from Початковий індекс (включно)
+     * @param to Кінцевий індекс (виключно)
+     */
+    public static void sort(long[] values, int from, int to) {
+        checkRange(values.length, from, to);
+        int length = to - from;
+        if (length < RADIX_THRESHOLD) {
+            Arrays.sort(values, from, to);
+        } else if (length >= PARALLEL_THRESHOLD && Runtime.getRuntime().availableProcessors() > 1) {
+            Arrays.parallelSort(values, from, to);
+        } else if (!isSorted(values, from, to)) {
+            radixSort(values, from, to);
+        }
+    }
+
+    /**
+     * Впорядковує частину масиву порозрядним сортуванням LSD за байтами.
+     *
+     * <p>Частоти всіх розрядів підраховуються за один прохід. Розряд, у якому всі значення
+     * мають однаковий байт, пропускається, тому дані з вузьким діапазоном сортуються
+     * за менше проходів.</p>
+     *
+     * @param values Масив значень
+     * @param from Початковий індекс (включно)
+     * @param to Кінцевий індекс (виключно)
+     */
+    public static void radixSort(long[] values, int from, int to) {
+        checkRange(values.length, from, to);
+        int length = to - from;
+        if (length < 2) {
+            return;
+        }
+
+        int[] counts = new int[DIGIT_COUNT * BUCKET_COUNT];
+        for (int index = from; index < to; index++) {
+            long key = values[index] ^ Long.MIN_VALUE;
+            for (int digit = 0; digit < DIGIT_COUNT; digit++) {
+                counts[digit * BUCKET_COUNT + (int) ((key >>> (digit * DIGIT_BITS)) & DIGIT_MASK)]++;
+            }
+        }
+
+        long[] buffer = new long[length];
+        long[] source = values;
+        int sourceOffset = from;
+        long[] target = buffer;
+        int targetOffset = 0;
+
+        for (int digit = 0; digit < DIGIT_COUNT; digit++) {
+            int shift = digit * DIGIT_BITS;
+            int countBase = digit * BUCKET_COUNT;
+            int firstBucket = (int) (((source[sourceOffset] ^ Long.MIN_VALUE) >>> shift) & DIGIT_MASK);
+            if (counts[countBase + firstBucket] == length) {
+                continue;
+            }
+
+            // частоти перетворюються на початкові позиції кошиків
+            int position = targetOffset;
+            for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+                int count = counts[countBase + bucket];
+                counts[countBase + bucket] = position;
+                position += count;
+            }
+
+            for (int index = sourceOffset, end = sourceOffset + length; index < end; index++) {
+                long value = source[index];
+                int bucket = (int) (((value ^ Long.MIN_VALUE) >>> shift) & DIGIT_MASK);
+                target[counts[countBase + bucket]++] = value;
+            }
+
+            long[] swapArray = source;
+            source = target;
+            target = swapArray;
+            int swapOffset = sourceOffset;
+            sourceOffset = targetOffset;
+            targetOffset = swapOffset;
+        }
+
+        if (source != values) {
+            System.arraycopy(source, sourceOffset, values, from, length);
+        }
+    }
+
+    /**
+     * Впорядковує масив ключів за зростанням, переставляючи разом з ними масив супутніх
+     * індексів. Сортування стабільне: рівні ключі зберігають взаємний порядок індексів.
+     *
+     * @param keys Масив ключів
+     * @param indices Масив індексів тієї ж довжини
+     */
+    public static void sortWithIndices(long[] keys, int[] indices) {
+        if (keys.length != indices.length) {
+            throw new IllegalArgumentException("Довжини масивів ключів і індексів різні");
+        }
+        int length = keys.length;
+        if (length < 2 || isSorted(keys, 0, length)) {
+            return;
+        }
+
+        int[] counts = new int[DIGIT_COUNT * BUCKET_COUNT];
+        for (long value : keys) {
+            long key = value ^ Long.MIN_VALUE;
+            for (int digit = 0; digit < DIGIT_COUNT; digit++) {
+                counts[digit * BUCKET_COUNT + (int) ((key >>> (digit * DIGIT_BITS)) & DIGIT_MASK)]++;
+            }
+        }
+
+        long[] sourceKeys = keys;
+        int[] sourceIndices = indices;
+        long[] targetKeys = new long[length];
+        int[] targetIndices = new int[length];
+
+        for (int digit = 0; digit < DIGIT_COUNT; digit++) {
+            int shift = digit * DIGIT_BITS;
+            int countBase = digit * BUCKET_COUNT;
+            int firstBucket = (int) (((sourceKeys[0] ^ Long.MIN_VALUE) >>> shift) & DIGIT_MASK);
+            if (counts[countBase + firstBucket] == length) {
+                continue;
+            }
+
+            int position = 0;
+            for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+                int count = counts[countBase + bucket];
+                counts[countBase + bucket] = position;
+                position += count;
+            }
+
+            for (int index = 0; index < length; index++) {
+                long value = sourceKeys[index];
+                int target = counts[countBase + (int) (((value ^ Long.MIN_VALUE) >>> shift) & DIGIT_MASK)]++;
+                targetKeys[target] = value;
+                targetIndices[target] = sourceIndices[index];
+            }
+
+            long[] swapKeys = sourceKeys;
+            sourceKeys = targetKeys;
+            targetKeys = swapKeys;
+            int[] swapIndices = sourceIndices;
+            sourceIndices = targetIndices;
+            targetIndices = swapIndices;
+        }
+
+        if (sourceKeys != keys) {
+            System.arraycopy(sourceKeys, 0, keys, 0, length);
+            System.arraycopy(sourceIndices, 0, indices, 0, length);
+        }
+    }
+
+    /**
+     * Перевіряє, чи впорядкована частина масиву за зростанням.
+     *
+     * @param values Масив значень
+     * @param from Початковий індекс (включно)
+     * @param to Кінцевий індекс (виключно)
+     */
+    public static boolean isSorted(long[] values, int from, int to) {
+        for (int index = from + 1; index < to; index++) {
+            if (values[index - 1] > values[index]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void checkRange(int arrayLength, int from, int to) {
+        if (from < 0 || to > arrayLength || from > to) {
+            throw new ArrayIndexOutOfBoundsException("Діапазон [" + from + ", " + to + ") поза масивом довжини " + arrayLength);
+        }
+    }
+}
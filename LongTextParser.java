@@ -0,0 +1,195 @@
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Клас LongTextParser розбирає текстові дані long безпосередньо з байтів файлу.
+ *
+ * <p>Байти читаються абсолютними звертаннями до {@link ByteBuffer}, тому той самий
+ * розбір працює як з буфером у купі, так і з відображеним у пам'ять файлом.
+ * Кожен рядок містить одне десяткове число зі знаком. Пробільні символи навколо
+ * числа та порожні рядки ігноруються, а BOM UTF-8 пропускається лише один раз
+ * на початку файлу. Цифри накопичуються одразу в значення long, тому для рядків
+ * не створюються об'єкти String, а результат зберігається в примітивному масиві,
+ * який росте геометрично.</p>
+ */
+final class LongTextParser {
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+    private static final byte[] UTF8_BOM = { (byte) 0xEF, (byte) 0xBB, (byte) 0xBF };
+
+    private long[] values = new long[INITIAL_CAPACITY];
+    private int size;
+
+    // стан розбору, що переноситься між послідовними порціями байтів
+    private int bomBytesMatched;
+    private long accumulator;
+    private long limit = -Long.MAX_VALUE;
+    private int digitCount;
+    private boolean negative;
+    private boolean signSeen;
+    private boolean tokenClosed;
+    private long fileOffset;
+
+    /**
+     * Створює розбірник для даних, що починаються з початку файлу.
+     */
+    LongTextParser() {
+        this(0);
+    }
+
+    /**
+     * Створює розбірник для частини файлу, що починається з початку рядка.
+     * BOM перевіряється лише тоді, коли частина починається з першого байта файлу.
+     *
+     * @param startOffset Зміщення першого байта частини у файлі
+     */
+    LongTextParser(long startOffset) {
+        this.fileOffset = startOffset;
+        this.bomBytesMatched = startOffset == 0 ? 0 : UTF8_BOM.length;
+    }
+
+    /**
+     * Розбирає чергову порцію байтів, додаючи завершені значення до результату.
+     * Незавершене число в кінці порції продовжується наступним викликом.
+     *
+     * @param buffer Буфер з байтами файлу
+     * @param from Початкова позиція (включно)
+     * @param to Кінцева позиція (виключно)
+     */
+    void parse(ByteBuffer buffer, int from, int to) {
+        long bufferOffset = fileOffset - from;
+        int position = skipByteOrderMark(buffer, from, to, bufferOffset);
+
+        // локальні копії стану, щоб JIT тримав їх у регістрах
+        long value = accumulator;
+        long valueLimit = limit;
+        int digits = digitCount;
+        boolean closed = tokenClosed;
+
+        for (; position < to; position++) {
+            int currentByte = buffer.get(position);
+            int digit = currentByte - '0';
+            if (digit >= 0 && digit <= 9) {
+                if (closed || value < valueLimit / 10) {
+                    throw invalidValue(bufferOffset + position);
+                }
+                value *= 10;
+                if (value < valueLimit + digit) {
+                    throw invalidValue(bufferOffset + position);
+                }
+                value -= digit;
+                digits++;
+            } else if (currentByte == '\n') {
+                if (digits > 0) {
+                    append(negative ? value : -value);
+                } else if (signSeen) {
+                    throw invalidValue(bufferOffset + position);
+                }
+                value = 0;
+                valueLimit = -Long.MAX_VALUE;
+                digits = 0;
+                closed = false;
+                negative = false;
+                signSeen = false;
+            } else if ((currentByte == '-' || currentByte == '+') && digits == 0 && !signSeen) {
+                signSeen = true;
+                negative = currentByte == '-';
+                valueLimit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+            } else if (currentByte >= 0 && currentByte <= ' ') {
+                // пробільні символи, включно з '\r', допустимі лише навколо числа
+                closed = digits > 0 || signSeen;
+            } else {
+                throw invalidValue(bufferOffset + position);
+            }
+        }
+
+        fileOffset += to - from;
+        accumulator = value;
+        limit = valueLimit;
+        digitCount = digits;
+        tokenClosed = closed;
+    }
+
+    /**
+     * Завершує розбір, враховуючи останнє число без символу нового рядка.
+     *
+     * @return Масив розібраних значень точного розміру
+     */
+    long[] finish() {
+        completeLastValue();
+        return size == values.length ? values : Arrays.copyOf(values, size);
+    }
+
+    /**
+     * Додає до результату останнє число, після якого у файлі немає символу нового рядка.
+     */
+    void completeLastValue() {
+        if (digitCount > 0) {
+            append(negative ? accumulator : -accumulator);
+        } else if (signSeen) {
+            throw invalidValue(fileOffset);
+        }
+        accumulator = 0;
+        limit = -Long.MAX_VALUE;
+        digitCount = 0;
+        negative = false;
+        signSeen = false;
+        tokenClosed = false;
+    }
+
+    /**
+     * Повертає кількість розібраних значень, накопичених після останнього очищення.
+     */
+    int valueCount() {
+        return size;
+    }
+
+    /**
+     * Повертає накопичене значення за його порядковим номером.
+     */
+    long valueAt(int index) {
+        return values[index];
+    }
+
+    /**
+     * Очищає накопичені значення, зберігаючи стан розбору незавершеного числа.
+     * Дозволяє розбирати потік порціями з обмеженим обсягом пам'яті.
+     */
+    void clearValues() {
+        size = 0;
+    }
+
+    /**
+     * Пропускає BOM UTF-8, якщо розбір ще перебуває на початку файлу.
+     */
+    private int skipByteOrderMark(ByteBuffer buffer, int from, int to, long bufferOffset) {
+        int position = from;
+        while (bomBytesMatched < UTF8_BOM.length && position < to) {
+            if (buffer.get(position) != UTF8_BOM[bomBytesMatched]) {
+                if (bomBytesMatched > 0) {
+                    throw invalidValue(bufferOffset + position);
+                }
+                bomBytesMatched = UTF8_BOM.length;
+                break;
+            }
+            bomBytesMatched++;
+            position++;
+        }
+        return position;
+    }
+
+    private void append(long value) {
+        if (size == values.length) {
+            if (size == MAX_CAPACITY) {
+                throw new IllegalStateException("Кількість значень перевищує максимальний розмір масиву");
+            }
+            int newCapacity = (int) Math.min((long) size << 1, MAX_CAPACITY);
+            values = Arrays.copyOf(values, newCapacity);
+        }
+        values[size++] = value;
+    }
+
+    private NumberFormatException invalidValue(long offset) {
+        return new NumberFormatException("Невірне значення long на позиції байта " + offset);
+    }
+}
@@ -0,0 +1,81 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Клас LongTextWriter записує значення long у текстовому форматі файлів даних.
+ *
+ * <p>Кожне значення записується окремим рядком. Цифри формуються безпосередньо
+ * в буфері байтів, тому запис не створює рядків чи обгорток Long.</p>
+ */
+final class LongTextWriter {
+    /** Максимальна довжина запису одного значення: знак, 19 цифр і символ нового рядка. */
+    private static final int MAX_ENTRY_LENGTH = 21;
+
+    private final WritableByteChannel channel;
+    private final ByteBuffer writeBuffer;
+    private final byte[] digits = new byte[MAX_ENTRY_LENGTH];
+
+    /**
+     * Створює об'єкт для запису в канал.
+     *
+     * @param channel Канал для запису, який закриває власник
+     * @param bufferSize Розмір буфера запису в байтах
+     */
+    LongTextWriter(WritableByteChannel channel, int bufferSize) {
+        this.channel = channel;
+        this.writeBuffer = ByteBuffer.allocateDirect(Math.max(bufferSize, MAX_ENTRY_LENGTH));
+    }
+
+    /**
+     * Записує значення окремим рядком.
+     *
+     * @param value Значення для запису
+     * @throws IOException якщо запис до каналу не вдався
+     */
+    void write(long value) throws IOException {
+        if (writeBuffer.remaining() < MAX_ENTRY_LENGTH) {
+            flush();
+        }
+
+        int position = digits.length;
+        digits[--position] = '\n';
+
+        // цифри формуються з від'ємного значення, щоб коректно обробити Long.MIN_VALUE
+        long remainder = value < 0 ? value : -value;
+        do {
+            digits[--position] = (byte) ('0' - remainder % 10);
+            remainder /= 10;
+        } while (remainder != 0);
+
+        if (value < 0) {
+            digits[--position] = '-';
+        }
+        writeBuffer.put(digits, position, digits.length - position);
+    }
+
+    /**
+     * Записує всі значення масиву.
+     *
+     * @param longArray Масив значень long
+     * @throws IOException якщо запис до каналу не вдався
+     */
+    void writeAll(long[] longArray) throws IOException {
+        for (long value : longArray) {
+            write(value);
+        }
+    }
+
+    /**
+     * Передає накопичені байти до каналу.
+     *
+     * @throws IOException якщо запис до каналу не вдався
+     */
+    void flush() throws IOException {
+        writeBuffer.flip();
+        while (writeBuffer.hasRemaining()) {
+            channel.write(writeBuffer);
+        }
+        writeBuffer.clear();
+    }
+}
@@ -0,0 +1,214 @@
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+
+/**
+ * Клас LongTopK відбирає K найбільших або K найменших значень потоку long за один
+ * прохід з пам'яттю O(K).
+ *
+ * <p>Відібрані значення зберігаються в обмеженій {@link LongDaryHeap}, в корені якої
+ * лежить найгірше з них. Нове значення порівнюється лише з коренем і, якщо воно
+ * краще, замінює його одним просіюванням ({@link LongDaryHeap#replaceHead(long)}),
+ * тож відбір з n значень займає O(n log K), а для більшості значень - одне порівняння.
+ * Для K найменших у купі зберігається побітове доповнення значення (~x), яке обертає
+ * порядок на всьому діапазоні long без переповнення, тому обидва напрямки
+ * використовують ту саму купу з найменшим у корені.</p>
+ *
+ * <p>Паралельний потік обробляється через {@link #collect(LongStream, int, Order)}:
+ * стільки задач, скільки потоків у спільному пулі, по черзі беруть порції значень
+ * з джерела у власні купи, які наприкінці зливаються. Тому кількість куп не
+ * залежить від кількості порцій, а купа росте з розміром відбору, а не виділяється
+ * на K значень одразу. Клас не синхронізований.</p>
+ */
+public class LongTopK implements LongConsumer {
+
+    /**
+     * Які значення відбираються.
+     */
+    public enum Order {
+        /** K найбільших значень. */
+        LARGEST,
+        /** K найменших значень. */
+        SMALLEST
+    }
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final int k;
+    private final Order order;
+    private final LongDaryHeap heap;
+    private long count;
+
+    /**
+     * Створює порожній відбір.
+     *
+     * @param k Кількість значень, що відбираються, не менше 0
+     * @param order Відбирати найбільші чи найменші значення
+     */
+    public LongTopK(int k, Order order) {
+        if (k < 0) {
+            throw new IllegalArgumentException("Від'ємна кількість значень: " + k);
+        }
+        this.k = k;
+        this.order = order;
+        this.heap = new LongDaryHeap(LongDaryHeap.DEFAULT_ARITY, Math.min(k, INITIAL_CAPACITY));
+    }
+
+    /**
+     * Відбирає K значень з потоку і закриває його.
+     *
+     * <p>Паралельний потік обробляють {@link ForkJoinPool#getCommonPoolParallelism()}
+     * задач спільного пулу з власним відбором кожна, тож одночасно існує не більше
+     * відборів, ніж рівень паралельності, незалежно від того, на скільки порцій
+     * ділиться потік.</p>
+     *
+     * @param longStream Потік значень
+     * @param k Кількість значень
+     * @param order Відбирати найбільші чи найменші значення
+     * @return Відбір з результатом
+     */
+    public static LongTopK collect(LongStream longStream, int k, Order order) {
+        try (LongStream stream = longStream) {
+            if (!stream.isParallel()) {
+                LongTopK selection = new LongTopK(k, order);
+                stream.forEach(selection);
+                return selection;
+            }
+            return collectInParallel(stream.spliterator(), k, order);
+        }
+    }
+
+    private static LongTopK collectInParallel(Spliterator.OfLong source, int k, Order order) {
+        PartialSelection[] partials = new PartialSelection[Math.max(1, ForkJoinPool.getCommonPoolParallelism())];
+        for (int index = 0; index < partials.length; index++) {
+            partials[index] = new PartialSelection(source, new LongTopK(k, order));
+        }
+        ForkJoinTask.invokeAll(partials);
+
+        LongTopK result = partials[0].selection;
+        for (int index = 1; index < partials.length; index++) {
+            result.combine(partials[index].selection);
+        }
+        return result;
+    }
+
+    /**
+     * Враховує значення потоку за O(log K), а якщо воно гірше за відібрані - за O(1).
+     *
+     * @param value Значення
+     */
+    @Override
+    public void accept(long value) {
+        count++;
+        offerEncoded(encode(value));
+    }
+
+    /**
+     * Додає до відбору значення іншого відбору з тим самим K і напрямком.
+     *
+     * @param other Інший відбір
+     * @return Цей відбір
+     */
+    public LongTopK combine(LongTopK other) {
+        if (other.k != k || other.order != order) {
+            throw new IllegalArgumentException("Не можна злити відбори з різними параметрами");
+        }
+        for (long encoded : other.heap.toArray()) {
+            offerEncoded(encoded);
+        }
+        count += other.count;
+        return this;
+    }
+
+    private void offerEncoded(long encoded) {
+        if (heap.size() < k) {
+            heap.offer(encoded);
+        } else if (k > 0 && encoded > heap.peek()) {
+            heap.replaceHead(encoded);
+        }
+    }
+
+    private long encode(long value) {
+        return order == Order.LARGEST ? value : ~value;
+    }
+
+    /**
+     * Повертає відібрані значення від найкращого: за спаданням для найбільших,
+     * за зростанням для найменших. Відбір при цьому не змінюється.
+     */
+    public long[] toArray() {
+        long[] encoded = new LongDaryHeap(heap.toArray()).drainToArray();
+        long[] values = new long[encoded.length];
+        for (int index = 0; index < encoded.length; index++) {
+            // купа віддає значення від найгіршого, тому порядок обертається
+            values[encoded.length - 1 - index] = encode(encoded[index]);
+        }
+        return values;
+    }
+
+    /**
+     * Повертає K-те найкраще значення (межу відбору).
+     *
+     * @throws java.util.NoSuchElementException якщо відбір порожній
+     */
+    public long threshold() {
+        return encode(heap.peek());
+    }
+
+    /**
+     * Повертає кількість відібраних значень: K або менше, якщо потік коротший.
+     */
+    public int size() {
+        return heap.size();
+    }
+
+    /**
+     * Повертає кількість переглянутих значень потоку.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    public int getK() {
+        return k;
+    }
+
+    public Order getOrder() {
+        return order;
+    }
+
+    /**
+     * Задача fork-join, що по черзі відокремлює порції значень від спільного джерела
+     * і додає їх до власного відбору.
+     */
+    private static final class PartialSelection extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Spliterator.OfLong source;
+        private final LongTopK selection;
+
+        PartialSelection(Spliterator.OfLong source, LongTopK selection) {
+            this.source = source;
+            this.selection = selection;
+        }
+
+        @Override
+        protected void compute() {
+            while (true) {
+                Spliterator.OfLong portion;
+                synchronized (source) {
+                    portion = source.trySplit();
+                    if (portion == null) {
+                        // джерело більше не ділиться, тож залишок обробляється під блокуванням
+                        source.forEachRemaining(selection);
+                        return;
+                    }
+                }
+                portion.forEachRemaining(selection);
+            }
+        }
+    }
+}
@@ -0,0 +1,238 @@
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Клас MetricsRegistry зберігає гістограми тривалостей, згруповані за назвою операції.
+ *
+ * <p>Гістограма створюється під час першого запису для нової назви. Подальші записи
+ * лише шукають наявну гістограму та збільшують її лічильники без виділення пам'яті.
+ * Звіт формується на вимогу і не впливає на вимірювання.</p>
+ */
+public class MetricsRegistry {
+    private static final String REPORT_FORMAT = "%-60s %8s %12s %12s %12s %12s %12s %14s%n";
+    private static final String ROW_FORMAT = "%-60s %8d %12d %12d %12d %12d %12d %14.1f%n";
+
+    private static final String ALLOCATION_REPORT_FORMAT = "%-60s %8s %16s %16s %16s %10s %10s%n";
+    private static final String ALLOCATION_ROW_FORMAT = "%-60s %8d %16d %16.1f %16d %10d %10d%n";
+
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private final Map<String, AllocationTotals> allocations = new ConcurrentHashMap<>();
+    private final Map<String, OperationDescription> descriptions = new ConcurrentHashMap<>();
+
+    /**
+     * Опис операції: тип структури даних і кількість елементів під час останнього запису.
+     * Якщо операція з однаковою назвою виконувалась над різними структурами, їхні
+     * типи перелічуються через "/".
+     */
+    public static final class OperationDescription {
+        private volatile String structureType;
+        private volatile long elementCount = -1;
+
+        synchronized void update(String structureType, long elementCount) {
+            if (this.structureType == null) {
+                this.structureType = structureType;
+            } else if (!containsPart(this.structureType, structureType)) {
+                this.structureType = this.structureType + "/" + structureType;
+            }
+            if (elementCount >= 0) {
+                this.elementCount = elementCount;
+            }
+        }
+
+        private static boolean containsPart(String joinedTypes, String structureType) {
+            int partStart = 0;
+            while (partStart <= joinedTypes.length()) {
+                int partEnd = joinedTypes.indexOf('/', partStart);
+                if (partEnd < 0) {
+                    partEnd = joinedTypes.length();
+                }
+                if (partEnd - partStart == structureType.length()
+                        && joinedTypes.regionMatches(partStart, structureType, 0, structureType.length())) {
+                    return true;
+                }
+                partStart = partEnd + 1;
+            }
+            return false;
+        }
+
+        public String getStructureType() {
+            return structureType;
+        }
+
+        public long getElementCount() {
+            return elementCount;
+        }
+    }
+
+    /**
+     * Сумарні показники виділення пам'яті та збирання сміття однієї операції.
+     */
+    public static final class AllocationTotals {
+        private long count;
+        private long totalBytes;
+        private long maxBytes;
+        private long gcCount;
+        private long gcTimeMillis;
+
+        synchronized void record(long allocatedBytes, long gcCountDelta, long gcTimeDelta) {
+            count++;
+            totalBytes += allocatedBytes;
+            maxBytes = Math.max(maxBytes, allocatedBytes);
+            gcCount += gcCountDelta;
+            gcTimeMillis += gcTimeDelta;
+        }
+
+        public synchronized long getCount() {
+            return count;
+        }
+
+        public synchronized long getTotalBytes() {
+            return totalBytes;
+        }
+
+        public synchronized long getMaxBytes() {
+            return maxBytes;
+        }
+
+        public synchronized double getMeanBytes() {
+            return count == 0 ? 0.0 : (double) totalBytes / count;
+        }
+
+        public synchronized long getGcCount() {
+            return gcCount;
+        }
+
+        public synchronized long getGcTimeMillis() {
+            return gcTimeMillis;
+        }
+    }
+
+    /**
+     * Записує тривалість операції.
+     *
+     * @param operationName Назва операції
+     * @param durationNanos Тривалість у наносекундах
+     */
+    public void record(String operationName, long durationNanos) {
+        getHistogram(operationName).record(durationNanos);
+    }
+
+    /**
+     * Записує виділену пам'ять і зміни лічильників GC за час операції.
+     *
+     * @param operationName Назва операції
+     * @param allocatedBytes Байти, виділені потоком операції
+     * @param gcCount Кількість збирань сміття за час операції
+     * @param gcTimeMillis Тривалість збирань сміття в мілісекундах
+     */
+    public void recordAllocation(String operationName, long allocatedBytes, long gcCount, long gcTimeMillis) {
+        AllocationTotals totals = allocations.get(operationName);
+        if (totals == null) {
+            totals = allocations.computeIfAbsent(operationName, name -> new AllocationTotals());
+        }
+        totals.record(allocatedBytes, gcCount, gcTimeMillis);
+    }
+
+    /**
+     * Записує тип структури даних і кількість елементів операції.
+     *
+     * @param operationName Назва операції
+     * @param structureType Тип структури даних
+     * @param elementCount Кількість елементів, -1 якщо невідомо
+     */
+    public void describe(String operationName, String structureType, long elementCount) {
+        OperationDescription description = descriptions.get(operationName);
+        if (description == null) {
+            description = descriptions.computeIfAbsent(operationName, name -> new OperationDescription());
+        }
+        description.update(structureType, elementCount);
+    }
+
+    /**
+     * Повертає опис операції або null, якщо його не записано.
+     *
+     * @param operationName Назва операції
+     */
+    public OperationDescription getDescription(String operationName) {
+        return descriptions.get(operationName);
+    }
+
+    /**
+     * Повертає показники виділення пам'яті операції або null, якщо їх не записано.
+     *
+     * @param operationName Назва операції
+     */
+    public AllocationTotals getAllocationTotals(String operationName) {
+        return allocations.get(operationName);
+    }
+
+    /**
+     * Повертає гістограму операції, створюючи її за потреби.
+     *
+     * @param operationName Назва операції
+     * @return Гістограма тривалостей операції
+     */
+    public LatencyHistogram getHistogram(String operationName) {
+        LatencyHistogram histogram = histograms.get(operationName);
+        if (histogram == null) {
+            histogram = histograms.computeIfAbsent(operationName, name -> new LatencyHistogram());
+        }
+        return histogram;
+    }
+
+    /**
+     * Повертає назви операцій, для яких є записи, в алфавітному порядку.
+     */
+    public List<String> getOperationNames() {
+        List<String> operationNames = new ArrayList<>(histograms.keySet());
+        Collections.sort(operationNames);
+        return operationNames;
+    }
+
+    /**
+     * Виводить звіт з кількістю записів, процентилями та середнім значенням у наносекундах.
+     *
+     * @param output Потік для виведення звіту
+     */
+    public void printReport(PrintStream output) {
+        output.println("\n========= Статистика тривалості операцій (нс) =========");
+        output.printf(REPORT_FORMAT, "операція", "к-сть", "p50", "p90", "p99", "p999", "max", "середнє");
+
+        for (String operationName : getOperationNames()) {
+            LatencyHistogram histogram = histograms.get(operationName);
+            output.printf(ROW_FORMAT, operationName, histogram.getTotalCount(),
+                    histogram.getValueAtPercentile(50.0), histogram.getValueAtPercentile(90.0),
+                    histogram.getValueAtPercentile(99.0), histogram.getValueAtPercentile(99.9),
+                    histogram.getMax(), histogram.getMean());
+        }
+
+        if (allocations.isEmpty()) {
+            return;
+        }
+
+        output.println("\n========= Виділення пам'яті та збирання сміття =========");
+        output.printf(ALLOCATION_REPORT_FORMAT, "операція", "к-сть", "всього, байт", "середнє, байт",
+                "max, байт", "GC", "GC, мс");
+
+        for (String operationName : getOperationNames()) {
+            AllocationTotals totals = allocations.get(operationName);
+            if (totals != null) {
+                output.printf(ALLOCATION_ROW_FORMAT, operationName, totals.getCount(), totals.getTotalBytes(),
+                        totals.getMeanBytes(), totals.getMaxBytes(), totals.getGcCount(), totals.getGcTimeMillis());
+            }
+        }
+    }
+
+    /**
+     * Видаляє всі накопичені гістограми, показники виділення пам'яті та описи операцій.
+     */
+    public void reset() {
+        histograms.clear();
+        allocations.clear();
+        descriptions.clear();
+    }
+}
@@ -1,16 +1,247 @@
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import jdk.jfr.EventType;
+
 /**
  * Клас PerformanceTracker відстежує продуктивність операцій з даними.
+ *
+ * <p>Кожне вимірювання записується до гістограми операції в {@link MetricsRegistry},
+ * тож після багатьох запусків можна отримати процентилі тривалості, а не лише
+ * останнє значення. Виведення кожного вимірювання в консоль можна вимкнути,
+ * щоб друк не впливав на наступні вимірювання.</p>
+ *
+ * <p>Якщо операція розпочата через {@link #startOperation()}, разом із тривалістю
+ * фіксуються байти, виділені поточним потоком, а також кількість і тривалість
+ * збирань сміття за час операції. Лічильники GC спільні для всієї JVM, тож
+ * враховують і збирання, спричинені іншими потоками.</p>
+ *
+ * <p>Для таких операцій також створюється подія {@link DataOperationEvent}, якщо
+ * запис JDK Flight Recorder увімкнено.</p>
+ *
+ * <p>Щоб обчислення аргументів звіту не потрапляло у вимірювання, кінець операції
+ * фіксується окремо:</p>
+ * <pre>
+ * {@code
+ * long timeStart = PerformanceTracker.startOperation();
+ * int position = Arrays.binarySearch(values, key);
+ * PerformanceTracker.finishOperation(timeStart);
+ * PerformanceTracker.displayOperationTime(timeStart, "пошук", "long[]", values.length, position);
+ * }
+ * </pre>
  */
 public class PerformanceTracker {
+    private static final MetricsRegistry registry = new MetricsRegistry();
+    private static volatile boolean consoleOutput = true;
+
+    private static final com.sun.management.ThreadMXBean threadBean = allocationTrackingBean();
+    private static final List<GarbageCollectorMXBean> collectorBeans = ManagementFactory.getGarbageCollectorMXBeans();
+    private static final ThreadLocal<OperationSnapshot> snapshots = ThreadLocal.withInitial(OperationSnapshot::new);
+    private static final EventType operationEventType = EventType.getEventType(DataOperationEvent.class);
+
+    /**
+     * Стан потоку на початку і в кінці операції. Один об'єкт на потік використовується
+     * повторно.
+     */
+    private static final class OperationSnapshot {
+        long startTime;
+        long allocatedBytes;
+        long gcCount;
+        long gcTimeMillis;
+        DataOperationEvent event;
+
+        // заповнюються в finishOperation для операції з початком finishedStartTime
+        long finishedStartTime;
+        long elapsedTime;
+        boolean countersCaptured;
+        long allocatedDelta;
+        long gcCountDelta;
+        long gcTimeDelta;
+    }
+
+    /**
+     * Фіксує початок операції: виділену потоком пам'ять, лічильники GC і поточний час.
+     * Подія JFR створюється лише тоді, коли її запис увімкнено.
+     *
+     * @return Початковий час операції в наносекундах для {@link #displayOperationTime}
+     */
+    public static long startOperation() {
+        OperationSnapshot snapshot = snapshots.get();
+        if (operationEventType.isEnabled()) {
+            DataOperationEvent event = new DataOperationEvent();
+            event.begin();
+            snapshot.event = event;
+        } else {
+            snapshot.event = null;
+        }
+        snapshot.finishedStartTime = 0;
+        snapshot.allocatedBytes = currentThreadAllocatedBytes();
+        snapshot.gcCount = totalGcCount();
+        snapshot.gcTimeMillis = totalGcTimeMillis();
+        snapshot.startTime = System.nanoTime();
+        return snapshot.startTime;
+    }
+
+    /**
+     * Фіксує кінець операції: спершу поточний час, потім виділену пам'ять і лічильники GC.
+     *
+     * <p>Виклик перед {@link #displayOperationTime} виключає з вимірювання обчислення
+     * його аргументів (об'єднання рядків, упаковку результату), бо тоді
+     * displayOperationTime використовує вже зафіксовані значення.</p>
+     *
+     * @param startTime Початковий час операції в наносекундах.
+     * @return Тривалість операції в наносекундах.
+     */
+    public static long finishOperation(long startTime) {
+        long finishTime = System.nanoTime();
+        OperationSnapshot snapshot = snapshots.get();
+        snapshot.finishedStartTime = startTime;
+        snapshot.elapsedTime = finishTime - startTime;
+
+        // лічильники знімаються до запису в реєстр, бо перший запис створює гістограму
+        snapshot.countersCaptured = snapshot.startTime == startTime;
+        if (snapshot.countersCaptured) {
+            snapshot.allocatedDelta = Math.max(0, currentThreadAllocatedBytes() - snapshot.allocatedBytes);
+            snapshot.gcCountDelta = totalGcCount() - snapshot.gcCount;
+            snapshot.gcTimeDelta = totalGcTimeMillis() - snapshot.gcTimeMillis;
+            if (snapshot.event != null) {
+                snapshot.event.end();
+            }
+        }
+        return snapshot.elapsedTime;
+    }
+
     /**
      * Відображає тривалість виконання операції в наносекундах.
-     * 
+     *
+     * <p>Якщо startTime отримано з {@link #startOperation()} у цьому ж потоці, додатково
+     * записуються виділена пам'ять і зміни лічильників GC.</p>
+     *
      * @param startTime Початковий час операції в наносекундах.
      * @param operationName Назва операції.
      */
     public static void displayOperationTime(long startTime, String operationName) {
-        long finishTime = System.nanoTime();
-        long executionTime = (finishTime - startTime);
-        System.out.println("\n========= Тривалість операції '" + operationName + "': " + executionTime + " нс =========");
+        displayOperationTime(startTime, operationName, null, -1, null);
+    }
+
+    /**
+     * Відображає тривалість виконання операції та фіксує подію JFR з описом операції.
+     * Якщо для startTime вже викликано {@link #finishOperation(long)}, використовується
+     * зафіксований там кінець операції, інакше він фіксується на початку цього методу.
+     *
+     * @param startTime Початковий час операції в наносекундах.
+     * @param operationName Назва операції.
+     * @param structureType Тип структури даних.
+     * @param elementCount Кількість елементів у структурі, -1 якщо невідомо.
+     * @param result Результат операції.
+     */
+    public static void displayOperationTime(long startTime, String operationName,
+            String structureType, long elementCount, Object result) {
+        OperationSnapshot snapshot = snapshots.get();
+        if (snapshot.finishedStartTime != startTime) {
+            finishOperation(startTime);
+        }
+        snapshot.finishedStartTime = 0;
+        long executionTime = snapshot.elapsedTime;
+
+        registry.record(operationName, executionTime);
+        if (structureType != null) {
+            registry.describe(operationName, structureType, elementCount);
+        }
+
+        if (!snapshot.countersCaptured) {
+            if (consoleOutput) {
+                System.out.println("\n========= Тривалість операції '" + operationName + "': " + executionTime + " нс =========");
+            }
+            return;
+        }
+
+        long allocatedBytes = snapshot.allocatedDelta;
+        long gcCount = snapshot.gcCountDelta;
+        long gcTimeMillis = snapshot.gcTimeDelta;
+        snapshot.startTime = 0;
+        snapshot.countersCaptured = false;
+        registry.recordAllocation(operationName, allocatedBytes, gcCount, gcTimeMillis);
+
+        DataOperationEvent event = snapshot.event;
+        snapshot.event = null;
+        if (event != null && event.shouldCommit()) {
+            event.operation = operationName;
+            event.structure = structureType;
+            event.elementCount = elementCount;
+            event.result = result == null ? null : String.valueOf(result);
+            event.commit();
+        }
+
+        if (consoleOutput) {
+            System.out.println("\n========= Тривалість операції '" + operationName + "': " + executionTime + " нс"
+                    + ", виділено: " + allocatedBytes + " байт, GC: " + gcCount + " (" + gcTimeMillis + " мс) =========");
+        }
+    }
+
+    /**
+     * Вмикає або вимикає виведення тривалості кожної операції в консоль.
+     * Запис до гістограм виконується незалежно від цього параметра.
+     *
+     * @param enabled true, щоб виводити кожне вимірювання
+     */
+    public static void setConsoleOutput(boolean enabled) {
+        consoleOutput = enabled;
+    }
+
+    /**
+     * Виводить у консоль звіт з процентилями тривалості всіх операцій.
+     */
+    public static void printReport() {
+        registry.printReport(System.out);
+    }
+
+    public static MetricsRegistry getRegistry() {
+        return registry;
+    }
+
+    /**
+     * Повертає ThreadMXBean з підтримкою обліку виділеної пам'яті або null, якщо JVM її не надає.
+     */
+    private static com.sun.management.ThreadMXBean allocationTrackingBean() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+            return null;
+        }
+        com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) bean;
+        if (!allocationBean.isThreadAllocatedMemorySupported()) {
+            return null;
+        }
+        if (!allocationBean.isThreadAllocatedMemoryEnabled()) {
+            allocationBean.setThreadAllocatedMemoryEnabled(true);
+        }
+        return allocationBean;
+    }
+
+    /**
+     * Повертає кількість байтів, виділених поточним потоком, або 0, якщо облік недоступний.
+     */
+    static long currentThreadAllocatedBytes() {
+        return threadBean == null ? 0 : threadBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * Повертає сумарну кількість збирань сміття всіма збирачами.
+     */
+    static long totalGcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean collectorBean : collectorBeans) {
+            count += Math.max(0, collectorBean.getCollectionCount());
+        }
+        return count;
+    }
+
+    private static long totalGcTimeMillis() {
+        long time = 0;
+        for (GarbageCollectorMXBean collectorBean : collectorBeans) {
+            time += Math.max(0, collectorBean.getCollectionTime());
+        }
+        return time;
     }
 }
\ No newline at end of file
@@ -0,0 +1,195 @@
+import java.util.Arrays;
+
+/**
+ * Клас PiecewiseLinearIndex - навчений індекс у стилі PGM: кусково-лінійна модель
+ * передбачає позицію ключа у впорядкованому масиві з обмеженою похибкою.
+ *
+ * <p>Під час побудови масив один раз проходиться жадібним алгоритмом «звуженого конуса»:
+ * сегмент продовжується, доки існує нахил прямої, що проходить від першої точки сегмента
+ * не далі ніж на ε позицій від кожної наступної точки. Для кожного сегмента зберігаються
+ * перший ключ, перша позиція, нахил і фактична найбільша похибка, обчислена тією самою
+ * арифметикою, що й під час пошуку.</p>
+ *
+ * <p>Пошук знаходить сегмент бінарним пошуком серед перших ключів сегментів (для
+ * рівномірних даних їх кілька), обчислює передбачену позицію і виконує бінарний пошук
+ * лише у вікні ±похибка навколо неї. Якщо межі вікна показують, що перше входження
+ * лежить поза ним (можливо для ключів, яких немає в даних), виконується повний
+ * бінарний пошук - тому результат завжди правильний, а на нерівномірних даних
+ * модель лише містить більше сегментів.</p>
+ *
+ * <p>Індекс не копіює масив значень, тому його не слід змінювати, поки індекс
+ * використовується. Лічильники запитів накопичуються без синхронізації.</p>
+ */
+public final class PiecewiseLinearIndex implements SortedLongIndex {
+    /** Допустима похибка моделі в позиціях за замовчуванням. */
+    public static final int DEFAULT_EPSILON = 32;
+
+    private final long[] values;
+    private final int size;
+    private final int epsilon;
+
+    private final long[] segmentKeys;
+    private final int[] segmentPositions;
+    private final double[] segmentSlopes;
+    private final int[] segmentErrors;
+    private final int segmentCount;
+
+    private final int maxError;
+    private final double meanError;
+    private long queryCount;
+    private long fallbackCount;
+
+    /**
+     * Будує модель для перших size елементів впорядкованого масиву з похибкою {@value #DEFAULT_EPSILON}.
+     *
+     * @param sortedValues Масив, впорядкований за зростанням
+     * @param size Кількість елементів
+     */
+    public PiecewiseLinearIndex(long[] sortedValues, int size) {
+        this(sortedValues, size, DEFAULT_EPSILON);
+    }
+
+    /**
+     * Будує модель для перших size елементів впорядкованого масиву.
+     *
+     * @param sortedValues Масив, впорядкований за зростанням
+     * @param size Кількість елементів
+     * @param epsilon Допустима похибка моделі в позиціях, не менше 1
+     */
+    public PiecewiseLinearIndex(long[] sortedValues, int size, int epsilon) {
+        if (epsilon < 1) {
+            throw new IllegalArgumentException("Похибка моделі має бути додатною: " + epsilon);
+        }
+        this.values = sortedValues;
+        this.size = size;
+        this.epsilon = epsilon;
+
+        long[] keys = new long[16];
+        int[] positions = new int[16];
+        double[] slopes = new double[16];
+        int count = 0;
+
+        int position = 0;
+        while (position < size) {
+            long firstKey = sortedValues[position];
+            int firstPosition = position;
+            double minSlope = 0;
+            double maxSlope = Double.POSITIVE_INFINITY;
+
+            // до сегмента потрапляють лише перші входження ключів
+            position = nextDistinct(sortedValues, size, position);
+            while (position < size) {
+                double distance = InterpolationIndex.unsignedDistance(sortedValues[position], firstKey);
+                double offset = position - firstPosition;
+                double lower = Math.max(minSlope, (offset - epsilon) / distance);
+                double upper = Math.min(maxSlope, (offset + epsilon) / distance);
+                if (lower > upper) {
+                    break;
+                }
+                minSlope = lower;
+                maxSlope = upper;
+                position = nextDistinct(sortedValues, size, position);
+            }
+
+            if (count == keys.length) {
+                keys = Arrays.copyOf(keys, count * 2);
+                positions = Arrays.copyOf(positions, count * 2);
+                slopes = Arrays.copyOf(slopes, count * 2);
+            }
+            keys[count] = firstKey;
+            positions[count] = firstPosition;
+            slopes[count] = maxSlope == Double.POSITIVE_INFINITY ? 0 : (minSlope + maxSlope) / 2;
+            count++;
+        }
+
+        this.segmentKeys = Arrays.copyOf(keys, count);
+        this.segmentPositions = Arrays.copyOf(positions, count);
+        this.segmentSlopes = Arrays.copyOf(slopes, count);
+        this.segmentErrors = new int[count];
+        this.segmentCount = count;
+
+        // фактична похибка кожного сегмента з урахуванням округлення при пошуку
+        int largestError = 0;
+        long errorSum = 0;
+        int distinctKeys = 0;
+        for (int segment = 0; segment < count; segment++) {
+            int end = segment + 1 < count ? segmentPositions[segment + 1] : size;
+            int error = 0;
+            for (int index = segmentPositions[segment]; index < end; index = nextDistinct(sortedValues, end, index)) {
+                int deviation = Math.abs(predict(segment, sortedValues[index]) - index);
+                error = Math.max(error, deviation);
+                errorSum += deviation;
+                distinctKeys++;
+            }
+            segmentErrors[segment] = error;
+            largestError = Math.max(largestError, error);
+        }
+        this.maxError = largestError;
+        this.meanError = distinctKeys == 0 ? 0 : (double) errorSum / distinctKeys;
+    }
+
+    @Override
+    public int indexOf(long key) {
+        queryCount++;
+        if (size == 0 || key < segmentKeys[0]) {
+            return -1;
+        }
+
+        int segment = LongSearchIndex.lowerBound(segmentKeys, segmentCount, key);
+        if (segment == segmentCount || segmentKeys[segment] != key) {
+            segment--;
+        }
+
+        int predicted = predict(segment, key);
+        int error = segmentErrors[segment];
+        int from = Math.max(0, predicted - error);
+        int to = (int) Math.min(size, (long) predicted + error + 1);
+        int position = LongSearchIndex.lowerBound(values, from, to, key);
+
+        // перше входження може лежати поза вікном для ключів, яких немає серед точок моделі
+        if ((position > 0 && values[position - 1] >= key) || (position < size && values[position] < key)) {
+            fallbackCount++;
+            position = LongSearchIndex.lowerBound(values, size, key);
+        }
+        return position < size && values[position] == key ? position : -1;
+    }
+
+    private int predict(int segment, long key) {
+        double predicted = segmentPositions[segment]
+                + segmentSlopes[segment] * InterpolationIndex.unsignedDistance(key, segmentKeys[segment]);
+        return (int) Math.min(size, Math.max(0, Math.round(predicted)));
+    }
+
+    private static int nextDistinct(long[] values, int size, int position) {
+        long value = values[position];
+        do {
+            position++;
+        } while (position < size && values[position] == value);
+        return position;
+    }
+
+    public int getSegmentCount() {
+        return segmentCount;
+    }
+
+    public int getMaxError() {
+        return maxError;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Layout layout() {
+        return Layout.LEARNED;
+    }
+
+    @Override
+    public String getStatistics() {
+        return String.format("сегментів %d, ε = %d, найбільша похибка %d, середня похибка %.2f, "
+                + "запитів %d, повних бінарних пошуків %d",
+                segmentCount, epsilon, maxError, meanError, queryCount, fallbackCount);
+    }
+}
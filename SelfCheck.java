@@ -0,0 +1,854 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Клас SelfCheck перевіряє алгоритми проєкту на випадкових даних, порівнюючи їхні
+ * результати з еталонними засобами JDK: {@link Arrays#sort}, {@link Arrays#binarySearch},
+ * {@link PriorityQueue} та {@link TreeMap}.
+ *
+ * <p>Перевіряються порозрядне сортування, статичні індекси пошуку, перехід пошуку
+ * до фонового індексу, купи, стиснений
+ * формат, двійкові файли з контрольною сумою, кеш впорядкованих даних, режими
+ * завантаження файлу, зовнішнє сортування та паралельний відбір K значень. Для кожного
+ * алгоритму виводиться результат, а за наявності помилок програма завершується з кодом 1.
+ * Початкове значення генератора виводиться на початку, щоб помилку можна було відтворити.</p>
+ *
+ * <p>Приклад використання:</p>
+ * <pre>
+ * {@code
+ * java SelfCheck
+ * java SelfCheck 12345
+ * }
+ * </pre>
+ */
+public class SelfCheck {
+    private static final String USAGE_MESSAGE = "Використання: java SelfCheck [початкове значення генератора]";
+
+    private static final int RANDOM_ARRAYS = 40;
+    private static final int MAX_ARRAY_SIZE = 20_000;
+    private static final int SEARCH_KEYS = 200;
+    private static final int HEAP_OPERATIONS = 20_000;
+    // файл такого розміру розбирається паралельно, а зовнішнє сортування з найменшим бюджетом зливає серії у два проходи
+    private static final int LARGE_FILE_VALUES = 2_000_000;
+    private static final int MAX_REPORTED_FAILURES = 20;
+    private static final long INDEX_BUILD_TIMEOUT_MILLIS = 10_000;
+
+    /**
+     * Перевірка одного алгоритму.
+     */
+    @FunctionalInterface
+    private interface Check {
+        void run() throws Exception;
+    }
+
+    private final Random random;
+    private final Path workDirectory;
+    private Path sourceFile;
+    private SortedDataCache.Fingerprint sourceFingerprint;
+    private Path largeFile;
+    private long[] largeValues;
+    private int checks;
+    private int failures;
+
+    private SelfCheck(Random random, Path workDirectory) {
+        this.random = random;
+        this.workDirectory = workDirectory;
+    }
+
+    public static void main(String[] args) throws IOException {
+        long seed;
+        try {
+            seed = args.length > 0 ? Long.parseLong(args[0]) : System.nanoTime();
+        } catch (NumberFormatException e) {
+            System.out.println(USAGE_MESSAGE);
+            return;
+        }
+        System.out.println("Початкове значення генератора: " + seed);
+
+        Path workDirectory = Files.createTempDirectory("self-check");
+        SelfCheck selfCheck = new SelfCheck(new Random(seed), workDirectory);
+        try {
+            selfCheck.runAll();
+        } finally {
+            deleteRecursively(workDirectory);
+        }
+
+        if (selfCheck.failures > 0) {
+            System.out.println("❌ Помилок: " + selfCheck.failures + " з " + selfCheck.checks + " перевірок");
+            System.exit(1);
+        }
+        System.out.println("✅ Усі " + selfCheck.checks + " перевірок пройдено");
+    }
+
+    private void runAll() throws IOException {
+        prepareFiles();
+
+        run("LongSorter", this::checkSorter);
+        run("SortedLongIndex", this::checkSortedIndexes);
+        run("LongSearchIndex", this::checkSearchIndex);
+        run("LongIndexedHeap", this::checkIndexedHeap);
+        run("LongDaryHeap", this::checkDaryHeap);
+        run("SortedLongCodec", this::checkCodec);
+        run("BinaryLongFile", this::checkBinaryFile);
+        run("SortedDataCache", this::checkCache);
+        run("DataFileHandler", this::checkLoadModes);
+        run("ExternalLongSorter", this::checkExternalSort);
+        run("LongTopK", this::checkTopK);
+    }
+
+    /**
+     * Створює вихідний файл для відбитків і великий файл даних, спільний для перевірок
+     * завантаження, зовнішнього сортування та відбору.
+     */
+    private void prepareFiles() throws IOException {
+        sourceFile = workDirectory.resolve("source.data");
+        DataFileHandler.writeLongArrayToFile(randomArray(100), sourceFile.toString());
+        sourceFingerprint = SortedDataCache.Fingerprint.of(sourceFile.toString());
+
+        largeValues = new long[LARGE_FILE_VALUES];
+        for (int index = 0; index < largeValues.length; index++) {
+            largeValues[index] = random.nextLong();
+        }
+        largeFile = workDirectory.resolve("large.data");
+        DataFileHandler.writeLongArrayToFile(largeValues, largeFile.toString());
+    }
+
+    private void run(String name, Check check) {
+        int failuresBefore = failures;
+        long timeStart = System.nanoTime();
+        try {
+            check.run();
+        } catch (Exception | AssertionError e) {
+            fail("неочікуваний виняток " + e);
+        }
+        long elapsedMillis = (System.nanoTime() - timeStart) / 1_000_000;
+
+        if (failures == failuresBefore) {
+            System.out.println("✅ " + name + " (" + elapsedMillis + " мс)");
+        } else {
+            System.out.println("❌ " + name + ": помилок " + (failures - failuresBefore));
+        }
+    }
+
+    private boolean expect(boolean condition, String message) {
+        checks++;
+        if (!condition) {
+            fail(message);
+        }
+        return condition;
+    }
+
+    private boolean expectEqual(long[] expected, long[] actual, String message) {
+        int mismatch = Arrays.mismatch(expected, actual);
+        return expect(mismatch < 0, message + ": розбіжність на позиції " + mismatch
+                + " (очікувано " + expected.length + " значень, отримано " + actual.length + ")");
+    }
+
+    private void fail(String message) {
+        failures++;
+        if (failures <= MAX_REPORTED_FAILURES) {
+            System.out.println("   " + message);
+        }
+    }
+
+    /**
+     * Порозрядне сортування, вибір алгоритму за розміром і сортування з індексами
+     * порівнюються з {@link Arrays#sort}.
+     */
+    private void checkSorter() {
+        for (int round = 0; round < RANDOM_ARRAYS; round++) {
+            long[] values = randomArray(randomSize());
+            long[] expected = values.clone();
+            Arrays.sort(expected);
+
+            long[] sorted = values.clone();
+            LongSorter.sort(sorted);
+            expectEqual(expected, sorted, "sort, " + values.length + " значень");
+
+            long[] radixSorted = values.clone();
+            LongSorter.radixSort(radixSorted, 0, radixSorted.length);
+            expectEqual(expected, radixSorted, "radixSort, " + values.length + " значень");
+
+            int from = random.nextInt(values.length + 1);
+            int to = from + random.nextInt(values.length - from + 1);
+            long[] partSorted = values.clone();
+            LongSorter.radixSort(partSorted, from, to);
+            long[] expectedPart = values.clone();
+            Arrays.sort(expectedPart, from, to);
+            expectEqual(expectedPart, partSorted, "radixSort частини [" + from + ", " + to + ")");
+
+            long[] keys = values.clone();
+            int[] indices = new int[keys.length];
+            for (int index = 0; index < indices.length; index++) {
+                indices[index] = index;
+            }
+            LongSorter.sortWithIndices(keys, indices);
+            expectEqual(expected, keys, "sortWithIndices, " + values.length + " значень");
+            boolean consistent = true;
+            for (int index = 0; index < keys.length; index++) {
+                consistent &= values[indices[index]] == keys[index]
+                        && (index == 0 || keys[index - 1] != keys[index] || indices[index - 1] < indices[index]);
+            }
+            expect(consistent, "sortWithIndices: позиції не відповідають ключам або порядок рівних ключів змінено");
+        }
+
+        // значення, що відрізняються лише знаковим бітом, перевіряють перетворення знака старшого розряду
+        long[] signed = new long[LongSorter.RADIX_THRESHOLD * 2];
+        for (int index = 0; index < signed.length; index += 2) {
+            signed[index] = random.nextLong();
+            signed[index + 1] = signed[index] ^ Long.MIN_VALUE;
+        }
+        signed[0] = Long.MIN_VALUE;
+        signed[1] = Long.MAX_VALUE;
+        signed[2] = -1;
+        signed[3] = 0;
+        long[] expected = signed.clone();
+        Arrays.sort(expected);
+        long[] radixSorted = signed.clone();
+        LongSorter.radixSort(radixSorted, 0, radixSorted.length);
+        expectEqual(expected, radixSorted, "radixSort значень з протилежними знаками");
+        expect(LongSorter.isSorted(radixSorted, 0, radixSorted.length), "isSorted для впорядкованого масиву");
+    }
+
+    /**
+     * Кожне розташування {@link SortedLongIndex.Layout} порівнюється з першим входженням,
+     * знайденим через {@link Arrays#binarySearch}.
+     */
+    private void checkSortedIndexes() {
+        for (int round = 0; round < RANDOM_ARRAYS; round++) {
+            long[] sorted = randomArray(randomSize());
+            Arrays.sort(sorted);
+            int size = random.nextInt(4) == 0 ? random.nextInt(sorted.length + 1) : sorted.length;
+            long[] keys = searchKeys(sorted);
+
+            for (SortedLongIndex.Layout layout : SortedLongIndex.Layout.values()) {
+                SortedLongIndex index = SortedLongIndex.build(layout, sorted, size);
+                expect(index.size() == size && index.layout() == layout, layout + ": розмір або розташування");
+                for (long key : keys) {
+                    int expected = firstOccurrence(sorted, size, key);
+                    int actual = index.indexOf(key);
+                    if (!expect(actual == expected, layout + ", " + size + " значень: indexOf(" + key + ") = "
+                            + actual + ", очікувано " + expected)) {
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Пошук у невпорядкованих даних переходить до фонового індексу після порогу запитів,
+     * а побудову, розпочату до зміни даних, відкидає. Побудови виконуються відкладеним
+     * виконавцем, тож перевірка сама обирає, коли кожна з них завершиться.
+     */
+    private void checkSearchIndex() throws InterruptedException {
+        List<Runnable> pendingBuilds = new ArrayList<>();
+        long[] values = randomArray(5_000);
+        LongSearchIndex search = new LongSearchIndex(values, values.length, false,
+                LongSearchIndex.DEFAULT_BUILD_THRESHOLD, pendingBuilds::add);
+        long[] keys = searchKeys(values);
+
+        for (int query = 1; query <= LongSearchIndex.DEFAULT_BUILD_THRESHOLD; query++) {
+            expectSearch(search, values, keys[query], LongSearchIndex.Strategy.LINEAR_SCAN, "запит " + query);
+        }
+        if (!expect(pendingBuilds.size() == 1, "після " + LongSearchIndex.DEFAULT_BUILD_THRESHOLD
+                + " проходів побудов заплановано " + pendingBuilds.size() + " замість 1")) {
+            return;
+        }
+        pendingBuilds.remove(0).run();
+        expect(search.isIndexReady(), "індекс не готовий після побудови");
+        for (long key : keys) {
+            expectSearch(search, values, key, LongSearchIndex.Strategy.SORTED_INDEX, "пошук за індексом");
+        }
+
+        // побудова для попередніх даних завершується вже після їхньої зміни
+        long[] changedValues = randomArray(values.length);
+        search.dataChanged(values, values.length, false);
+        for (int query = 1; query <= LongSearchIndex.DEFAULT_BUILD_THRESHOLD; query++) {
+            search.indexOf(keys[query]);
+        }
+        search.dataChanged(changedValues, changedValues.length, false);
+        if (!expect(pendingBuilds.size() == 1, "побудову для початкових даних не заплановано")) {
+            return;
+        }
+        pendingBuilds.remove(0).run();
+        expect(!search.isIndexReady(), "застарілий індекс прийнято після зміни даних");
+        long[] changedKeys = searchKeys(changedValues);
+        expectSearch(search, changedValues, changedKeys[0], LongSearchIndex.Strategy.LINEAR_SCAN,
+                "перший запит після зміни даних");
+
+        // для нових даних індекс будується заново
+        for (int query = 1; query < LongSearchIndex.DEFAULT_BUILD_THRESHOLD; query++) {
+            search.indexOf(changedKeys[query]);
+        }
+        if (expect(pendingBuilds.size() == 1, "побудову для змінених даних не заплановано")) {
+            pendingBuilds.remove(0).run();
+            for (long key : changedKeys) {
+                expectSearch(search, changedValues, key, LongSearchIndex.Strategy.SORTED_INDEX,
+                        "пошук за індексом змінених даних");
+            }
+        }
+
+        // без підміненого виконавця індекс будується у спільному пулі
+        LongSearchIndex asyncSearch = new LongSearchIndex(values);
+        for (int query = 0; query < LongSearchIndex.DEFAULT_BUILD_THRESHOLD; query++) {
+            asyncSearch.indexOf(keys[query]);
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(INDEX_BUILD_TIMEOUT_MILLIS);
+        while (!asyncSearch.isIndexReady() && System.nanoTime() - deadline < 0) {
+            Thread.sleep(1);
+        }
+        if (expect(asyncSearch.isIndexReady(), "фоновий індекс не побудовано за "
+                + INDEX_BUILD_TIMEOUT_MILLIS + " мс")) {
+            expectSearch(asyncSearch, values, keys[0], LongSearchIndex.Strategy.SORTED_INDEX, "фоновий індекс");
+        }
+
+        // для впорядкованих даних - бінарний пошук, а після побудови - статичне розташування
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        LongSearchIndex sortedSearch = new LongSearchIndex(sorted);
+        expectSearch(sortedSearch, sorted, keys[2], LongSearchIndex.Strategy.BINARY_SEARCH, "впорядковані дані");
+        sortedSearch.setSortedLayout(SortedLongIndex.Layout.EYTZINGER);
+        expect(sortedSearch.buildSortedLayout(), "статичне розташування не побудовано");
+        expectSearch(sortedSearch, sorted, keys[2], LongSearchIndex.Strategy.STATIC_LAYOUT, "статичне розташування");
+    }
+
+    private void expectSearch(LongSearchIndex search, long[] values, long key,
+            LongSearchIndex.Strategy expectedStrategy, String context) {
+        int expected = -1;
+        for (int index = 0; index < values.length && expected < 0; index++) {
+            if (values[index] == key) {
+                expected = index;
+            }
+        }
+        int actual = search.indexOf(key);
+        expect(actual == expected && search.getLastStrategy() == expectedStrategy, context + ": indexOf(" + key
+                + ") = " + actual + " стратегією " + search.getLastStrategy() + ", очікувано " + expected
+                + " стратегією " + expectedStrategy);
+    }
+
+    /**
+     * Купа мінімумів і максимумів з повторами порівнюється з мультимножиною на {@link TreeMap}.
+     */
+    private void checkIndexedHeap() {
+        long[] pool = randomArray(64 + random.nextInt(512));
+        long[] initial = new long[random.nextInt(256)];
+        for (int index = 0; index < initial.length; index++) {
+            initial[index] = pool[random.nextInt(pool.length)];
+        }
+
+        LongIndexedHeap heap = new LongIndexedHeap(initial);
+        TreeMap<Long, Integer> reference = new TreeMap<>();
+        int referenceSize = 0;
+        for (long value : initial) {
+            reference.merge(value, 1, Integer::sum);
+            referenceSize++;
+        }
+
+        for (int operation = 0; operation < HEAP_OPERATIONS; operation++) {
+            long value = pool[random.nextInt(pool.length)];
+            String description;
+            boolean matches;
+            switch (random.nextInt(6)) {
+                case 0:
+                case 1:
+                    description = "offer(" + value + ")";
+                    heap.offer(value);
+                    reference.merge(value, 1, Integer::sum);
+                    referenceSize++;
+                    matches = true;
+                    break;
+                case 2:
+                    description = "pollMin()";
+                    if (reference.isEmpty()) {
+                        matches = heap.isEmpty();
+                    } else {
+                        long expected = reference.firstKey();
+                        matches = heap.pollMin() == expected;
+                        removeOne(reference, expected);
+                        referenceSize--;
+                    }
+                    break;
+                case 3:
+                    description = "pollMax()";
+                    if (reference.isEmpty()) {
+                        matches = heap.isEmpty();
+                    } else {
+                        long expected = reference.lastKey();
+                        matches = heap.pollMax() == expected;
+                        removeOne(reference, expected);
+                        referenceSize--;
+                    }
+                    break;
+                case 4:
+                    description = "remove(" + value + ")";
+                    boolean removed = removeOne(reference, value);
+                    if (removed) {
+                        referenceSize--;
+                    }
+                    matches = heap.remove(value) == removed;
+                    break;
+                default:
+                    description = "count(" + value + ")";
+                    int expectedCount = reference.getOrDefault(value, 0);
+                    matches = heap.count(value) == expectedCount && heap.contains(value) == (expectedCount > 0);
+                    break;
+            }
+
+            matches &= heap.size() == referenceSize && heap.distinctCount() == reference.size();
+            if (matches && !reference.isEmpty()) {
+                matches = heap.peekMin() == reference.firstKey() && heap.peekMax() == reference.lastKey();
+            }
+            if (!expect(matches, "операція " + operation + ": " + description + " розходиться з еталоном")) {
+                return;
+            }
+        }
+
+        long[] expected = new long[referenceSize];
+        int position = 0;
+        for (Map.Entry<Long, Integer> entry : reference.entrySet()) {
+            Arrays.fill(expected, position, position + entry.getValue(), entry.getKey());
+            position += entry.getValue();
+        }
+        expectEqual(expected, heap.drainToArray(), "drainToArray");
+        expect(heap.isEmpty(), "купа порожня після drainToArray");
+    }
+
+    /**
+     * D-арна купа мінімумів порівнюється з {@link PriorityQueue} для кількох арностей.
+     */
+    private void checkDaryHeap() {
+        for (int arity : new int[] {2, 3, 4, 8}) {
+            long[] initial = randomArray(random.nextInt(256));
+            LongDaryHeap heap = new LongDaryHeap(arity, initial);
+            PriorityQueue<Long> reference = new PriorityQueue<>();
+            for (long value : initial) {
+                reference.add(value);
+            }
+
+            for (int operation = 0; operation < HEAP_OPERATIONS / 4; operation++) {
+                long value = random.nextInt(1024) - 512;
+                boolean matches;
+                switch (random.nextInt(4)) {
+                    case 0:
+                        heap.offer(value);
+                        reference.add(value);
+                        matches = true;
+                        break;
+                    case 1:
+                        matches = reference.isEmpty() ? heap.isEmpty() : heap.poll() == reference.poll();
+                        break;
+                    case 2:
+                        if (reference.isEmpty()) {
+                            matches = heap.isEmpty();
+                        } else {
+                            matches = heap.replaceHead(value) == reference.poll();
+                            reference.add(value);
+                        }
+                        break;
+                    default:
+                        matches = heap.contains(value) == reference.contains(value);
+                        break;
+                }
+
+                matches &= heap.size() == reference.size();
+                if (matches && !reference.isEmpty()) {
+                    matches = heap.peek() == reference.peek() && heap.max() == maxOf(reference);
+                }
+                if (!expect(matches, "арність " + arity + ", операція " + operation + " розходиться з еталоном")) {
+                    break;
+                }
+            }
+
+            long[] expected = reference.stream().mapToLong(Long::longValue).sorted().toArray();
+            expectEqual(expected, heap.drainToArray(), "арність " + arity + ": drainToArray");
+        }
+    }
+
+    /**
+     * Стиснений формат: повне декодування, пошук нижньої межі за блоками, відбиток
+     * вихідного файлу та виявлення обрізаного файлу.
+     */
+    private void checkCodec() throws IOException {
+        Path codecFile = workDirectory.resolve("codec.dlt");
+        for (int round = 0; round < RANDOM_ARRAYS / 2; round++) {
+            long[] sorted = randomArray(randomSize());
+            Arrays.sort(sorted);
+            int blockSize = 1 + random.nextInt(128);
+
+            try (FileChannel channel = openForWriting(codecFile)) {
+                SortedLongCodec.writeArray(sorted, blockSize, sourceFingerprint, channel);
+            }
+            SortedLongCodec codec = SortedLongCodec.open(codecFile.toString());
+            String context = sorted.length + " значень, блок " + blockSize;
+            expect(codec.size() == sorted.length, context + ": size");
+            expect(codec.getSourceFingerprint().matches(sourceFingerprint), context + ": відбиток вихідного файлу");
+            expectEqual(sorted, codec.decodeAll(), context + ": decodeAll");
+
+            for (long key : searchKeys(sorted)) {
+                int expected = lowerBound(sorted, key);
+                int actual = codec.lowerBound(key);
+                if (!expect(actual == expected, context + ": lowerBound(" + key + ") = " + actual
+                        + ", очікувано " + expected)) {
+                    break;
+                }
+            }
+
+            if (sorted.length > 1) {
+                truncate(codecFile, 1);
+                expect(throwsIOException(() -> SortedLongCodec.open(codecFile.toString())),
+                        context + ": обрізаний файл відкрито без помилки");
+            }
+        }
+    }
+
+    /**
+     * Двійковий формат: заголовок, значення, контрольна сума CRC32C і виявлення пошкодження.
+     */
+    private void checkBinaryFile() throws IOException {
+        Path binaryFile = workDirectory.resolve("values.bin");
+        for (int round = 0; round < RANDOM_ARRAYS / 2; round++) {
+            long[] values = randomArray(randomSize());
+            boolean sorted = random.nextBoolean();
+            if (sorted) {
+                Arrays.sort(values);
+            }
+
+            try (FileChannel channel = openForWriting(binaryFile)) {
+                BinaryLongFile.writeArray(values, sorted, sourceFingerprint, channel);
+            }
+            String context = values.length + " значень";
+            BinaryLongFile.Header header = BinaryLongFile.readHeader(binaryFile.toString());
+            expect(header.getCount() == values.length && header.isSorted() == sorted, context + ": заголовок");
+            expect(header.getChecksum() == BinaryLongFile.computeChecksum(values), context + ": контрольна сума");
+            expect(header.getSourceFingerprint().matches(sourceFingerprint), context + ": відбиток вихідного файлу");
+            expectEqual(values, BinaryLongFile.loadArrayFromFile(binaryFile.toString()), context + ": loadArrayFromFile");
+
+            if (values.length > 0) {
+                flipPayloadByte(binaryFile, values.length * Long.BYTES);
+                expect(throwsIOException(() -> BinaryLongFile.loadArrayFromFile(binaryFile.toString())),
+                        context + ": пошкоджений файл завантажено без помилки");
+            }
+        }
+    }
+
+    /**
+     * Кеш впорядкованих даних: збереження і завантаження, відмова за іншого відбитка
+     * та за пошкодженого вмісту.
+     */
+    private void checkCache() throws IOException {
+        Path cacheFile = workDirectory.resolve("values.cache");
+        Path otherSource = workDirectory.resolve("other.data");
+        Files.write(otherSource, "1\n2\n".getBytes(StandardCharsets.UTF_8));
+        SortedDataCache.Fingerprint otherFingerprint = SortedDataCache.Fingerprint.of(otherSource.toString());
+
+        for (int round = 0; round < RANDOM_ARRAYS / 2; round++) {
+            long[] values = randomArray(randomSize());
+            long[] expected = values.clone();
+            Arrays.sort(expected);
+            long[] expectedDistinct = LongStream.of(expected).distinct().toArray();
+
+            SortedDataCache.build(values, sourceFingerprint).save(cacheFile.toString());
+            SortedDataCache cache = SortedDataCache.load(cacheFile.toString(), sourceFingerprint);
+            String context = values.length + " значень";
+            if (!expect(cache != null, context + ": кеш не завантажено")) {
+                continue;
+            }
+            expectEqual(expected, cache.getSortedValues(), context + ": впорядковані значення");
+            expectEqual(expectedDistinct, cache.getDistinctValues(), context + ": різні значення");
+            if (values.length > 0) {
+                expect(cache.getMin() == expected[0] && cache.getMax() == expected[expected.length - 1],
+                        context + ": мінімум і максимум");
+            }
+
+            expect(SortedDataCache.load(cacheFile.toString(), otherFingerprint) == null,
+                    context + ": кеш іншого файлу прийнято");
+            if (values.length > 0) {
+                int payloadBytes = (expected.length
+                        + (expectedDistinct.length != expected.length ? expectedDistinct.length : 0)) * Long.BYTES;
+                flipPayloadByte(cacheFile, payloadBytes);
+                expect(SortedDataCache.load(cacheFile.toString(), sourceFingerprint) == null,
+                        context + ": пошкоджений кеш прийнято");
+            }
+        }
+    }
+
+    /**
+     * Усі режими {@link DataFileHandler.LoadMode} і потокове читання дають однаковий результат,
+     * зокрема для порожнього файлу та тексту з BOM, CRLF і пробілами.
+     */
+    private void checkLoadModes() throws IOException {
+        Path textFile = workDirectory.resolve("text.data");
+        Files.write(textFile, ("\uFEFF12\r\n-7\r\n\r\n  " + Long.MIN_VALUE + " \n" + Long.MAX_VALUE + "\n0")
+                .getBytes(StandardCharsets.UTF_8));
+        long[] textValues = {12, -7, Long.MIN_VALUE, Long.MAX_VALUE, 0};
+
+        Path emptyFile = workDirectory.resolve("empty.data");
+        Files.write(emptyFile, new byte[0]);
+
+        for (DataFileHandler.LoadMode loadMode : DataFileHandler.LoadMode.values()) {
+            expectEqual(textValues, DataFileHandler.loadLongArrayFromFile(textFile.toString(), loadMode),
+                    loadMode + ": текст з BOM, CRLF і пробілами");
+            expectEqual(new long[0], DataFileHandler.loadLongArrayFromFile(emptyFile.toString(), loadMode),
+                    loadMode + ": порожній файл");
+            expectEqual(largeValues, DataFileHandler.loadLongArrayFromFile(largeFile.toString(), loadMode),
+                    loadMode + ": " + largeValues.length + " значень");
+        }
+        try (LongStream stream = DataFileHandler.streamLongsFromFile(largeFile.toString())) {
+            expectEqual(largeValues, stream.toArray(), "streamLongsFromFile");
+        }
+    }
+
+    /**
+     * Зовнішнє сортування з однією серією та зі злиттям у кілька проходів порівнюється
+     * з {@link Arrays#sort}; тимчасові файли мають бути видалені.
+     */
+    private void checkExternalSort() throws IOException {
+        long[] expected = largeValues.clone();
+        Arrays.sort(expected);
+        Path sortedFile = workDirectory.resolve("external.sorted");
+
+        ExternalLongSorter sorter = new ExternalLongSorter(ExternalLongSorter.MIN_MEMORY_BUDGET, workDirectory);
+        long count = sorter.sortFile(largeFile.toString(), sortedFile.toString());
+        expect(count == expected.length, "кількість значень зі злиттям серій");
+        expectEqual(expected, DataFileHandler.loadLongArrayFromFile(sortedFile.toString()), "злиття серій");
+
+        long[] smallValues = randomArray(1000);
+        Path smallFile = workDirectory.resolve("small.data");
+        DataFileHandler.writeLongArrayToFile(smallValues, smallFile.toString());
+        Arrays.sort(smallValues);
+        sorter = new ExternalLongSorter(ExternalLongSorter.DEFAULT_MEMORY_BUDGET, workDirectory);
+        count = sorter.sortFile(smallFile.toString(), sortedFile.toString());
+        expect(count == smallValues.length, "кількість значень однієї серії");
+        expectEqual(smallValues, DataFileHandler.loadLongArrayFromFile(sortedFile.toString()), "одна серія");
+
+        try (Stream<Path> leftovers = Files.list(workDirectory)) {
+            expect(leftovers.noneMatch(path -> path.getFileName().toString().startsWith("long-sort")),
+                    "тимчасові каталоги серій не видалено");
+        }
+    }
+
+    /**
+     * Послідовний і паралельний відбір K найменших і найбільших значень порівнюється
+     * з початком і кінцем впорядкованого масиву.
+     */
+    private void checkTopK() throws IOException {
+        for (int round = 0; round < RANDOM_ARRAYS / 2; round++) {
+            long[] values = randomArray(randomSize());
+            long[] sorted = values.clone();
+            Arrays.sort(sorted);
+
+            for (int k : new int[] {0, 1, 7, 100, values.length + 5}) {
+                for (LongTopK.Order order : LongTopK.Order.values()) {
+                    long[] expected = expectedTopK(sorted, k, order);
+                    String context = order + ", K = " + k + ", " + values.length + " значень";
+
+                    LongTopK sequential = LongTopK.collect(LongStream.of(values), k, order);
+                    expectEqual(expected, sequential.toArray(), context + ", послідовно");
+                    expect(sequential.getCount() == values.length, context + ": getCount послідовно");
+
+                    LongTopK parallel = LongTopK.collect(LongStream.of(values).parallel(), k, order);
+                    expectEqual(expected, parallel.toArray(), context + ", паралельно");
+                    expect(parallel.getCount() == values.length, context + ": getCount паралельно");
+                }
+            }
+        }
+
+        long[] sortedLarge = largeValues.clone();
+        Arrays.sort(sortedLarge);
+        for (LongTopK.Order order : LongTopK.Order.values()) {
+            LongTopK selection = LongTopK.collect(DataFileHandler.streamLongsFromFile(largeFile.toString()).parallel(),
+                    10, order);
+            expectEqual(expectedTopK(sortedLarge, 10, order), selection.toArray(), order + ": паралельно з файлу");
+        }
+    }
+
+    private static long[] expectedTopK(long[] sorted, int k, LongTopK.Order order) {
+        int count = Math.min(k, sorted.length);
+        if (order == LongTopK.Order.SMALLEST) {
+            return Arrays.copyOf(sorted, count);
+        }
+        long[] largest = new long[count];
+        for (int index = 0; index < count; index++) {
+            largest[index] = sorted[sorted.length - 1 - index];
+        }
+        return largest;
+    }
+
+    /**
+     * Повертає випадковий масив одного з розподілів, що зачіпають крайні випадки алгоритмів.
+     */
+    private long[] randomArray(int size) {
+        long[] values = new long[size];
+        int distribution = random.nextInt(5);
+        for (int index = 0; index < size; index++) {
+            switch (distribution) {
+                case 0:
+                    // увесь діапазон, зокрема від'ємні значення
+                    values[index] = random.nextLong();
+                    break;
+                case 1:
+                    // багато повторів навколо нуля
+                    values[index] = random.nextInt(16) - 8;
+                    break;
+                case 2:
+                    // значення біля меж діапазону, різниці між якими переповнюють long
+                    values[index] = random.nextBoolean()
+                            ? Long.MIN_VALUE + random.nextInt(4)
+                            : Long.MAX_VALUE - random.nextInt(4);
+                    break;
+                case 3:
+                    // майже впорядковані значення
+                    values[index] = index * 1000L + random.nextInt(2000) - 500_000;
+                    break;
+                default:
+                    // рівномірно розріджені значення, зручні для інтерполяції
+                    values[index] = random.nextInt() * 977L;
+                    break;
+            }
+        }
+        return values;
+    }
+
+    private int randomSize() {
+        switch (random.nextInt(4)) {
+            case 0:
+                return random.nextInt(4);
+            case 1:
+                return random.nextInt(64);
+            default:
+                return random.nextInt(MAX_ARRAY_SIZE);
+        }
+    }
+
+    /**
+     * Повертає ключі пошуку: значення масиву, їхніх сусідів, випадкові значення та межі діапазону.
+     */
+    private long[] searchKeys(long[] sorted) {
+        long[] keys = new long[SEARCH_KEYS];
+        for (int index = 0; index < keys.length; index++) {
+            long base = sorted.length > 0 ? sorted[random.nextInt(sorted.length)] : random.nextLong();
+            switch (index % 4) {
+                case 0:
+                    keys[index] = base;
+                    break;
+                case 1:
+                    keys[index] = base - 1;
+                    break;
+                case 2:
+                    keys[index] = base + 1;
+                    break;
+                default:
+                    keys[index] = random.nextLong();
+                    break;
+            }
+        }
+        keys[0] = Long.MIN_VALUE;
+        keys[1] = Long.MAX_VALUE;
+        return keys;
+    }
+
+    /**
+     * Повертає позицію першого входження серед перших size елементів або -1.
+     */
+    private static int firstOccurrence(long[] sorted, int size, long key) {
+        int position = Arrays.binarySearch(sorted, 0, size, key);
+        if (position < 0) {
+            return -1;
+        }
+        while (position > 0 && sorted[position - 1] == key) {
+            position--;
+        }
+        return position;
+    }
+
+    /**
+     * Повертає кількість елементів, менших за key.
+     */
+    private static int lowerBound(long[] sorted, long key) {
+        int position = Arrays.binarySearch(sorted, key);
+        if (position < 0) {
+            return -position - 1;
+        }
+        while (position > 0 && sorted[position - 1] == key) {
+            position--;
+        }
+        return position;
+    }
+
+    private static boolean removeOne(TreeMap<Long, Integer> multiset, long value) {
+        Integer count = multiset.get(value);
+        if (count == null) {
+            return false;
+        }
+        if (count == 1) {
+            multiset.remove(value);
+        } else {
+            multiset.put(value, count - 1);
+        }
+        return true;
+    }
+
+    private static long maxOf(PriorityQueue<Long> queue) {
+        return queue.stream().max(Comparator.naturalOrder()).orElseThrow();
+    }
+
+    private static boolean throwsIOException(Check check) {
+        try {
+            check.run();
+            return false;
+        } catch (IOException e) {
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    /**
+     * Інвертує один випадковий байт серед останніх payloadBytes байтів файлу.
+     */
+    private void flipPayloadByte(Path file, int payloadBytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long position = channel.size() - 1 - random.nextInt(payloadBytes);
+            ByteBuffer oneByte = ByteBuffer.allocate(1);
+            channel.read(oneByte, position);
+            oneByte.put(0, (byte) ~oneByte.get(0)).rewind();
+            channel.write(oneByte, position);
+        }
+    }
+
+    private static void truncate(Path file, int bytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - bytes);
+        }
+    }
+
+    private static FileChannel openForWriting(Path path) throws IOException {
+        return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+}
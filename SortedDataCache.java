@@ -0,0 +1,356 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.zip.CRC32C;
+
+/**
+ * Клас SortedDataCache зберігає на диску впорядковані дані та похідні від них структури.
+ *
+ * <p>Кеш прив'язаний до відбитка вихідного файлу: розміру, часу останньої зміни та хешу
+ * SHA-256 вмісту. Якщо відбиток збігається, повторний запуск завантажує готовий
+ * впорядкований масив, мінімум, максимум і масив унікальних значень замість
+ * повторного сортування.</p>
+ *
+ * <p>Структура файлу кешу (little-endian):</p>
+ * <ul>
+ *   <li>заголовок: сигнатура {@code LCCH}, версія, відбиток джерела, мінімум, максимум,
+ *       кількість значень, кількість унікальних значень, контрольна сума CRC32C;</li>
+ *   <li>впорядковані значення;</li>
+ *   <li>унікальні значення, якщо серед даних є повтори.</li>
+ * </ul>
+ */
+public class SortedDataCache {
+    /** Сигнатура формату: байти 'L', 'C', 'C', 'H'. */
+    static final int MAGIC = 0x4843434C;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 96;
+
+    private static final int DIGEST_BUFFER_SIZE = 1 << 16;
+
+    private final Fingerprint fingerprint;
+    private final long[] sortedValues;
+    private final long[] distinctValues;
+
+    /**
+     * Відбиток вихідного файлу: розмір, час зміни та хеш вмісту.
+     */
+    public static final class Fingerprint {
+        /** Довжина хешу SHA-256 у байтах. */
+        private static final int HASH_BYTES = 32;
+
+        /** Розмір відбитка у заголовках файлів у байтах. */
+        static final int BYTES = 2 * Long.BYTES + HASH_BYTES;
+
+        /** Відбиток, що не збігається з жодним файлом; записується, коли джерело невідоме. */
+        static final Fingerprint UNKNOWN = new Fingerprint(-1, 0, new byte[HASH_BYTES]);
+
+        private final long size;
+        private final long modifiedTime;
+        private final byte[] contentHash;
+
+        Fingerprint(long size, long modifiedTime, byte[] contentHash) {
+            this.size = size;
+            this.modifiedTime = modifiedTime;
+            this.contentHash = contentHash;
+        }
+
+        /**
+         * Обчислює відбиток файлу, читаючи його вміст для хешу SHA-256.
+         *
+         * @param filePath Шлях до файлу
+         * @return Відбиток файлу
+         * @throws IOException якщо файл не вдалося прочитати
+         */
+        public static Fingerprint of(String filePath) throws IOException {
+            Path path = Paths.get(filePath);
+            long modifiedTime = Files.getLastModifiedTime(path).toMillis();
+
+            MessageDigest messageDigest;
+            try {
+                messageDigest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException algorithmException) {
+                throw new IllegalStateException(algorithmException);
+            }
+
+            long size = 0;
+            ByteBuffer readBuffer = ByteBuffer.allocateDirect(DIGEST_BUFFER_SIZE);
+            try (FileChannel fileChannel = FileChannel.open(path, StandardOpenOption.READ)) {
+                int bytesRead;
+                while ((bytesRead = fileChannel.read(readBuffer)) != -1) {
+                    size += bytesRead;
+                    readBuffer.flip();
+                    messageDigest.update(readBuffer);
+                    readBuffer.clear();
+                }
+            }
+            return new Fingerprint(size, modifiedTime, messageDigest.digest());
+        }
+
+        public boolean matches(Fingerprint other) {
+            return size == other.size && modifiedTime == other.modifiedTime
+                    && MessageDigest.isEqual(contentHash, other.contentHash);
+        }
+
+        /**
+         * Записує відбиток у буфер заголовка ({@value #BYTES} байтів).
+         *
+         * @param fingerprint Відбиток або null, якщо джерело невідоме
+         * @param buffer Буфер заголовка
+         */
+        static void write(Fingerprint fingerprint, ByteBuffer buffer) {
+            Fingerprint written = fingerprint != null ? fingerprint : UNKNOWN;
+            buffer.putLong(written.size).putLong(written.modifiedTime).put(written.contentHash);
+        }
+
+        /**
+         * Зчитує відбиток, записаний методом {@link #write(Fingerprint, ByteBuffer)}.
+         *
+         * @param buffer Буфер заголовка
+         * @return Прочитаний відбиток
+         */
+        static Fingerprint read(ByteBuffer buffer) {
+            long size = buffer.getLong();
+            long modifiedTime = buffer.getLong();
+            byte[] contentHash = new byte[HASH_BYTES];
+            buffer.get(contentHash);
+            return new Fingerprint(size, modifiedTime, contentHash);
+        }
+    }
+
+    private SortedDataCache(Fingerprint fingerprint, long[] sortedValues, long[] distinctValues) {
+        this.fingerprint = fingerprint;
+        this.sortedValues = sortedValues;
+        this.distinctValues = distinctValues;
+    }
+
+    /**
+     * Будує кеш із невпорядкованих даних вихідного файлу.
+     *
+     * @param sourceArray Значення вихідного файлу; масив не змінюється
+     * @param fingerprint Відбиток вихідного файлу
+     * @return Новий кеш
+     */
+    public static SortedDataCache build(long[] sourceArray, Fingerprint fingerprint) {
+        long[] sortedValues = sourceArray.clone();
+        LongSorter.sort(sortedValues);
+        return fromSorted(sortedValues, fingerprint);
+    }
+
+    /**
+     * Будує кеш з уже впорядкованих значень, наприклад прочитаних з двійкового
+     * або стисненого файлу, без повторного сортування.
+     *
+     * @param sortedValues Значення, впорядковані за зростанням; масив не копіюється
+     * @param fingerprint Відбиток вихідного файлу
+     * @return Новий кеш
+     * @throws IllegalArgumentException якщо значення не впорядковані
+     */
+    public static SortedDataCache fromSorted(long[] sortedValues, Fingerprint fingerprint) {
+        int distinctCount = sortedValues.length == 0 ? 0 : 1;
+        for (int index = 1; index < sortedValues.length; index++) {
+            if (sortedValues[index] < sortedValues[index - 1]) {
+                throw new IllegalArgumentException("Значення не впорядковані за зростанням у позиції " + index);
+            }
+            if (sortedValues[index] != sortedValues[index - 1]) {
+                distinctCount++;
+            }
+        }
+
+        long[] distinctValues = sortedValues;
+        if (distinctCount < sortedValues.length) {
+            distinctValues = new long[distinctCount];
+            distinctValues[0] = sortedValues[0];
+            int distinctIndex = 1;
+            for (int index = 1; index < sortedValues.length; index++) {
+                if (sortedValues[index] != sortedValues[index - 1]) {
+                    distinctValues[distinctIndex++] = sortedValues[index];
+                }
+            }
+        }
+        return new SortedDataCache(fingerprint, sortedValues, distinctValues);
+    }
+
+    /**
+     * Завантажує кеш, якщо він існує і відповідає відбитку вихідного файлу.
+     *
+     * @param cachePath Шлях до файлу кешу
+     * @param fingerprint Поточний відбиток вихідного файлу
+     * @return Кеш або null, якщо кешу немає, він застарів чи пошкоджений
+     * @throws IOException якщо файл кешу не вдалося прочитати
+     */
+    public static SortedDataCache load(String cachePath, Fingerprint fingerprint) throws IOException {
+        try (FileChannel fileChannel = FileChannel.open(Paths.get(cachePath), StandardOpenOption.READ)) {
+            long fileSize = fileChannel.size();
+            if (fileSize < HEADER_SIZE) {
+                return null;
+            }
+
+            ByteBuffer headerBuffer = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            readFully(fileChannel, headerBuffer);
+            headerBuffer.flip();
+
+            if (headerBuffer.getInt() != MAGIC || headerBuffer.getInt() != VERSION) {
+                return null;
+            }
+            if (!Fingerprint.read(headerBuffer).matches(fingerprint)) {
+                return null;
+            }
+
+            // мінімум і максимум зберігаються для читачів заголовка без завантаження масивів
+            headerBuffer.getLong();
+            headerBuffer.getLong();
+            long count = headerBuffer.getLong();
+            long distinctCount = headerBuffer.getLong();
+            long checksum = headerBuffer.getLong();
+
+            boolean storesDistinct = distinctCount != count;
+            long payloadValues = count + (storesDistinct ? distinctCount : 0);
+            if (count < 0 || count > Integer.MAX_VALUE - 8 || distinctCount < 0 || distinctCount > count
+                    || fileSize != HEADER_SIZE + payloadValues * Long.BYTES) {
+                return null;
+            }
+
+            CRC32C payloadChecksum = new CRC32C();
+            ByteBuffer valueBuffer = ByteBuffer.allocateDirect(DIGEST_BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            long[] sortedValues = readValues(fileChannel, (int) count, valueBuffer, payloadChecksum);
+            long[] distinctValues = sortedValues;
+            if (storesDistinct) {
+                distinctValues = readValues(fileChannel, (int) distinctCount, valueBuffer, payloadChecksum);
+            }
+
+            if (payloadChecksum.getValue() != checksum) {
+                return null;
+            }
+            return new SortedDataCache(fingerprint, sortedValues, distinctValues);
+        } catch (NoSuchFileException missingFile) {
+            return null;
+        }
+    }
+
+    /**
+     * Зберігає кеш у файл, атомарно замінюючи попередній.
+     *
+     * @param cachePath Шлях до файлу кешу
+     * @throws IOException якщо запис не вдався
+     */
+    public void save(String cachePath) throws IOException {
+        DataFileHandler.writeFileAtomically(cachePath, this::writeTo);
+    }
+
+    private void writeTo(WritableByteChannel channel) throws IOException {
+        boolean storesDistinct = distinctValues != sortedValues;
+        CRC32C payloadChecksum = new CRC32C();
+        ByteBuffer valueBuffer = ByteBuffer.allocateDirect(DIGEST_BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+        updateChecksum(payloadChecksum, sortedValues, valueBuffer);
+        if (storesDistinct) {
+            updateChecksum(payloadChecksum, distinctValues, valueBuffer);
+        }
+
+        ByteBuffer headerBuffer = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        headerBuffer.putInt(MAGIC).putInt(VERSION);
+        Fingerprint.write(fingerprint, headerBuffer);
+        headerBuffer.putLong(getMin()).putLong(getMax())
+                .putLong(sortedValues.length).putLong(distinctValues.length)
+                .putLong(payloadChecksum.getValue());
+        headerBuffer.flip();
+        writeFully(channel, headerBuffer);
+
+        writeValues(channel, sortedValues, valueBuffer);
+        if (storesDistinct) {
+            writeValues(channel, distinctValues, valueBuffer);
+        }
+    }
+
+    /**
+     * Повертає відбиток вихідного файлу, з якого побудовано дані, або null, якщо він невідомий.
+     */
+    public Fingerprint getFingerprint() {
+        return fingerprint;
+    }
+
+    public long[] getSortedValues() {
+        return sortedValues;
+    }
+
+    public long[] getDistinctValues() {
+        return distinctValues;
+    }
+
+    /**
+     * Повертає найменше значення або 0 для порожніх даних.
+     */
+    public long getMin() {
+        return sortedValues.length == 0 ? 0 : sortedValues[0];
+    }
+
+    /**
+     * Повертає найбільше значення або 0 для порожніх даних.
+     */
+    public long getMax() {
+        return sortedValues.length == 0 ? 0 : sortedValues[sortedValues.length - 1];
+    }
+
+    private static void updateChecksum(CRC32C checksum, long[] values, ByteBuffer valueBuffer) {
+        LongBuffer longView = valueBuffer.clear().asLongBuffer();
+        for (int offset = 0; offset < values.length; offset += longView.capacity()) {
+            int batchSize = Math.min(longView.capacity(), values.length - offset);
+            longView.clear();
+            longView.put(values, offset, batchSize);
+            valueBuffer.clear().limit(batchSize * Long.BYTES);
+            checksum.update(valueBuffer);
+        }
+    }
+
+    private static void writeValues(WritableByteChannel channel, long[] values, ByteBuffer valueBuffer) throws IOException {
+        LongBuffer longView = valueBuffer.clear().asLongBuffer();
+        for (int offset = 0; offset < values.length; offset += longView.capacity()) {
+            int batchSize = Math.min(longView.capacity(), values.length - offset);
+            longView.clear();
+            longView.put(values, offset, batchSize);
+            valueBuffer.clear().limit(batchSize * Long.BYTES);
+            writeFully(channel, valueBuffer);
+        }
+    }
+
+    private static long[] readValues(FileChannel channel, int count, ByteBuffer valueBuffer, CRC32C checksum)
+            throws IOException {
+        long[] values = new long[count];
+        LongBuffer longView = valueBuffer.clear().asLongBuffer();
+        for (int offset = 0; offset < count; offset += longView.capacity()) {
+            int batchSize = Math.min(longView.capacity(), count - offset);
+            valueBuffer.clear().limit(batchSize * Long.BYTES);
+            readFully(channel, valueBuffer);
+            valueBuffer.flip();
+            checksum.update(valueBuffer);
+            longView.clear();
+            longView.get(values, offset, batchSize);
+        }
+        return values;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new IOException("Файл кешу закінчився раніше очікуваного");
+            }
+        }
+    }
+
+    private static void writeFully(WritableByteChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
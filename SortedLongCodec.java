@@ -0,0 +1,338 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Клас SortedLongCodec стискає впорядковані масиви long дельта-кодуванням з varint.
+ *
+ * <p>Значення діляться на блоки фіксованого розміру. Для кожного блоку в індексі
+ * зберігаються перше значення та зміщення його байтів, а решта значень блоку
+ * кодується різницями з попереднім значенням у форматі zig-zag varint. Сусідні
+ * значення впорядкованого масиву близькі, тому різниця зазвичай займає кілька байтів
+ * замість восьми.</p>
+ *
+ * <p>Структура файлу (little-endian):</p>
+ * <ul>
+ *   <li>заголовок: сигнатура {@code LDLT}, версія, кількість значень, розмір блоку, кількість блоків,
+ *       відбиток вихідного файлу, з якого отримано значення;</li>
+ *   <li>індекс блоків: перше значення та зміщення даних кожного блоку (по 16 байтів);</li>
+ *   <li>дані блоків: послідовності varint.</li>
+ * </ul>
+ *
+ * <p>Пошук спочатку виконується бінарним пошуком за індексом блоків, після чого
+ * декодується лише один блок, тож файл не потрібно розпаковувати повністю.</p>
+ */
+public class SortedLongCodec {
+    /** Сигнатура формату: байти 'L', 'D', 'L', 'T'. */
+    static final int MAGIC = 0x544C444C;
+    static final short VERSION = 2;
+    static final int HEADER_SIZE = 24 + SortedDataCache.Fingerprint.BYTES;
+    static final int INDEX_ENTRY_SIZE = 16;
+
+    /** Розмір блоку за замовчуванням. */
+    public static final int DEFAULT_BLOCK_SIZE = 128;
+
+    /** Максимальна довжина varint для значення long. */
+    private static final int MAX_VARINT_BYTES = 10;
+
+    /** Розмір буфера запису в байтах. */
+    private static final int WRITE_BUFFER_SIZE = 1 << 16;
+
+    private final int count;
+    private final int blockSize;
+    private final long[] blockFirstValues;
+    private final int[] blockOffsets;
+    private final ByteBuffer payload;
+    private final SortedDataCache.Fingerprint sourceFingerprint;
+
+    private SortedLongCodec(int count, int blockSize, long[] blockFirstValues, int[] blockOffsets, ByteBuffer payload,
+            SortedDataCache.Fingerprint sourceFingerprint) {
+        this.count = count;
+        this.blockSize = blockSize;
+        this.blockFirstValues = blockFirstValues;
+        this.blockOffsets = blockOffsets;
+        this.payload = payload;
+        this.sourceFingerprint = sourceFingerprint;
+    }
+
+    /**
+     * Стискає впорядкований масив і послідовно записує його до каналу.
+     * Зміщення блоків обчислюються заздалегідь за довжинами varint, тому заголовок
+     * та індекс записуються перед даними без довільного доступу до каналу.
+     *
+     * @param sortedArray Масив long, впорядкований за зростанням
+     * @param blockSize Кількість значень у блоці
+     * @param sourceFingerprint Відбиток вихідного файлу або null, якщо він невідомий
+     * @param channel Канал для запису
+     * @return Кількість записаних байтів
+     * @throws IOException якщо запис не вдався
+     */
+    public static long writeArray(long[] sortedArray, int blockSize, SortedDataCache.Fingerprint sourceFingerprint,
+            WritableByteChannel channel) throws IOException {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Розмір блоку має бути додатним: " + blockSize);
+        }
+        for (int index = 1; index < sortedArray.length; index++) {
+            if (sortedArray[index] < sortedArray[index - 1]) {
+                throw new IllegalArgumentException("Масив не впорядкований за зростанням у позиції " + index);
+            }
+        }
+
+        int blockCount = (sortedArray.length + blockSize - 1) / blockSize;
+        ByteBuffer indexBuffer = ByteBuffer.allocate(HEADER_SIZE + blockCount * INDEX_ENTRY_SIZE)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        indexBuffer.putInt(MAGIC).putShort(VERSION).putShort((short) 0)
+                .putLong(sortedArray.length).putInt(blockSize).putInt(blockCount);
+        SortedDataCache.Fingerprint.write(sourceFingerprint, indexBuffer);
+
+        long payloadSize = 0;
+        for (int block = 0; block < blockCount; block++) {
+            int blockStart = block * blockSize;
+            int blockEnd = Math.min(blockStart + blockSize, sortedArray.length);
+            indexBuffer.putLong(sortedArray[blockStart]).putLong(payloadSize);
+            for (int index = blockStart + 1; index < blockEnd; index++) {
+                payloadSize += varintLength(zigZagEncode(sortedArray[index] - sortedArray[index - 1]));
+            }
+        }
+        if (payloadSize > Integer.MAX_VALUE) {
+            throw new IOException("Стиснені дані перевищують максимальний розмір відображення в пам'ять");
+        }
+
+        indexBuffer.flip();
+        long writtenBytes = flush(channel, indexBuffer);
+
+        ByteBuffer writeBuffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+        for (int block = 0; block < blockCount; block++) {
+            int blockStart = block * blockSize;
+            int blockEnd = Math.min(blockStart + blockSize, sortedArray.length);
+            for (int index = blockStart + 1; index < blockEnd; index++) {
+                if (writeBuffer.remaining() < MAX_VARINT_BYTES) {
+                    writeBuffer.flip();
+                    writtenBytes += flush(channel, writeBuffer);
+                }
+                putVarint(writeBuffer, zigZagEncode(sortedArray[index] - sortedArray[index - 1]));
+            }
+        }
+        writeBuffer.flip();
+        return writtenBytes + flush(channel, writeBuffer);
+    }
+
+    /**
+     * Відкриває стиснений файл: індекс блоків завантажується в пам'ять,
+     * а дані блоків відображаються без копіювання.
+     *
+     * @param filePath Шлях до стисненого файлу
+     * @return Об'єкт для пошуку та декодування значень
+     * @throws IOException якщо файл не вдалося прочитати або він має невірний формат
+     */
+    public static SortedLongCodec open(String filePath) throws IOException {
+        try (FileChannel fileChannel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+            long fileSize = fileChannel.size();
+            if (fileSize < HEADER_SIZE) {
+                throw new IOException("Файл " + filePath + " не є стисненим файлом даних long");
+            }
+
+            MappedByteBuffer mappedFile = fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+            mappedFile.order(ByteOrder.LITTLE_ENDIAN);
+
+            int magic = mappedFile.getInt();
+            short version = mappedFile.getShort();
+            mappedFile.getShort();
+            long count = mappedFile.getLong();
+            int blockSize = mappedFile.getInt();
+            int blockCount = mappedFile.getInt();
+            SortedDataCache.Fingerprint sourceFingerprint = SortedDataCache.Fingerprint.read(mappedFile);
+
+            if (magic != MAGIC) {
+                throw new IOException("Файл " + filePath + " не є стисненим файлом даних long");
+            }
+            if (version != VERSION) {
+                throw new IOException("Непідтримувана версія стисненого формату: " + version);
+            }
+            if (count < 0 || count > Integer.MAX_VALUE - 8 || blockSize < 1
+                    || blockCount != (count + blockSize - 1) / blockSize
+                    || fileSize < HEADER_SIZE + (long) blockCount * INDEX_ENTRY_SIZE) {
+                throw new IOException("Заголовок файлу " + filePath + " пошкоджений");
+            }
+
+            long payloadSize = fileSize - HEADER_SIZE - (long) blockCount * INDEX_ENTRY_SIZE;
+            long[] blockFirstValues = new long[blockCount];
+            int[] blockOffsets = new int[blockCount];
+            long previousOffset = 0;
+            for (int block = 0; block < blockCount; block++) {
+                blockFirstValues[block] = mappedFile.getLong();
+                long offset = mappedFile.getLong();
+                if (offset < previousOffset || offset > payloadSize) {
+                    throw new IOException("Індекс блоків файлу " + filePath + " пошкоджений");
+                }
+                blockOffsets[block] = (int) offset;
+                previousOffset = offset;
+            }
+
+            // дані останнього блоку мають закінчуватися разом з файлом
+            ByteBuffer payload = mappedFile.slice();
+            long payloadEnd = 0;
+            if (blockCount > 0) {
+                int lastBlockLength = (int) (count - (long) (blockCount - 1) * blockSize);
+                payloadEnd = varintRunEnd(payload, blockOffsets[blockCount - 1], lastBlockLength - 1);
+            }
+            if (payloadEnd != payloadSize) {
+                throw new IOException("Розмір файлу " + filePath + " (" + fileSize
+                        + " байтів) не відповідає кількості значень у заголовку (" + count + ")");
+            }
+            return new SortedLongCodec((int) count, blockSize, blockFirstValues, blockOffsets, payload,
+                    sourceFingerprint);
+        }
+    }
+
+    /**
+     * Повертає кількість значень у файлі.
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Повертає відбиток вихідного файлу, з якого отримано значення.
+     */
+    public SortedDataCache.Fingerprint getSourceFingerprint() {
+        return sourceFingerprint;
+    }
+
+    /**
+     * Повертає кількість блоків у файлі.
+     */
+    public int getBlockCount() {
+        return blockFirstValues.length;
+    }
+
+    /**
+     * Повертає позицію першого значення, не меншого за ключ, декодуючи не більше одного блоку.
+     * Об'єкт не змінюється, тож метод можна викликати з кількох потоків одночасно.
+     *
+     * @param key Шукане значення
+     * @return Позиція від 0 до {@link #size()} включно
+     */
+    public int lowerBound(long key) {
+        int low = 0;
+        int high = blockFirstValues.length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (blockFirstValues[middle] < key) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+
+        // high - останній блок, перше значення якого менше за ключ; наступний блок починається з ключа або більшого
+        if (high < 0) {
+            return 0;
+        }
+
+        int index = high * blockSize;
+        int blockEnd = Math.min(index + blockSize, count);
+        long value = blockFirstValues[high];
+        int position = blockOffsets[high];
+
+        while (value < key && ++index < blockEnd) {
+            long encoded = 0;
+            int shift = 0;
+            byte currentByte;
+            do {
+                currentByte = payload.get(position++);
+                encoded |= (long) (currentByte & 0x7F) << shift;
+                shift += 7;
+            } while (currentByte < 0);
+            value += zigZagDecode(encoded);
+        }
+        return index;
+    }
+
+    /**
+     * Повністю розпаковує файл у масив long.
+     *
+     * @return Масив усіх значень
+     */
+    public long[] decodeAll() {
+        long[] resultArray = new long[count];
+        for (int block = 0; block < blockFirstValues.length; block++) {
+            int blockStart = block * blockSize;
+            decodeBlockInto(block, resultArray, blockStart, Math.min(blockSize, count - blockStart));
+        }
+        return resultArray;
+    }
+
+    private void decodeBlockInto(int block, long[] target, int targetOffset, int blockLength) {
+        long value = blockFirstValues[block];
+        int position = blockOffsets[block];
+        target[targetOffset] = value;
+
+        for (int index = 1; index < blockLength; index++) {
+            long encoded = 0;
+            int shift = 0;
+            byte currentByte;
+            do {
+                currentByte = payload.get(position++);
+                encoded |= (long) (currentByte & 0x7F) << shift;
+                shift += 7;
+            } while (currentByte < 0);
+            value += zigZagDecode(encoded);
+            target[targetOffset + index] = value;
+        }
+    }
+
+    /**
+     * Повертає позицію після valueCount послідовних varint, що починаються з position,
+     * або -1, якщо дані закінчуються раніше.
+     */
+    private static long varintRunEnd(ByteBuffer payload, int position, int valueCount) {
+        int limit = payload.limit();
+        for (int value = 0; value < valueCount; value++) {
+            int length = 0;
+            byte currentByte;
+            do {
+                if (position >= limit || ++length > MAX_VARINT_BYTES) {
+                    return -1;
+                }
+                currentByte = payload.get(position++);
+            } while (currentByte < 0);
+        }
+        return position;
+    }
+
+    private static void putVarint(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private static long zigZagEncode(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long zigZagDecode(long encoded) {
+        return (encoded >>> 1) ^ -(encoded & 1);
+    }
+
+    private static int varintLength(long value) {
+        int significantBits = Long.SIZE - Long.numberOfLeadingZeros(value);
+        return Math.max(1, (significantBits + 6) / 7);
+    }
+
+    private static long flush(WritableByteChannel channel, ByteBuffer buffer) throws IOException {
+        long written = buffer.remaining();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+        return written;
+    }
+}
@@ -0,0 +1,126 @@
+import java.util.Locale;
+
+/**
+ * Інтерфейс SortedLongIndex - незмінний індекс для пошуку у впорядкованому масиві long.
+ *
+ * <p>Індекс будується один раз із впорядкованого масиву і далі лише читається, тому
+ * підходить для багаторазового пошуку в тих самих даних. Розташування елементів
+ * у пам'яті задає {@link Layout}.</p>
+ */
+public interface SortedLongIndex {
+
+    /**
+     * Розташування елементів індексу в пам'яті.
+     */
+    enum Layout {
+        /** Вихідний впорядкований масив і класичний бінарний пошук. */
+        BINARY,
+        /** Дерево в порядку обходу в ширину (Eytzinger), див. {@link EytzingerIndex}. */
+        EYTZINGER,
+        /** Неявне B+-дерево з вузлами розміром у рядок кешу, див. {@link StaticBTreeIndex}. */
+        S_TREE,
+        /** Інтерполяційний пошук з переходом до бінарного, див. {@link InterpolationIndex}. */
+        INTERPOLATION,
+        /** Кусково-лінійна модель позицій з обмеженою похибкою, див. {@link PiecewiseLinearIndex}. */
+        LEARNED;
+
+        /**
+         * Повертає розташування за назвою без урахування регістру: binary, eytzinger, s-tree,
+         * interpolation, learned.
+         *
+         * @param name Назва розташування
+         * @throws IllegalArgumentException якщо назва невідома
+         */
+        public static Layout parse(String name) {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        }
+
+        @Override
+        public String toString() {
+            return name().toLowerCase(Locale.ROOT).replace('_', '-');
+        }
+    }
+
+    /**
+     * Повертає позицію першого входження значення у впорядкованому масиві або -1.
+     *
+     * @param key Шукане значення
+     */
+    int indexOf(long key);
+
+    /**
+     * Повертає кількість елементів індексу.
+     */
+    int size();
+
+    /**
+     * Повертає розташування елементів індексу.
+     */
+    Layout layout();
+
+    /**
+     * Повертає опис статистики індексу (похибки моделі, кількість перевірок) або null,
+     * якщо індекс її не збирає.
+     */
+    default String getStatistics() {
+        return null;
+    }
+
+    /**
+     * Будує індекс із перших size елементів впорядкованого масиву.
+     *
+     * <p>Для {@link Layout#BINARY}, {@link Layout#INTERPOLATION} і {@link Layout#LEARNED}
+     * масив не копіюється, тож його не слід змінювати, поки індекс використовується.
+     * Інші розташування зберігають власну копію.</p>
+     *
+     * @param layout Розташування елементів
+     * @param sortedValues Масив, впорядкований за зростанням
+     * @param size Кількість елементів
+     */
+    static SortedLongIndex build(Layout layout, long[] sortedValues, int size) {
+        if (size < 0 || size > sortedValues.length) {
+            throw new IllegalArgumentException("Розмір " + size + " поза масивом довжини " + sortedValues.length);
+        }
+        switch (layout) {
+            case EYTZINGER:
+                return new EytzingerIndex(sortedValues, size);
+            case S_TREE:
+                return new StaticBTreeIndex(sortedValues, size);
+            case INTERPOLATION:
+                return new InterpolationIndex(sortedValues, size);
+            case LEARNED:
+                return new PiecewiseLinearIndex(sortedValues, size);
+            default:
+                return new BinarySearchIndex(sortedValues, size);
+        }
+    }
+
+    /**
+     * Бінарний пошук першого входження безпосередньо у впорядкованому масиві.
+     */
+    final class BinarySearchIndex implements SortedLongIndex {
+        private final long[] values;
+        private final int size;
+
+        BinarySearchIndex(long[] values, int size) {
+            this.values = values;
+            this.size = size;
+        }
+
+        @Override
+        public int indexOf(long key) {
+            int position = LongSearchIndex.lowerBound(values, size, key);
+            return position < size && values[position] == key ? position : -1;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Layout layout() {
+            return Layout.BINARY;
+        }
+    }
+}
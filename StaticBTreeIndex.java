@@ -0,0 +1,106 @@
+import java.util.Arrays;
+
+/**
+ * Клас StaticBTreeIndex зберігає впорядковані значення в неявному B+-дереві (S+-дереві):
+ * вузли по {@value #NODE_KEYS} значень, що займають один рядок кешу, без вказівників.
+ *
+ * <p>Нижній шар - сам впорядкований масив, доповнений до цілої кількості вузлів значенням
+ * {@link Long#MAX_VALUE}. Кожен вищий шар зберігає для свого вузла m роздільники - найменші
+ * значення дочірніх вузлів m * 9 + 1 ... m * 9 + 8 шару нижче. Пошук проходить від
+ * кореня до листа, читаючи по одному рядку кешу на рівень, а кількість рівнів
+ * дорівнює log9(size) замість log2(size) у бінарному пошуку.</p>
+ *
+ * <p>У межах вузла дочірній вузол обирається підрахунком роздільників, менших за ключ,
+ * без умовних переходів. Позиція в листі дорівнює позиції у вихідному масиві, тож
+ * додаткове відображення позицій не потрібне.</p>
+ */
+public final class StaticBTreeIndex implements SortedLongIndex {
+    /** Кількість значень long в одному вузлі (64-байтовий рядок кешу). */
+    static final int NODE_KEYS = 8;
+
+    private static final int FANOUT = NODE_KEYS + 1;
+
+    /** Шари дерева від листів (0) до кореня. */
+    private final long[][] layers;
+    private final int size;
+
+    /**
+     * Будує індекс із перших size елементів впорядкованого масиву.
+     *
+     * @param sortedValues Масив, впорядкований за зростанням
+     * @param size Кількість елементів
+     */
+    public StaticBTreeIndex(long[] sortedValues, int size) {
+        this.size = size;
+
+        int leafNodes = Math.max(1, (size + NODE_KEYS - 1) / NODE_KEYS);
+        long[] leaves = new long[leafNodes * NODE_KEYS];
+        System.arraycopy(sortedValues, 0, leaves, 0, size);
+        Arrays.fill(leaves, size, leaves.length, Long.MAX_VALUE);
+
+        int layerCount = 1;
+        for (int nodes = leafNodes; nodes > 1; nodes = (nodes + FANOUT - 1) / FANOUT) {
+            layerCount++;
+        }
+        this.layers = new long[layerCount][];
+        this.layers[0] = leaves;
+
+        // найменше значення кожного вузла поточного шару
+        long[] nodeMinimums = new long[leafNodes];
+        for (int node = 0; node < leafNodes; node++) {
+            nodeMinimums[node] = leaves[node * NODE_KEYS];
+        }
+
+        int childNodes = leafNodes;
+        for (int layer = 1; layer < layerCount; layer++) {
+            int nodes = (childNodes + FANOUT - 1) / FANOUT;
+            long[] keys = new long[nodes * NODE_KEYS];
+            long[] minimums = new long[nodes];
+            for (int node = 0; node < nodes; node++) {
+                int firstChild = node * FANOUT;
+                minimums[node] = nodeMinimums[firstChild];
+                for (int key = 0; key < NODE_KEYS; key++) {
+                    int child = firstChild + key + 1;
+                    keys[node * NODE_KEYS + key] = child < childNodes ? nodeMinimums[child] : Long.MAX_VALUE;
+                }
+            }
+            this.layers[layer] = keys;
+            nodeMinimums = minimums;
+            childNodes = nodes;
+        }
+    }
+
+    @Override
+    public int indexOf(long key) {
+        int node = 0;
+        for (int layer = layers.length - 1; layer > 0; layer--) {
+            node = node * FANOUT + countLess(layers[layer], node * NODE_KEYS, key);
+        }
+        long[] leaves = layers[0];
+        int position = node * NODE_KEYS + countLess(leaves, node * NODE_KEYS, key);
+        // перше не менше значення може бути першим у наступному листі
+        return position < size && leaves[position] == key ? position : -1;
+    }
+
+    /**
+     * Підраховує значення вузла, менші за ключ. Цикл фіксованої довжини компілятор
+     * розгортає, а порівняння перетворюються на арифметику без переходів.
+     */
+    private static int countLess(long[] keys, int offset, long key) {
+        int count = 0;
+        for (int index = 0; index < NODE_KEYS; index++) {
+            count += keys[offset + index] < key ? 1 : 0;
+        }
+        return count;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Layout layout() {
+        return Layout.S_TREE;
+    }
+}
@@ -0,0 +1,130 @@
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Клас LongVectorKernels реалізує проходи {@link LongScanKernels} через Vector API.
+ *
+ * <p>Кожен прохід обробляє стільки значень long за інструкцію, скільки вміщує
+ * бажаний для процесора векторний регістр, а хвіст, коротший за регістр, добирає
+ * скалярним циклом.</p>
+ *
+ * <p>Клас лежить в окремому каталозі та компілюється окремо з модулем
+ * {@code jdk.incubator.vector}, тож решта програми збирається і без нього.
+ * {@link LongScanKernels} завантажує клас за назвою, лише коли модуль присутній
+ * під час запуску, і викликає його через інтерфейс {@link LongScanKernels.Kernels}.</p>
+ */
+final class LongVectorKernels implements LongScanKernels.Kernels {
+    private static final VectorSpecies<Long> SPECIES = LongVector.SPECIES_PREFERRED;
+
+    LongVectorKernels() {
+    }
+
+    @Override
+    public int laneCount() {
+        return SPECIES.length();
+    }
+
+    @Override
+    public long min(long[] values, int from, int to) {
+        int step = SPECIES.length();
+        int upper = from + SPECIES.loopBound(to - from);
+        long minValue = Long.MAX_VALUE;
+        int index = from;
+        if (upper > from) {
+            LongVector accumulator = LongVector.fromArray(SPECIES, values, from);
+            for (index = from + step; index < upper; index += step) {
+                accumulator = accumulator.min(LongVector.fromArray(SPECIES, values, index));
+            }
+            minValue = accumulator.reduceLanes(VectorOperators.MIN);
+        }
+        for (; index < to; index++) {
+            minValue = Math.min(minValue, values[index]);
+        }
+        return minValue;
+    }
+
+    @Override
+    public long max(long[] values, int from, int to) {
+        int step = SPECIES.length();
+        int upper = from + SPECIES.loopBound(to - from);
+        long maxValue = Long.MIN_VALUE;
+        int index = from;
+        if (upper > from) {
+            LongVector accumulator = LongVector.fromArray(SPECIES, values, from);
+            for (index = from + step; index < upper; index += step) {
+                accumulator = accumulator.max(LongVector.fromArray(SPECIES, values, index));
+            }
+            maxValue = accumulator.reduceLanes(VectorOperators.MAX);
+        }
+        for (; index < to; index++) {
+            maxValue = Math.max(maxValue, values[index]);
+        }
+        return maxValue;
+    }
+
+    @Override
+    public void minMax(long[] values, int from, int to, long[] result) {
+        int step = SPECIES.length();
+        int upper = from + SPECIES.loopBound(to - from);
+        long minValue = Long.MAX_VALUE;
+        long maxValue = Long.MIN_VALUE;
+        int index = from;
+        if (upper > from) {
+            LongVector minAccumulator = LongVector.fromArray(SPECIES, values, from);
+            LongVector maxAccumulator = minAccumulator;
+            for (index = from + step; index < upper; index += step) {
+                LongVector vector = LongVector.fromArray(SPECIES, values, index);
+                minAccumulator = minAccumulator.min(vector);
+                maxAccumulator = maxAccumulator.max(vector);
+            }
+            minValue = minAccumulator.reduceLanes(VectorOperators.MIN);
+            maxValue = maxAccumulator.reduceLanes(VectorOperators.MAX);
+        }
+        for (; index < to; index++) {
+            minValue = Math.min(minValue, values[index]);
+            maxValue = Math.max(maxValue, values[index]);
+        }
+        result[0] = minValue;
+        result[1] = maxValue;
+    }
+
+    @Override
+    public int count(long[] values, int from, int to, long key) {
+        int step = SPECIES.length();
+        int upper = from + SPECIES.loopBound(to - from);
+        // збіги накопичуються у векторі як -1 у кожній смузі, щоб не виходити з регістрів
+        LongVector matches = LongVector.zero(SPECIES);
+        LongVector negativeOne = LongVector.broadcast(SPECIES, -1L);
+        int index = from;
+        for (; index < upper; index += step) {
+            VectorMask<Long> equal = LongVector.fromArray(SPECIES, values, index).eq(key);
+            matches = matches.add(negativeOne, equal);
+        }
+        int count = (int) -matches.reduceLanes(VectorOperators.ADD);
+        for (; index < to; index++) {
+            count += values[index] == key ? 1 : 0;
+        }
+        return count;
+    }
+
+    @Override
+    public int indexOf(long[] values, int from, int to, long key) {
+        int step = SPECIES.length();
+        int upper = from + SPECIES.loopBound(to - from);
+        int index = from;
+        for (; index < upper; index += step) {
+            VectorMask<Long> equal = LongVector.fromArray(SPECIES, values, index).eq(key);
+            if (equal.anyTrue()) {
+                return index + equal.firstTrue();
+            }
+        }
+        for (; index < to; index++) {
+            if (values[index] == key) {
+                return index;
+            }
+        }
+        return -1;
+    }
+}